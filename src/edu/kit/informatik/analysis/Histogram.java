@@ -0,0 +1,115 @@
+package edu.kit.informatik.analysis;
+
+import java.util.Arrays;
+
+/**
+ * This class models a histogram of non-negative integers, for example of
+ * the number of rounds games took. Every value has its own bucket, so
+ * means and quantiles are exact. Histograms of parts of the data can be
+ * merged into the histogram of all data, in any order and with the same
+ * result.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public class Histogram {
+
+    private static final int INITIAL_NUMBER_OF_BUCKETS = 16;
+    private static final String ERROR_NEGATIVE_VALUE = "A histogram only counts non-negative values";
+    private static final String ERROR_QUANTILE = "A quantile must be between 0 and 1";
+
+    private long[] counts = new long[INITIAL_NUMBER_OF_BUCKETS];
+    private long numberOfValues = 0;
+    private long sum = 0;
+
+    /**
+     * This method counts a value.
+     * 
+     * @param value The value to count
+     * @throws IllegalArgumentException if the value is negative
+     */
+    public void add(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException(ERROR_NEGATIVE_VALUE);
+        }
+        this.ensureBuckets(value + 1);
+        this.counts[value]++;
+        this.numberOfValues++;
+        this.sum += value;
+    }
+
+    /**
+     * This method adds the counts of another histogram to this one.
+     * 
+     * @param other The histogram to merge into this one
+     */
+    public void merge(Histogram other) {
+        this.ensureBuckets(other.counts.length);
+        for (int value = 0; value < other.counts.length; value++) {
+            this.counts[value] += other.counts[value];
+        }
+        this.numberOfValues += other.numberOfValues;
+        this.sum += other.sum;
+    }
+
+    private void ensureBuckets(int numberOfBuckets) {
+        if (numberOfBuckets > this.counts.length) {
+            this.counts = Arrays.copyOf(this.counts, Math.max(numberOfBuckets, 2 * this.counts.length));
+        }
+    }
+
+    /**
+     * This method returns how many values have been counted.
+     * 
+     * @return The number of values
+     */
+    public long getNumberOfValues() {
+        return this.numberOfValues;
+    }
+
+    /**
+     * This method returns how often a value has been counted.
+     * 
+     * @param value The value
+     * @return How often the value has been counted
+     */
+    public long getCount(int value) {
+        return value >= 0 && value < this.counts.length ? this.counts[value] : 0;
+    }
+
+    /**
+     * This method returns the mean of all values or 0 if there are none.
+     * 
+     * @return The mean of all values
+     */
+    public double getMean() {
+        return this.numberOfValues == 0 ? 0 : (double) this.sum / this.numberOfValues;
+    }
+
+    /**
+     * This method returns a quantile of the values: the smallest value such that
+     * at least the given fraction of all values is not larger.
+     * 
+     * @param fraction The fraction of values, between 0 and 1
+     * @return The quantile or -1 if there are no values
+     * @throws IllegalArgumentException if the fraction is not between 0 and 1
+     */
+    public int getQuantile(double fraction) {
+        if (fraction < 0 || fraction > 1) {
+            throw new IllegalArgumentException(ERROR_QUANTILE);
+        }
+        if (this.numberOfValues == 0) {
+            return -1;
+        }
+        long needed = Math.max(1, (long) Math.ceil(fraction * this.numberOfValues));
+        long cumulative = 0;
+        for (int value = 0; value < this.counts.length; value++) {
+            cumulative += this.counts[value];
+            if (cumulative >= needed) {
+                return value;
+            }
+        }
+        return this.counts.length - 1;
+    }
+
+}
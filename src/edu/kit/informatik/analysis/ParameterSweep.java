@@ -0,0 +1,281 @@
+package edu.kit.informatik.analysis;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import edu.kit.informatik.bot.GreedyPlanner;
+import edu.kit.informatik.exceptions.IllegalInputException;
+import edu.kit.informatik.game.GameMaster;
+import edu.kit.informatik.game.Pair;
+import edu.kit.informatik.game.PlayerController;
+
+/**
+ * This class models a parameter sweep for balance studies. For every
+ * point (see {@link SweepPoint}) the games of the same range of seeds
+ * are played by deterministic bots, so the points differ in their
+ * parameters only and not in luck (common random numbers). All games of
+ * all points are run in parallel. Every game gets summarized on its own
+ * (see {@link SweepSummary}) and the summaries of a point get merged. As
+ * soon as all games of a point are finished, the point gets written as a
+ * CSV row. Points are scheduled one after another, so they finish roughly
+ * in order.
+ * 
+ * A row contains the parameters, the number of games and of games
+ * somebody won, the mean and the 10 %, 50 % and 90 % quantiles of the
+ * rounds to win, the win rate of every seat and the average gold of the
+ * players after every round. The last two columns are lists separated by
+ * spaces.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public class ParameterSweep {
+
+    /**
+     * This is the header of the CSV output.
+     */
+    public static final String CSV_HEADER = "initial_gold,gold_to_win,players,rules,games,won,rounds_mean,"
+            + "rounds_p10,rounds_p50,rounds_p90,win_rate_by_seat,mean_gold_by_round";
+
+    private static final String DEFAULT_INITIAL_GOLDS = "10,20,40";
+    private static final String DEFAULT_GOLDS_TO_WIN = "100";
+    private static final String DEFAULT_PLAYER_COUNTS = "2";
+    private static final int DEFAULT_FIRST_SEED = 1;
+    private static final int DEFAULT_NUMBER_OF_SEEDS = 100;
+    private static final int DEFAULT_MAX_ROUNDS = 200;
+    private static final int DEFAULT_STALEMATE_LIMIT = 50;
+    private static final double[] QUANTILES = {0.1, 0.5, 0.9};
+    private static final double PRECISION = 1000;
+
+    private static final String LIST_SEPARATOR = ",";
+    private static final String RULE_SEPARATOR = "=";
+    private static final String VALUE_SEPARATOR = "\\|";
+    private static final String DEFAULT_RULES = "default";
+    private static final String RULE = "%s=%s";
+    private static final String CSV_ROW = "%d,%d,%d,\"%s\",%d,%d,%s,%d,%d,%d,%s,%s";
+    private static final String ERROR_ARGUMENTS = "The seed range and the game parameters are invalid";
+    private static final String ERROR_RULE = "A rule must be given as name=value|value|...: %s";
+
+    private final List<SweepPoint> points;
+    private final int firstSeed;
+    private final int numberOfSeeds;
+    private final int maxRounds;
+    private final int stalemateLimit;
+    private final Supplier<PlayerController> bots;
+
+    /**
+     * This constructor creates a new parameter sweep.
+     * 
+     * @param points         The points to sweep over
+     * @param firstSeed      The first seed played at every point
+     * @param numberOfSeeds  The number of seeds played at every point
+     * @param maxRounds      The number of rounds after which a game gets stopped
+     * @param stalemateLimit The number of rounds without progress after which a
+     *                       game gets stopped (see
+     *                       {@link GameMaster#setStalemateLimit(int)})
+     * @param bots           Factory of the bot that plays all seats of a game.
+     *                       Every game gets its own bot. The bots must decide by
+     *                       the state of the game only, otherwise the points do
+     *                       not share their random numbers.
+     * @throws IllegalArgumentException if the seed range or the limits are
+     *                                  invalid
+     */
+    public ParameterSweep(List<SweepPoint> points, int firstSeed, int numberOfSeeds, int maxRounds,
+            int stalemateLimit, Supplier<PlayerController> bots) {
+        if (numberOfSeeds <= 0 || maxRounds <= 0 || stalemateLimit < 0) {
+            throw new IllegalArgumentException(ERROR_ARGUMENTS);
+        }
+        this.points = new ArrayList<>(points);
+        this.firstSeed = firstSeed;
+        this.numberOfSeeds = numberOfSeeds;
+        this.maxRounds = maxRounds;
+        this.stalemateLimit = stalemateLimit;
+        this.bots = bots;
+    }
+
+    /**
+     * This method sweeps over all combinations of the given parameters with
+     * greedy bots (see {@link GreedyPlanner}) and prints the points as CSV.
+     * 
+     * @param args Comma separated lists of initial gold, gold to win and numbers
+     *             of players, the first seed, the number of seeds, the number of
+     *             threads and any number of rules as name=value|value|... (all
+     *             optional)
+     * @throws IOException if the output could not be written
+     */
+    public static void main(String[] args) throws IOException {
+        int[] initialGolds = parseList(args.length > 0 ? args[0] : DEFAULT_INITIAL_GOLDS);
+        int[] goldsToWin = parseList(args.length > 1 ? args[1] : DEFAULT_GOLDS_TO_WIN);
+        int[] playerCounts = parseList(args.length > 2 ? args[2] : DEFAULT_PLAYER_COUNTS);
+        int firstSeed = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_FIRST_SEED;
+        int numberOfSeeds = args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_NUMBER_OF_SEEDS;
+        int threads = args.length > 5 ? Integer.parseInt(args[5]) : Runtime.getRuntime().availableProcessors();
+
+        List<SweepPoint> points = new ArrayList<>();
+        try {
+            List<Map<String, String>> ruleChanges = createRuleChanges(args, 6);
+            for (int initialGold : initialGolds) {
+                for (int goldToWin : goldsToWin) {
+                    for (int numberOfPlayers : playerCounts) {
+                        for (Map<String, String> changes : ruleChanges) {
+                            points.add(new SweepPoint(initialGold, goldToWin, numberOfPlayers, changes));
+                        }
+                    }
+                }
+            }
+        } catch (IllegalInputException illegalInputException) {
+            System.out.println(illegalInputException.getMessage());
+            return;
+        }
+
+        GreedyPlanner planner = new GreedyPlanner();
+        ParameterSweep sweep = new ParameterSweep(points, firstSeed, numberOfSeeds, DEFAULT_MAX_ROUNDS,
+                DEFAULT_STALEMATE_LIMIT, () -> planner);
+        Writer writer = new OutputStreamWriter(System.out, StandardCharsets.UTF_8);
+        sweep.run(threads, writer);
+        writer.flush();
+    }
+
+    private static int[] parseList(String list) {
+        String[] parts = list.split(LIST_SEPARATOR);
+        int[] values = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = Integer.parseInt(parts[i].trim());
+        }
+        return values;
+    }
+
+    private static List<Map<String, String>> createRuleChanges(String[] args, int firstRule)
+            throws IllegalInputException {
+        List<Map<String, String>> combinations = new ArrayList<>();
+        combinations.add(new LinkedHashMap<>());
+        for (int i = firstRule; i < args.length; i++) {
+            String[] rule = args[i].split(RULE_SEPARATOR, 2);
+            if (rule.length != 2) {
+                throw new IllegalInputException(ERROR_RULE.formatted(args[i]));
+            }
+            List<Map<String, String>> extended = new ArrayList<>();
+            for (Map<String, String> combination : combinations) {
+                for (String value : rule[1].split(VALUE_SEPARATOR)) {
+                    Map<String, String> changes = new LinkedHashMap<>(combination);
+                    changes.put(rule[0].trim(), value.trim());
+                    extended.add(changes);
+                }
+            }
+            combinations = extended;
+        }
+        return combinations;
+    }
+
+    /**
+     * This method plays all games of this sweep. Every point gets appended to the
+     * output as a CSV row as soon as all of its games are finished, and the output
+     * gets flushed if it can be.
+     * 
+     * @param numberOfThreads Number of games that are played in parallel
+     * @param csv             Output the header and the CSV rows get appended to
+     * @throws IOException if the output could not be written
+     */
+    public void run(int numberOfThreads, Appendable csv) throws IOException {
+        csv.append(CSV_HEADER).append(System.lineSeparator());
+        ExecutorService pool = Executors.newFixedThreadPool(numberOfThreads);
+        try {
+            CompletionService<Pair<Integer, SweepSummary>> completion = new ExecutorCompletionService<>(pool);
+            for (int i = 0; i < this.points.size(); i++) {
+                int point = i;
+                for (int seed = this.firstSeed; seed < this.firstSeed + this.numberOfSeeds; seed++) {
+                    int game = seed;
+                    completion.submit(() -> new Pair<>(point, this.play(this.points.get(point), game)));
+                }
+            }
+
+            SweepSummary[] summaries = new SweepSummary[this.points.size()];
+            int[] gamesLeft = new int[this.points.size()];
+            for (int i = 0; i < summaries.length; i++) {
+                summaries[i] = new SweepSummary(this.points.get(i).getNumberOfPlayers());
+                gamesLeft[i] = this.numberOfSeeds;
+            }
+            for (int i = 0; i < this.points.size() * this.numberOfSeeds; i++) {
+                Pair<Integer, SweepSummary> game = completion.take().get();
+                int point = game.getKey();
+                summaries[point].merge(game.getValue());
+                gamesLeft[point]--;
+                if (gamesLeft[point] == 0) {
+                    this.report(this.points.get(point), summaries[point], csv);
+                    summaries[point] = null;
+                }
+            }
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException executionException) {
+            throw new IllegalStateException(executionException.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private SweepSummary play(SweepPoint point, int seed) {
+        String[] names = point.getNames();
+        SweepSummary summary = new SweepSummary(names.length);
+        PlayerController bot = this.bots.get();
+        Map<String, Integer> turns = new HashMap<>();
+        // At the beginning of their turn the gold of a player is that after the previous round.
+        PlayerController observer = player -> {
+            int round = turns.merge(player.getName(), 1, Integer::sum) - 1;
+            summary.addGold(round, player.getAmountOfGold());
+            bot.doTurn(player);
+        };
+
+        GameMaster gameMaster = new GameMaster(point.getRules(), seed, point.getGoldToWin(),
+                point.getInitialGold(), names);
+        gameMaster.setMaxRounds(this.maxRounds);
+        gameMaster.setStalemateLimit(this.stalemateLimit);
+        summary.addGame(gameMaster.play(observer));
+        return summary;
+    }
+
+    private void report(SweepPoint point, SweepSummary summary, Appendable csv) throws IOException {
+        StringJoiner rules = new StringJoiner(" ");
+        for (Map.Entry<String, String> change : point.getRuleChanges().entrySet()) {
+            rules.add(RULE.formatted(change.getKey(), change.getValue()));
+        }
+        StringJoiner winRates = new StringJoiner(" ");
+        for (int seat = 0; seat < summary.getNumberOfPlayers(); seat++) {
+            winRates.add(format(summary.getWinRate(seat)));
+        }
+        StringJoiner goldCurve = new StringJoiner(" ");
+        for (int round = 0; round < summary.getGoldCurveLength(); round++) {
+            goldCurve.add(format(summary.getMeanGold(round)));
+        }
+
+        Histogram roundsToWin = summary.getRoundsToWin();
+        csv.append(CSV_ROW.formatted(point.getInitialGold(), point.getGoldToWin(), point.getNumberOfPlayers(),
+                rules.length() == 0 ? DEFAULT_RULES : rules.toString(), summary.getNumberOfGames(),
+                roundsToWin.getNumberOfValues(), format(roundsToWin.getMean()), roundsToWin.getQuantile(QUANTILES[0]),
+                roundsToWin.getQuantile(QUANTILES[1]), roundsToWin.getQuantile(QUANTILES[2]), winRates, goldCurve));
+        csv.append(System.lineSeparator());
+        if (csv instanceof Writer writer) {
+            writer.flush();
+        }
+    }
+
+    private static String format(double value) {
+        // Independent of the locale, unlike String.format
+        return Double.toString(Math.round(value * PRECISION) / PRECISION);
+    }
+
+}
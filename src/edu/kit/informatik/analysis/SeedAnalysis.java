@@ -0,0 +1,60 @@
+package edu.kit.informatik.analysis;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is a command line tool that builds a {@link SeedIndex} for a
+ * range of seeds and prints how the first large acreage is distributed
+ * over the purchase indices. The command line arguments are the path of
+ * the index file, the number of players, the first seed and the number
+ * of seeds.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public final class SeedAnalysis {
+
+    private static final int DEFAULT_NUMBER_OF_PLAYERS = 2;
+    private static final int DEFAULT_FIRST_SEED = 0;
+    private static final int DEFAULT_NUMBER_OF_SEEDS = 1_000_000;
+    private static final String DEFAULT_PATH = "seeds.idx";
+
+    private static final String SUMMARY = "%d seeds for %d players indexed in %d ms";
+    private static final String ROW = "first large acreage at purchase %d: %d seeds";
+
+    private SeedAnalysis() {
+    }
+
+    /**
+     * This method builds the index and prints the summary.
+     * 
+     * @param args Path of the index file, number of players, first seed and number
+     *             of seeds (all optional)
+     * @throws IOException if the index could not be written
+     */
+    public static void main(String[] args) throws IOException {
+        Path path = Path.of(args.length > 0 ? args[0] : DEFAULT_PATH);
+        int numberOfPlayers = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_NUMBER_OF_PLAYERS;
+        int firstSeed = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_FIRST_SEED;
+        int numberOfSeeds = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_NUMBER_OF_SEEDS;
+
+        long start = System.nanoTime();
+        SeedIndex index = SeedIndex.create(path, numberOfPlayers, firstSeed, numberOfSeeds);
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        System.out.println(SUMMARY.formatted(numberOfSeeds, numberOfPlayers, millis));
+
+        int deckSize = index.getNumberOfColumns() - SeedIndex.getCapacityColumn(1);
+        int[] columns = {SeedIndex.FIRST_LARGE_FIELD, SeedIndex.FIRST_LARGE_FOREST};
+        for (int purchase = 0; purchase < deckSize; purchase++) {
+            // A seed is counted once for the earlier of both large acreages.
+            int fieldFirst = index.findSeeds(columns, new int[] {purchase, purchase},
+                    new int[] {purchase, deckSize}).length;
+            int forestFirst = index.findSeeds(columns, new int[] {purchase + 1, purchase},
+                    new int[] {deckSize, purchase}).length;
+            System.out.println(ROW.formatted(purchase, fieldFirst + forestFirst));
+        }
+    }
+
+}
@@ -0,0 +1,283 @@
+package edu.kit.informatik.analysis;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.IntStream;
+
+import edu.kit.informatik.game.AcreageMarket;
+import edu.kit.informatik.game.AcreageType;
+import edu.kit.informatik.game.RuleSet;
+
+/**
+ * This class represents a memory-mapped index of the acreage decks of a
+ * range of seeds. For every seed it stores a fixed-size record of
+ * features: the purchase index of the first large field, the purchase
+ * index of the first large forest and the cumulative capacity of the
+ * acreages after every purchase. Since all records have the same size,
+ * the features of a seed can be read without scanning the file, and
+ * ranges of features can be queried by scanning the mapped file without
+ * creating any objects per seed.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public class SeedIndex {
+
+    /**
+     * This is the feature column of the purchase index of the first large field.
+     * If there is no large field, the size of the deck gets stored.
+     */
+    public static final int FIRST_LARGE_FIELD = 0;
+
+    /**
+     * This is the feature column of the purchase index of the first large forest.
+     * If there is no large forest, the size of the deck gets stored.
+     */
+    public static final int FIRST_LARGE_FOREST = 1;
+
+    private static final int MAGIC = 0x51465349;
+    private static final int HEADER_SIZE = 5 * Integer.BYTES;
+    private static final int FIXED_COLUMNS = 2;
+    private static final int SEEDS_PER_TASK = 1 << 14;
+
+    private static final String ERROR_NO_INDEX = "The file is not a seed index";
+    private static final String ERROR_TOO_LARGE = "The index must not be larger than 2 GiB";
+    private static final String ERROR_ARGUMENTS = "The number of players and seeds must be positive";
+    private static final String ERROR_FEATURE_RANGE = "The features of a deck of %d acreages do not fit into the index";
+    private static final String ERROR_SEED = "The seed %d is not part of the index";
+    private static final String ERROR_COLUMN = "There is no feature column %d";
+
+    private final ByteBuffer buffer;
+    private final int numberOfPlayers;
+    private final int deckSize;
+    private final int firstSeed;
+    private final int numberOfSeeds;
+    private final int recordSize;
+
+    private SeedIndex(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException(ERROR_NO_INDEX);
+        }
+        this.numberOfPlayers = buffer.getInt(Integer.BYTES);
+        this.deckSize = buffer.getInt(2 * Integer.BYTES);
+        this.firstSeed = buffer.getInt(3 * Integer.BYTES);
+        this.numberOfSeeds = buffer.getInt(4 * Integer.BYTES);
+        this.recordSize = getRecordSize(this.deckSize);
+        if ((long) this.numberOfSeeds * this.recordSize + HEADER_SIZE > buffer.capacity()) {
+            throw new IllegalArgumentException(ERROR_NO_INDEX);
+        }
+    }
+
+    /**
+     * This method computes the features of a range of seeds in parallel and
+     * writes them to a new index file. An existing file gets replaced.
+     * 
+     * @param path            Path of the index file
+     * @param numberOfPlayers The number of players of the games
+     * @param firstSeed       The first seed of the range
+     * @param numberOfSeeds   The number of seeds in the range
+     * @return The index that has been written
+     * @throws IOException              if the file could not be written
+     * @throws IllegalArgumentException if the arguments are not positive, the
+     *                                  index would be larger than 2 GiB or the
+     *                                  features of the deck are too large to be
+     *                                  stored
+     */
+    public static SeedIndex create(Path path, int numberOfPlayers, int firstSeed, int numberOfSeeds)
+            throws IOException {
+        if (numberOfPlayers <= 0 || numberOfSeeds <= 0) {
+            throw new IllegalArgumentException(ERROR_ARGUMENTS);
+        }
+        AcreageType[] unshuffledDeck = AcreageMarket.createDeck(numberOfPlayers, RuleSet.DEFAULT);
+        checkFeatureRange(unshuffledDeck);
+        int recordSize = getRecordSize(unshuffledDeck.length);
+        long size = HEADER_SIZE + (long) numberOfSeeds * recordSize;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(ERROR_TOO_LARGE);
+        }
+
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(Integer.BYTES, numberOfPlayers);
+        buffer.putInt(2 * Integer.BYTES, unshuffledDeck.length);
+        buffer.putInt(3 * Integer.BYTES, firstSeed);
+        buffer.putInt(4 * Integer.BYTES, numberOfSeeds);
+
+        int tasks = (numberOfSeeds + SEEDS_PER_TASK - 1) / SEEDS_PER_TASK;
+        IntStream.range(0, tasks).parallel().forEach(task -> {
+            // Every task writes its own slice, so it gets its own view of the buffer.
+            ByteBuffer slice = buffer.duplicate();
+            AcreageType[] deck = new AcreageType[unshuffledDeck.length];
+            int end = (int) Math.min(numberOfSeeds, (long) (task + 1) * SEEDS_PER_TASK);
+            for (int i = task * SEEDS_PER_TASK; i < end; i++) {
+                System.arraycopy(unshuffledDeck, 0, deck, 0, deck.length);
+                AcreageMarket.shuffleDeck(deck, firstSeed + i);
+                writeRecord(slice, HEADER_SIZE + i * recordSize, deck);
+            }
+        });
+        buffer.force();
+        return new SeedIndex(buffer);
+    }
+
+    /**
+     * This method opens an existing index file.
+     * 
+     * @param path Path of the index file
+     * @return The index stored in the file
+     * @throws IOException              if the file could not be read
+     * @throws IllegalArgumentException if the file is not a seed index
+     */
+    public static SeedIndex open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException(ERROR_NO_INDEX);
+            }
+            return new SeedIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * This method returns the feature column of the cumulative capacity after a
+     * number of purchases.
+     * 
+     * @param purchases The number of purchases, starting at 1
+     * @return The feature column of the cumulative capacity
+     */
+    public static int getCapacityColumn(int purchases) {
+        return FIXED_COLUMNS + purchases - 1;
+    }
+
+    private static void checkFeatureRange(AcreageType[] deck) {
+        // Features are stored as shorts. The largest ones are the size of the deck and its total capacity.
+        long totalCapacity = 0;
+        for (AcreageType acreage : deck) {
+            totalCapacity += RuleSet.DEFAULT.getCapacity(acreage);
+        }
+        if (deck.length > Short.MAX_VALUE || totalCapacity > Short.MAX_VALUE) {
+            throw new IllegalArgumentException(ERROR_FEATURE_RANGE.formatted(deck.length));
+        }
+    }
+
+    private static int getRecordSize(int deckSize) {
+        return (FIXED_COLUMNS + deckSize) * Short.BYTES;
+    }
+
+    private static void writeRecord(ByteBuffer buffer, int offset, AcreageType[] deck) {
+        int firstLargeField = deck.length;
+        int firstLargeForest = deck.length;
+        int capacity = 0;
+        for (int i = 0; i < deck.length; i++) {
+            if (deck[i] == AcreageType.LARGE_FIELD && firstLargeField == deck.length) {
+                firstLargeField = i;
+            } else if (deck[i] == AcreageType.LARGE_FOREST && firstLargeForest == deck.length) {
+                firstLargeForest = i;
+            }
+            capacity += RuleSet.DEFAULT.getCapacity(deck[i]);
+            buffer.putShort(offset + getCapacityColumn(i + 1) * Short.BYTES, (short) capacity);
+        }
+        buffer.putShort(offset + FIRST_LARGE_FIELD * Short.BYTES, (short) firstLargeField);
+        buffer.putShort(offset + FIRST_LARGE_FOREST * Short.BYTES, (short) firstLargeForest);
+    }
+
+    /**
+     * This method returns a feature of a seed.
+     * 
+     * @param seed   The seed
+     * @param column The feature column
+     * @return The value of the feature
+     * @throws IllegalArgumentException if the seed is not part of this index or
+     *                                  the column does not exist
+     */
+    public int getFeature(int seed, int column) {
+        long row = (long) seed - this.firstSeed;
+        if (row < 0 || row >= this.numberOfSeeds) {
+            throw new IllegalArgumentException(ERROR_SEED.formatted(seed));
+        }
+        if (column < 0 || column >= this.getNumberOfColumns()) {
+            throw new IllegalArgumentException(ERROR_COLUMN.formatted(column));
+        }
+        return this.read((int) row, column);
+    }
+
+    /**
+     * This method returns all seeds whose features lie in the given ranges. The
+     * i-th range consists of the i-th column, minimum and maximum, both bounds
+     * inclusive. The seeds are returned in ascending order.
+     * 
+     * @param columns  The feature columns
+     * @param minimums The minimum values of the features
+     * @param maximums The maximum values of the features
+     * @return The matching seeds
+     * @throws IllegalArgumentException if the arrays differ in length or a column
+     *                                  does not exist
+     */
+    public int[] findSeeds(int[] columns, int[] minimums, int[] maximums) {
+        if (columns.length != minimums.length || columns.length != maximums.length) {
+            throw new IllegalArgumentException(ERROR_ARGUMENTS);
+        }
+        for (int column : columns) {
+            if (column < 0 || column >= this.getNumberOfColumns()) {
+                throw new IllegalArgumentException(ERROR_COLUMN.formatted(column));
+            }
+        }
+        return IntStream.range(0, this.numberOfSeeds).filter(row -> {
+            for (int i = 0; i < columns.length; i++) {
+                int value = this.read(row, columns[i]);
+                if (value < minimums[i] || value > maximums[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }).map(row -> this.firstSeed + row).toArray();
+    }
+
+    private int read(int row, int column) {
+        return this.buffer.getShort(HEADER_SIZE + row * this.recordSize + column * Short.BYTES);
+    }
+
+    /**
+     * This method returns the number of feature columns of every seed.
+     * 
+     * @return The number of feature columns
+     */
+    public int getNumberOfColumns() {
+        return FIXED_COLUMNS + this.deckSize;
+    }
+
+    /**
+     * This method returns the number of players the decks were created for.
+     * 
+     * @return The number of players
+     */
+    public int getNumberOfPlayers() {
+        return this.numberOfPlayers;
+    }
+
+    /**
+     * This method returns the first seed of this index.
+     * 
+     * @return The first seed
+     */
+    public int getFirstSeed() {
+        return this.firstSeed;
+    }
+
+    /**
+     * This method returns the number of seeds in this index.
+     * 
+     * @return The number of seeds
+     */
+    public int getNumberOfSeeds() {
+        return this.numberOfSeeds;
+    }
+
+}
@@ -0,0 +1,117 @@
+package edu.kit.informatik.analysis;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import edu.kit.informatik.exceptions.IllegalInputException;
+import edu.kit.informatik.game.RuleSet;
+
+/**
+ * This class models a point of a parameter sweep (see
+ * {@link ParameterSweep}): the inputs of a game except the seed. Rules
+ * that are not changed keep their standard value (see
+ * {@link RuleSet#DEFAULT}).
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public class SweepPoint {
+
+    private static final String NAME = "P%d";
+    private static final String ERROR_ARGUMENTS = "The number of players and the amounts of gold are invalid";
+
+    private final int initialGold;
+    private final int goldToWin;
+    private final int numberOfPlayers;
+    private final Map<String, String> ruleChanges;
+    private final RuleSet rules;
+
+    /**
+     * This constructor creates a new point.
+     * 
+     * @param initialGold     The amount of gold every player starts with
+     * @param goldToWin       The amount of gold needed to win
+     * @param numberOfPlayers The number of players
+     * @param ruleChanges     Values of rules by their name in a rules file (see
+     *                        {@link RuleSet#load(java.nio.file.Path)})
+     * @throws IllegalInputException    if a rule is unknown or has an invalid
+     *                                  value
+     * @throws IllegalArgumentException if the number of players or an amount of
+     *                                  gold is invalid
+     */
+    public SweepPoint(int initialGold, int goldToWin, int numberOfPlayers, Map<String, String> ruleChanges)
+            throws IllegalInputException {
+        if (initialGold < 0 || goldToWin <= 0 || numberOfPlayers <= 0) {
+            throw new IllegalArgumentException(ERROR_ARGUMENTS);
+        }
+        this.initialGold = initialGold;
+        this.goldToWin = goldToWin;
+        this.numberOfPlayers = numberOfPlayers;
+        this.ruleChanges = Collections.unmodifiableMap(new LinkedHashMap<>(ruleChanges));
+
+        Properties properties = new Properties();
+        properties.putAll(ruleChanges);
+        this.rules = RuleSet.parse(properties);
+    }
+
+    /**
+     * This method returns the amount of gold every player starts with.
+     * 
+     * @return The initial amount of gold
+     */
+    public int getInitialGold() {
+        return this.initialGold;
+    }
+
+    /**
+     * This method returns the amount of gold needed to win.
+     * 
+     * @return The amount of gold needed to win
+     */
+    public int getGoldToWin() {
+        return this.goldToWin;
+    }
+
+    /**
+     * This method returns the number of players.
+     * 
+     * @return The number of players
+     */
+    public int getNumberOfPlayers() {
+        return this.numberOfPlayers;
+    }
+
+    /**
+     * This method returns the changed rules by their name.
+     * 
+     * @return The changed rules
+     */
+    public Map<String, String> getRuleChanges() {
+        return this.ruleChanges;
+    }
+
+    /**
+     * This method returns the rules of the games of this point.
+     * 
+     * @return The rules
+     */
+    public RuleSet getRules() {
+        return this.rules;
+    }
+
+    /**
+     * This method returns the names of the players, which are numbered by seat.
+     * 
+     * @return The names of the players
+     */
+    public String[] getNames() {
+        String[] names = new String[this.numberOfPlayers];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = NAME.formatted(i + 1);
+        }
+        return names;
+    }
+
+}
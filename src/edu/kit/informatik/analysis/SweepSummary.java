@@ -0,0 +1,166 @@
+package edu.kit.informatik.analysis;
+
+import java.util.Arrays;
+
+import edu.kit.informatik.game.GameEnd;
+import edu.kit.informatik.game.GameResult;
+import edu.kit.informatik.game.Player;
+
+/**
+ * This class summarizes the games of a point of a parameter sweep (see
+ * {@link ParameterSweep}): how many rounds the games took until someone
+ * won, how often every seat won and how much gold the players had on
+ * average after every round (the gold curve). Summaries of parts of the
+ * games can be merged, so every game can be summarized on its own.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public class SweepSummary {
+
+    private static final String ERROR_NUMBER_OF_PLAYERS = "The summaries are about different numbers of players";
+
+    private final double[] winsBySeat;
+    private final Histogram roundsToWin = new Histogram();
+    private long numberOfGames = 0;
+    private long[] goldSums = new long[0];
+    private long[] goldCounts = new long[0];
+
+    /**
+     * This constructor creates a new empty summary.
+     * 
+     * @param numberOfPlayers The number of players of the games
+     */
+    public SweepSummary(int numberOfPlayers) {
+        this.winsBySeat = new double[numberOfPlayers];
+    }
+
+    /**
+     * This method adds the result of a game. Only games that somebody won count
+     * for the rounds to win and the wins by seat. Shared wins count in parts.
+     * 
+     * @param result The result of the game
+     */
+    public void addGame(GameResult result) {
+        this.numberOfGames++;
+        if (result.getEnd() != GameEnd.WON) {
+            return;
+        }
+        this.roundsToWin.add(result.getNumberOfRounds());
+        Player[] players = result.getPlayers();
+        Player[] winners = result.getWinners();
+        for (Player winner : winners) {
+            for (int seat = 0; seat < players.length; seat++) {
+                if (players[seat] == winner) {
+                    this.winsBySeat[seat] += 1.0 / winners.length;
+                }
+            }
+        }
+    }
+
+    /**
+     * This method adds a point of the gold curve: the gold a player had after a
+     * number of rounds.
+     * 
+     * @param round The number of rounds played
+     * @param gold  The gold of the player
+     */
+    public void addGold(int round, int gold) {
+        this.ensureRounds(round + 1);
+        this.goldSums[round] += gold;
+        this.goldCounts[round]++;
+    }
+
+    /**
+     * This method adds everything another summary contains to this one.
+     * 
+     * @param other The summary to merge into this one
+     * @throws IllegalArgumentException if the summaries are about different
+     *                                  numbers of players
+     */
+    public void merge(SweepSummary other) {
+        if (other.winsBySeat.length != this.winsBySeat.length) {
+            throw new IllegalArgumentException(ERROR_NUMBER_OF_PLAYERS);
+        }
+        this.numberOfGames += other.numberOfGames;
+        this.roundsToWin.merge(other.roundsToWin);
+        for (int seat = 0; seat < this.winsBySeat.length; seat++) {
+            this.winsBySeat[seat] += other.winsBySeat[seat];
+        }
+        this.ensureRounds(other.goldSums.length);
+        for (int round = 0; round < other.goldSums.length; round++) {
+            this.goldSums[round] += other.goldSums[round];
+            this.goldCounts[round] += other.goldCounts[round];
+        }
+    }
+
+    private void ensureRounds(int numberOfRounds) {
+        if (numberOfRounds > this.goldSums.length) {
+            this.goldSums = Arrays.copyOf(this.goldSums, numberOfRounds);
+            this.goldCounts = Arrays.copyOf(this.goldCounts, numberOfRounds);
+        }
+    }
+
+    /**
+     * This method returns the number of games in this summary.
+     * 
+     * @return The number of games
+     */
+    public long getNumberOfGames() {
+        return this.numberOfGames;
+    }
+
+    /**
+     * This method returns the histogram of the number of rounds of the games that
+     * somebody won.
+     * 
+     * @return The histogram of the rounds to win
+     */
+    public Histogram getRoundsToWin() {
+        return this.roundsToWin;
+    }
+
+    /**
+     * This method returns the fraction of all games the player at a seat won.
+     * 
+     * @param seat The seat of the player
+     * @return The win rate of the seat or 0 if there are no games
+     */
+    public double getWinRate(int seat) {
+        return this.numberOfGames == 0 ? 0 : this.winsBySeat[seat] / this.numberOfGames;
+    }
+
+    /**
+     * This method returns the number of players of the summarized games.
+     * 
+     * @return The number of players
+     */
+    public int getNumberOfPlayers() {
+        return this.winsBySeat.length;
+    }
+
+    /**
+     * This method returns the length of the gold curve: the number of rounds
+     * after which the gold of a player is known.
+     * 
+     * @return The length of the gold curve
+     */
+    public int getGoldCurveLength() {
+        return this.goldSums.length;
+    }
+
+    /**
+     * This method returns the average gold of the players after a number of
+     * rounds. Only games that were still going on count.
+     * 
+     * @param round The number of rounds played
+     * @return The average gold or 0 if no game lasted that long
+     */
+    public double getMeanGold(int round) {
+        if (round >= this.goldCounts.length || this.goldCounts[round] == 0) {
+            return 0;
+        }
+        return (double) this.goldSums[round] / this.goldCounts[round];
+    }
+
+}
@@ -0,0 +1,153 @@
+package edu.kit.informatik.bot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class models Elo ratings of bots that play against each other.
+ * Every game result updates the ratings of both participants
+ * immediately, so the ratings can be watched while a tournament is
+ * still running. Additionally every bot's average score is used to
+ * estimate a 95 % confidence interval of its rating against the rest of
+ * the field.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public class EloRatings {
+
+    /**
+     * This is the rating every bot starts with.
+     */
+    public static final double INITIAL_RATING = 1500;
+
+    private static final double K_FACTOR = 16;
+    private static final double SCALE = 400;
+    private static final double Z_95 = 1.96;
+    private static final String ERROR_SCORE = "The score must be between 0 and 1";
+    private static final String ROW_FORMAT = "%s: %.0f +/- %.0f (%d games, score %.3f)";
+
+    private final Map<String, Record> records = new HashMap<>();
+
+    /**
+     * This method adds the result of a game between two bots.
+     * 
+     * @param first  Name of the first bot
+     * @param second Name of the second bot
+     * @param score  Score of the first bot: 1 for a win, 0.5 for a draw and 0 for
+     *               a loss
+     * @throws IllegalArgumentException if the score is not between 0 and 1
+     */
+    public synchronized void addResult(String first, String second, double score) {
+        if (score < 0 || score > 1) {
+            throw new IllegalArgumentException(ERROR_SCORE);
+        }
+        Record firstRecord = this.records.computeIfAbsent(first, name -> new Record());
+        Record secondRecord = this.records.computeIfAbsent(second, name -> new Record());
+
+        double expected = 1 / (1 + Math.pow(10, (secondRecord.rating - firstRecord.rating) / SCALE));
+        firstRecord.add(score, K_FACTOR * (score - expected));
+        secondRecord.add(1 - score, K_FACTOR * (expected - score));
+    }
+
+    /**
+     * This method returns the current rating of a bot.
+     * 
+     * @param name Name of the bot
+     * @return The rating of the bot
+     */
+    public synchronized double getRating(String name) {
+        Record record = this.records.get(name);
+        return record == null ? INITIAL_RATING : record.rating;
+    }
+
+    /**
+     * This method returns half the width of the 95 % confidence interval of a
+     * bot's rating. The interval is derived from the standard error of the bot's
+     * average score. If the bot has not played at least two games, infinity gets
+     * returned.
+     * 
+     * @param name Name of the bot
+     * @return The margin of error of the bot's rating
+     */
+    public synchronized double getMarginOfError(String name) {
+        Record record = this.records.get(name);
+        if (record == null || record.games < 2) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double mean = record.getAverageScore();
+        double variance = (record.sumOfSquaredScores - record.games * mean * mean) / (record.games - 1);
+        double standardError = Math.sqrt(Math.max(0, variance) / record.games);
+
+        // Keep the score away from 0 and 1 where the rating difference diverges.
+        double clamped = Math.min(Math.max(mean, 1.0 / (2 * record.games)), 1 - 1.0 / (2 * record.games));
+        // Derivative of the rating difference -400 log10(1 / p - 1) with respect to p
+        double slope = SCALE / (Math.log(10) * clamped * (1 - clamped));
+        return Z_95 * standardError * slope;
+    }
+
+    /**
+     * This method returns the number of games a bot has played.
+     * 
+     * @param name Name of the bot
+     * @return The number of games the bot has played
+     */
+    public synchronized int getNumberOfGames(String name) {
+        Record record = this.records.get(name);
+        return record == null ? 0 : record.games;
+    }
+
+    /**
+     * This method returns the names of all rated bots, the best rated bot first.
+     * 
+     * @return A list of the names of all rated bots
+     */
+    public synchronized List<String> getRanking() {
+        List<String> ranking = new ArrayList<>(this.records.keySet());
+        Collections.sort(ranking);
+        ranking.sort((first, second) -> Double.compare(this.records.get(second).rating,
+                this.records.get(first).rating));
+        return ranking;
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (String name : this.getRanking()) {
+            Record record = this.records.get(name);
+            if (builder.length() > 0) {
+                builder.append(System.lineSeparator());
+            }
+            builder.append(ROW_FORMAT.formatted(name, record.rating, this.getMarginOfError(name), record.games,
+                    record.getAverageScore()));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * This class holds the rating and the score statistics of a single bot.
+     */
+    private static final class Record {
+
+        private double rating = INITIAL_RATING;
+        private int games = 0;
+        private double sumOfScores = 0;
+        private double sumOfSquaredScores = 0;
+
+        private void add(double score, double ratingChange) {
+            this.rating += ratingChange;
+            this.games++;
+            this.sumOfScores += score;
+            this.sumOfSquaredScores += score * score;
+        }
+
+        private double getAverageScore() {
+            return this.games == 0 ? 0 : this.sumOfScores / this.games;
+        }
+
+    }
+
+}
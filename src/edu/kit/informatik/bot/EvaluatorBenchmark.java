@@ -0,0 +1,139 @@
+package edu.kit.informatik.bot;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Random;
+
+import edu.kit.informatik.exceptions.IllegalMoveException;
+import edu.kit.informatik.game.GameMaster;
+import edu.kit.informatik.game.Move;
+import edu.kit.informatik.game.Player;
+import edu.kit.informatik.game.PositionEvaluator;
+import edu.kit.informatik.game.Simulation;
+
+/**
+ * This is a benchmark for the {@link PositionEvaluator}. It plays random
+ * moves from the start of a game to collect a set of mid-game states and
+ * measures how many full evaluations per second are possible and how
+ * many bytes every evaluation allocates. It also measures a sequence of
+ * incrementally evaluated random moves. The optional command line
+ * arguments are the number of evaluations per measurement and the number
+ * of measurements.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public final class EvaluatorBenchmark {
+
+    private static final int SEED = 42;
+    private static final int INITIAL_GOLD = 20;
+    private static final int GOLD_TO_WIN = Integer.MAX_VALUE;
+    private static final int NUMBER_OF_STATES = 64;
+    private static final int MOVES_PER_STATE = 40;
+    private static final int DEFAULT_EVALUATIONS = 10_000_000;
+    private static final int DEFAULT_MEASUREMENTS = 5;
+    private static final int INCREMENTAL_MOVES = 200_000;
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final String FULL_RESULT = "full: %.0f evaluations/s, %.2f bytes/evaluation (checksum %.0f)";
+    private static final String INCREMENTAL_RESULT = "incremental: %.0f moves/s, largest drift %.2e";
+
+    private EvaluatorBenchmark() {
+    }
+
+    /**
+     * This method runs the benchmark.
+     * 
+     * @param args Number of evaluations per measurement and number of measurements
+     *             (both optional)
+     */
+    public static void main(String[] args) {
+        int evaluations = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_EVALUATIONS;
+        int measurements = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_MEASUREMENTS;
+
+        Random random = new Random(SEED);
+        Player[] states = createStates(random);
+        // The first measurement warms up the JIT compiler.
+        for (int i = 0; i <= measurements; i++) {
+            measureFullEvaluation(states, evaluations, i > 0);
+        }
+        measureIncrementalEvaluation(random);
+    }
+
+    private static Simulation createStart() {
+        GameMaster gameMaster = new GameMaster(SEED, GOLD_TO_WIN, INITIAL_GOLD, "Alice", "Bob");
+        Simulation[] start = new Simulation[1];
+        gameMaster.play(player -> {
+            start[0] = new Simulation(player);
+            player.quitGame();
+        });
+        return start[0];
+    }
+
+    private static Player[] createStates(Random random) {
+        Simulation start = createStart();
+        Player[] states = new Player[NUMBER_OF_STATES];
+        for (int i = 0; i < states.length; i++) {
+            Simulation simulation = new Simulation(start);
+            playRandomMoves(simulation, random, random.nextInt(MOVES_PER_STATE), null);
+            states[i] = simulation.getPlayer();
+        }
+        return states;
+    }
+
+    private static void playRandomMoves(Simulation simulation, Random random, int numberOfMoves,
+            PositionEvaluator evaluator) {
+        for (int i = 0; i < numberOfMoves; i++) {
+            List<Move> moves = MoveGenerator.getMoves(simulation.getPlayer());
+            Move move = moves.get(random.nextInt(moves.size()));
+            if (evaluator != null) {
+                evaluator.beforeMove(move);
+            }
+            try {
+                simulation.apply(move);
+            } catch (IllegalMoveException illegalMoveException) {
+                // Rejected moves do not change the state.
+            }
+            if (evaluator != null) {
+                evaluator.afterMove(move);
+            }
+        }
+    }
+
+    private static void measureFullEvaluation(Player[] states, int evaluations, boolean print) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        double checksum = 0;
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < evaluations; i++) {
+            checksum += PositionEvaluator.evaluate(states[i & (NUMBER_OF_STATES - 1)],
+                    PositionEvaluator.DEFAULT_HORIZON);
+        }
+        long nanos = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        if (print) {
+            System.out.println(FULL_RESULT.formatted(evaluations * NANOS_PER_SECOND / nanos,
+                    (double) allocated / evaluations, checksum));
+        }
+    }
+
+    private static void measureIncrementalEvaluation(Random random) {
+        Simulation simulation = createStart();
+        PositionEvaluator evaluator = new PositionEvaluator(simulation.getPlayer());
+
+        double largestDrift = 0;
+        long nanos = 0;
+        for (int i = 0; i < INCREMENTAL_MOVES; i += MOVES_PER_STATE) {
+            long begin = System.nanoTime();
+            playRandomMoves(simulation, random, MOVES_PER_STATE, evaluator);
+            nanos += System.nanoTime() - begin;
+            double exact = PositionEvaluator.evaluate(simulation.getPlayer(), PositionEvaluator.DEFAULT_HORIZON);
+            largestDrift = Math.max(largestDrift, Math.abs(exact - evaluator.getValue()));
+        }
+        System.out.println(INCREMENTAL_RESULT.formatted(INCREMENTAL_MOVES * NANOS_PER_SECOND / nanos, largestDrift));
+    }
+
+}
@@ -0,0 +1,90 @@
+package edu.kit.informatik.bot;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import edu.kit.informatik.exceptions.IllegalMoveException;
+import edu.kit.informatik.game.Move;
+import edu.kit.informatik.game.Player;
+import edu.kit.informatik.game.PositionEvaluator;
+import edu.kit.informatik.game.Simulation;
+import edu.kit.informatik.game.TurnPlanner;
+
+/**
+ * This class represents a bot that plans its turns greedily. It tries
+ * every sequence of the moves the {@link MoveGenerator} considers until
+ * the end of the turn and picks the one that leads to the best score
+ * (see {@link PositionEvaluator}) at the beginning of the next turn.
+ * Gold counts slightly more than the score of other goods, so the bot
+ * sells its crops. The plan only depends on the state of the player, so
+ * this bot can plan the turns of several players at the same time.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public class GreedyPlanner implements TurnPlanner {
+
+    private static final double GOLD_PREFERENCE = 0.1;
+
+    private final int horizon;
+
+    /**
+     * This constructor creates a new greedy bot with the default horizon of the
+     * evaluator.
+     */
+    public GreedyPlanner() {
+        this(PositionEvaluator.DEFAULT_HORIZON);
+    }
+
+    /**
+     * This constructor creates a new greedy bot.
+     * 
+     * @param horizon Number of rounds after which growing vegetables are valued
+     */
+    public GreedyPlanner(int horizon) {
+        this.horizon = horizon;
+    }
+
+    @Override
+    public List<Move> planTurn(Player player) {
+        Simulation simulation = new Simulation(player);
+        simulation.enableUndo();
+        List<Move> plan = new ArrayList<>();
+        this.search(simulation, new ArrayDeque<>(), plan, new double[] {Double.NEGATIVE_INFINITY});
+        return plan;
+    }
+
+    private void search(Simulation simulation, Deque<Move> line, List<Move> plan, double[] bestScore) {
+        for (Move move : MoveGenerator.getMoves(simulation.getPlayer())) {
+            try {
+                simulation.apply(move);
+            } catch (IllegalMoveException illegalMoveException) {
+                continue;
+            }
+            line.addLast(move);
+            if (simulation.getNumberOfTurns() > 0) {
+                Player player = simulation.getPlayer();
+                double score = PositionEvaluator.evaluate(player, this.horizon)
+                        + GOLD_PREFERENCE * player.getAmountOfGold();
+                // Ending the turn comes first, so shorter turns win ties.
+                if (score > bestScore[0]) {
+                    bestScore[0] = score;
+                    plan.clear();
+                    plan.addAll(line);
+                }
+            } else {
+                this.search(simulation, line, plan, bestScore);
+            }
+            line.removeLast();
+            try {
+                simulation.undo();
+            } catch (IllegalMoveException illegalMoveException) {
+                // The move was applied just now.
+                throw new IllegalStateException(illegalMoveException);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,228 @@
+package edu.kit.informatik.bot;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import edu.kit.informatik.game.ConcurrentVegetableMarket;
+import edu.kit.informatik.game.MarketHistory;
+import edu.kit.informatik.game.Pair;
+import edu.kit.informatik.game.VegetableMarket;
+import edu.kit.informatik.game.VegetableType;
+
+/**
+ * This is a benchmark for the {@link VegetableMarket}. It measures the
+ * time per call of getting a price, selling and adapting the prices and
+ * compares it to a market that keeps its state in maps like the market
+ * did before its state was moved into arrays. The map based market does
+ * not maintain a hash, so the comparison is in its favour.
+ * 
+ * Afterwards several threads sell and read prices at the same time on a
+ * {@link ConcurrentVegetableMarket} while another thread adapts the
+ * prices, and the benchmark checks that no sale got lost. The optional
+ * command line arguments are the number of calls per measurement, the
+ * number of measurements and the number of selling threads.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public final class MarketBenchmark {
+
+    private static final VegetableType[] VEGETABLES = VegetableType.values();
+    private static final int DEFAULT_CALLS = 20_000_000;
+    private static final int DEFAULT_MEASUREMENTS = 5;
+    private static final int INITIAL_INDICATOR = 2;
+    private static final int DIFFERENCE_PER_SHIFT = 2;
+    private static final int MAXIMUM_SALE = 8;
+    private static final int DEFAULT_THREADS = 4;
+    private static final int CONCURRENT_ADAPTIONS = 16;
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final String RESULT = "%-6s getPrice: %6.2f ns, sell: %6.2f ns, adapt: %6.2f ns (checksum %d)";
+    private static final String CONCURRENT_RESULT = "concurrent: %d threads, %.0f sales/s, %d of %d sales counted";
+    private static final Map<VegetableType, int[]> PRICES = Map.of(
+            VegetableType.MUSHROOM, new int[] {12, 15, 16, 17, 20},
+            VegetableType.CARROT, new int[] {3, 2, 2, 2, 1},
+            VegetableType.TOMATO, new int[] {3, 5, 6, 7, 9},
+            VegetableType.SALAD, new int[] {6, 5, 4, 3, 2});
+    private static final Set<Pair<VegetableType, VegetableType>> PAIRS = Set.of(
+            new Pair<VegetableType, VegetableType>(VegetableType.CARROT, VegetableType.MUSHROOM),
+            new Pair<VegetableType, VegetableType>(VegetableType.SALAD, VegetableType.TOMATO));
+
+    private MarketBenchmark() {
+    }
+
+    /**
+     * This method runs the benchmark.
+     * 
+     * @param args Number of calls per measurement, number of measurements and
+     *             number of selling threads (all optional)
+     * @throws InterruptedException if the benchmark gets interrupted
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int calls = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_CALLS;
+        int measurements = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_MEASUREMENTS;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_THREADS;
+
+        // The first measurement warms up the JIT compiler.
+        for (int i = 0; i <= measurements; i++) {
+            measureMaps(calls, i > 0);
+            measureArrays(calls, i > 0);
+        }
+        measureConcurrentSales(calls / threads, threads);
+    }
+
+    private static void measureMaps(int calls, boolean print) {
+        MapMarket market = new MapMarket();
+        long checksum = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            checksum += market.getPrice(VEGETABLES[i % VEGETABLES.length]);
+        }
+        long getPrice = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            market.sell(VEGETABLES[i % VEGETABLES.length], i % MAXIMUM_SALE);
+        }
+        long sell = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            market.sell(VEGETABLES[i % VEGETABLES.length], i % MAXIMUM_SALE);
+            market.adapt();
+            checksum += market.getPrice(VegetableType.MUSHROOM);
+        }
+        long adapt = System.nanoTime() - start;
+        printResult("maps", calls, print, getPrice, sell, adapt, checksum);
+    }
+
+    private static void measureArrays(int calls, boolean print) {
+        VegetableMarket market = new VegetableMarket(PRICES, PAIRS);
+        long checksum = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            checksum += market.getPrice(VEGETABLES[i % VEGETABLES.length]);
+        }
+        long getPrice = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            market.sell(VEGETABLES[i % VEGETABLES.length], i % MAXIMUM_SALE);
+        }
+        long sell = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            market.sell(VEGETABLES[i % VEGETABLES.length], i % MAXIMUM_SALE);
+            market.adapt();
+            checksum += market.getPrice(VegetableType.MUSHROOM);
+        }
+        long adapt = System.nanoTime() - start;
+        printResult("arrays", calls, print, getPrice, sell, adapt, checksum);
+    }
+
+    private static void measureConcurrentSales(int callsPerThread, int threads) throws InterruptedException {
+        ConcurrentVegetableMarket market = new ConcurrentVegetableMarket(PRICES, PAIRS);
+        long[] checksums = new long[threads];
+        Thread[] sellers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            sellers[t] = new Thread(() -> {
+                for (int i = 0; i < callsPerThread; i++) {
+                    VegetableType vegetable = VEGETABLES[(i + thread) % VEGETABLES.length];
+                    checksums[thread] += market.getPrice(vegetable);
+                    market.sell(vegetable, 1);
+                }
+            });
+        }
+        Thread adapter = new Thread(() -> {
+            for (int i = 0; i < CONCURRENT_ADAPTIONS; i++) {
+                market.adapt();
+                Thread.onSpinWait();
+            }
+        });
+
+        long start = System.nanoTime();
+        for (Thread seller : sellers) {
+            seller.start();
+        }
+        adapter.start();
+        for (Thread seller : sellers) {
+            seller.join();
+        }
+        adapter.join();
+        long nanos = System.nanoTime() - start;
+        market.adapt();
+        market.recordRound();
+
+        MarketHistory history = market.getHistory();
+        long counted = 0;
+        for (int i = 0; i < history.getSize(); i++) {
+            for (VegetableType vegetable : VEGETABLES) {
+                counted += history.getSoldAmount(i, vegetable);
+            }
+        }
+        long sales = (long) callsPerThread * threads;
+        System.out.println(CONCURRENT_RESULT.formatted(threads, sales * NANOS_PER_SECOND / nanos, counted, sales));
+    }
+
+    private static void printResult(String name, int calls, boolean print, long getPrice, long sell, long adapt,
+            long checksum) {
+        if (print) {
+            System.out.println(RESULT.formatted(name, (double) getPrice / calls,
+                    (double) sell / calls, (double) adapt / calls, checksum));
+        }
+    }
+
+    /**
+     * This class is the market as it was before its state was moved into arrays.
+     * It is only kept as the baseline of this benchmark.
+     */
+    private static final class MapMarket {
+
+        private final Map<VegetableType, Integer> indicators = new HashMap<>();
+        private final Map<VegetableType, int[]> prices = new HashMap<>(PRICES);
+        private final Set<Pair<VegetableType, VegetableType>> pairs = new HashSet<>(PAIRS);
+        private final Map<VegetableType, Integer> soldVegetables = new HashMap<>();
+
+        MapMarket() {
+            for (VegetableType vegetable : this.prices.keySet()) {
+                this.indicators.put(vegetable, INITIAL_INDICATOR);
+            }
+            for (VegetableType vegetable : VEGETABLES) {
+                this.soldVegetables.put(vegetable, 0);
+            }
+        }
+
+        int getPrice(VegetableType vegetable) {
+            int indicator = this.indicators.get(vegetable);
+            return this.prices.get(vegetable)[indicator];
+        }
+
+        void sell(VegetableType vegetable, int amount) {
+            this.soldVegetables.put(vegetable, this.soldVegetables.get(vegetable) + amount);
+        }
+
+        void adapt() {
+            for (Pair<VegetableType, VegetableType> pair : this.pairs) {
+                VegetableType first = pair.getKey();
+                VegetableType second = pair.getValue();
+                int delta = this.soldVegetables.get(first) - this.soldVegetables.get(second);
+                int newIndicator = this.indicators.get(first) + delta / DIFFERENCE_PER_SHIFT;
+                if (newIndicator >= this.prices.get(first).length || newIndicator >= this.prices.get(second).length) {
+                    newIndicator = Math.min(this.prices.get(first).length, this.prices.get(second).length) - 1;
+                }
+                if (newIndicator < 0) {
+                    newIndicator = 0;
+                }
+                this.indicators.put(first, newIndicator);
+                this.indicators.put(second, newIndicator);
+            }
+            for (VegetableType vegetable : VEGETABLES) {
+                this.soldVegetables.put(vegetable, 0);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,59 @@
+package edu.kit.informatik.bot;
+
+import edu.kit.informatik.game.GameMaster;
+import edu.kit.informatik.game.Player;
+import edu.kit.informatik.game.PlayerController;
+
+/**
+ * This is a benchmark for the {@link MctsController}. It lets the bot
+ * play a game against itself for a fixed number of turns and prints how
+ * many rollouts per second it achieved. The optional command line
+ * arguments are the number of threads, the time budget per move in
+ * milliseconds and the number of turns.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public final class MctsBenchmark {
+
+    private static final int SEED = 42;
+    private static final int INITIAL_GOLD = 20;
+    private static final int GOLD_TO_WIN = Integer.MAX_VALUE;
+    private static final int DEFAULT_MILLIS_PER_MOVE = 100;
+    private static final int DEFAULT_TURNS = 20;
+    private static final int HORIZON = 4;
+    private static final String RESULT = "threads: %d, turns: %d, rollouts: %d, rollouts/s: %.0f, gold: %d";
+
+    private MctsBenchmark() {
+    }
+
+    /**
+     * This method runs the benchmark.
+     * 
+     * @param args Number of threads, time budget per move in milliseconds and
+     *             number of turns (all optional)
+     */
+    public static void main(String[] args) {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int millisPerMove = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_MILLIS_PER_MOVE;
+        int turns = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_TURNS;
+
+        MctsController bot = new MctsController(millisPerMove, threads, HORIZON);
+        GameMaster gameMaster = new GameMaster(SEED, GOLD_TO_WIN, INITIAL_GOLD, "Alice", "Bob");
+        Player[] lastPlayer = new Player[1];
+        int[] playedTurns = new int[1];
+        PlayerController controller = player -> {
+            if (playedTurns[0]++ >= turns) {
+                player.quitGame();
+                return;
+            }
+            lastPlayer[0] = player;
+            bot.doTurn(player);
+        };
+        gameMaster.play(controller);
+
+        System.out.println(RESULT.formatted(threads, turns, bot.getNumberOfRollouts(), bot.getRolloutsPerSecond(),
+                lastPlayer[0].getAmountOfGold()));
+    }
+
+}
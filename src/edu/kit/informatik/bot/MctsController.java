@@ -0,0 +1,271 @@
+package edu.kit.informatik.bot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import edu.kit.informatik.exceptions.IllegalMoveException;
+import edu.kit.informatik.game.Move;
+import edu.kit.informatik.game.Pair;
+import edu.kit.informatik.game.Player;
+import edu.kit.informatik.game.PlayerController;
+import edu.kit.informatik.game.PositionEvaluator;
+import edu.kit.informatik.game.Simulation;
+
+/**
+ * This class represents a bot that uses Monte Carlo tree search to pick
+ * its moves. For every move it searches a shared tree with several
+ * threads (tree parallelization with virtual losses) until the time
+ * budget is used up. Rollouts play random moves up to a fixed number of
+ * turns and are rewarded with the score of the reached state (see
+ * {@link PositionEvaluator}). States that are reached
+ * by different move orders share a node, which is found through a
+ * transposition table. The subtree of the chosen move is reused for the
+ * second move of a turn.
+ * 
+ * Instead of a time budget the bot can also search a fixed number of
+ * iterations per move with a single thread and a seeded random number
+ * generator. It then makes the same moves in the same situations, no
+ * matter how fast the machine is or what else runs on it.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public class MctsController implements PlayerController, AutoCloseable {
+
+    private static final long DEFAULT_MILLIS_PER_MOVE = 100;
+    private static final int DEFAULT_HORIZON = 4;
+    private static final double EXPLORATION = Math.sqrt(2);
+    private static final int TRANSPOSITION_TABLE_CAPACITY = 1 << 16;
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private static final String ERROR_ILLEGAL_ARGUMENT = "Time budget, number of threads and horizon must be positive";
+    private static final String ERROR_ILLEGAL_ITERATIONS = "Number of iterations and horizon must be positive";
+    private static final String THREAD_NAME = "mcts-worker";
+
+    private final long nanosPerMove;
+    private final int iterationsPerMove;
+    private final Random random;
+    private final int numberOfThreads;
+    private final int horizon;
+    private final ExecutorService workers;
+    private final TranspositionTable<MctsNode> transpositions = new TranspositionTable<>(TRANSPOSITION_TABLE_CAPACITY);
+
+    private final AtomicLong numberOfRollouts = new AtomicLong();
+    private long nanosSearched = 0;
+
+    private MctsNode reusableRoot;
+
+    /**
+     * This constructor creates a new bot that searches for 100 ms per move with
+     * one thread per available processor.
+     */
+    public MctsController() {
+        this(DEFAULT_MILLIS_PER_MOVE, Runtime.getRuntime().availableProcessors(), DEFAULT_HORIZON);
+    }
+
+    /**
+     * This constructor creates a new bot.
+     * 
+     * @param millisPerMove   Time budget per move in milliseconds
+     * @param numberOfThreads Number of threads searching in parallel
+     * @param horizon         Number of turns a rollout simulates
+     * @throws IllegalArgumentException if one of the arguments is not positive
+     */
+    public MctsController(long millisPerMove, int numberOfThreads, int horizon) {
+        if (millisPerMove <= 0 || numberOfThreads <= 0 || horizon <= 0) {
+            throw new IllegalArgumentException(ERROR_ILLEGAL_ARGUMENT);
+        }
+        this.nanosPerMove = TimeUnit.MILLISECONDS.toNanos(millisPerMove);
+        this.iterationsPerMove = 0;
+        this.random = null;
+        this.numberOfThreads = numberOfThreads;
+        this.horizon = horizon;
+        this.workers = Executors.newFixedThreadPool(numberOfThreads, runnable -> {
+            Thread thread = new Thread(runnable, THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private MctsController(int iterationsPerMove, int horizon, Random random) {
+        this.nanosPerMove = 0;
+        this.iterationsPerMove = iterationsPerMove;
+        this.random = random;
+        this.numberOfThreads = 1;
+        this.horizon = horizon;
+        this.workers = null;
+    }
+
+    /**
+     * This method creates a new bot that searches a fixed number of iterations
+     * per move on the calling thread. Bots created with the same arguments make
+     * the same moves.
+     * 
+     * @param iterationsPerMove Number of iterations searched per move
+     * @param horizon           Number of turns a rollout simulates
+     * @param seed              Seed of the random number generator
+     * @return The new bot
+     * @throws IllegalArgumentException if the number of iterations or the horizon
+     *                                  is not positive
+     */
+    public static MctsController withIterations(int iterationsPerMove, int horizon, long seed) {
+        if (iterationsPerMove <= 0 || horizon <= 0) {
+            throw new IllegalArgumentException(ERROR_ILLEGAL_ITERATIONS);
+        }
+        return new MctsController(iterationsPerMove, horizon, new Random(seed));
+    }
+
+    @Override
+    public void doTurn(Player player) {
+        this.reusableRoot = null;
+        this.transpositions.clear();
+        while (player.hasMovesLeft()) {
+            MctsNode root = this.reusableRoot != null ? this.reusableRoot : new MctsNode(new Simulation(player));
+            Pair<Move, MctsNode> chosen = this.search(root);
+            Move move = chosen == null ? Move.endTurn() : chosen.getKey();
+            try {
+                move.applyTo(player);
+            } catch (IllegalMoveException illegalMoveException) {
+                // The simulation and the game disagree, so fall back to the safe choice.
+                player.endTurn();
+            }
+            // The subtree stays valid as long as the turn continues.
+            boolean sameTurn = chosen != null && chosen.getValue().getState().getNumberOfTurns() == 0;
+            this.reusableRoot = sameTurn ? chosen.getValue() : null;
+        }
+    }
+
+    private Pair<Move, MctsNode> search(MctsNode root) {
+        long start = System.nanoTime();
+        double exploration = EXPLORATION * Math.max(1, this.evaluate(root.getState()));
+        if (this.iterationsPerMove > 0) {
+            for (int i = 0; i < this.iterationsPerMove; i++) {
+                this.iterate(root, exploration, this.random);
+            }
+        } else {
+            this.searchInParallel(root, exploration, start + this.nanosPerMove);
+        }
+        synchronized (this) {
+            this.nanosSearched += System.nanoTime() - start;
+        }
+        return root.getMostVisitedChild();
+    }
+
+    private void searchInParallel(MctsNode root, double exploration, long deadline) {
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < this.numberOfThreads; i++) {
+            tasks.add(() -> {
+                do {
+                    this.iterate(root, exploration, ThreadLocalRandom.current());
+                } while (System.nanoTime() < deadline);
+                return null;
+            });
+        }
+
+        try {
+            for (Future<Void> future : this.workers.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException executionException) {
+            throw new IllegalStateException(executionException.getCause());
+        }
+    }
+
+    private void iterate(MctsNode root, double exploration, Random random) {
+        List<MctsNode> path = new ArrayList<>();
+        MctsNode node = root;
+        node.addVirtualLoss();
+        path.add(node);
+        while (true) {
+            Move move = node.pollUntriedMove(random.nextInt());
+            if (move != null) {
+                Simulation state = new Simulation(node.getState());
+                try {
+                    state.apply(move);
+                } catch (IllegalMoveException illegalMoveException) {
+                    continue;
+                }
+                MctsNode child = this.transpositions.putIfAbsent(state.getStateHash(), new MctsNode(state));
+                child.addVirtualLoss();
+                node.addChild(move, child);
+                path.add(child);
+                node = child;
+                break;
+            }
+            MctsNode child = node.selectChild(exploration);
+            if (child == null) {
+                break;
+            }
+            path.add(child);
+            node = child;
+        }
+
+        double reward = this.rollout(node.getState(), random);
+        for (MctsNode current : path) {
+            current.update(reward);
+        }
+    }
+
+    private double rollout(Simulation start, Random random) {
+        Simulation simulation = new Simulation(start);
+        while (simulation.getNumberOfTurns() < this.horizon) {
+            List<Move> moves = MoveGenerator.getMoves(simulation.getPlayer());
+            try {
+                simulation.apply(moves.get(random.nextInt(moves.size())));
+            } catch (IllegalMoveException illegalMoveException) {
+                continue;
+            }
+        }
+        this.numberOfRollouts.incrementAndGet();
+        return this.evaluate(simulation);
+    }
+
+    private double evaluate(Simulation simulation) {
+        return PositionEvaluator.evaluate(simulation.getPlayer(), PositionEvaluator.DEFAULT_HORIZON);
+    }
+
+    /**
+     * This method stops the worker threads of this bot. The bot must not be used
+     * afterwards.
+     */
+    @Override
+    public void close() {
+        if (this.workers != null) {
+            this.workers.shutdownNow();
+        }
+    }
+
+    /**
+     * This method returns how many rollouts this bot has done so far.
+     * 
+     * @return The number of rollouts done so far
+     */
+    public long getNumberOfRollouts() {
+        return this.numberOfRollouts.get();
+    }
+
+    /**
+     * This method returns how many rollouts this bot has done per second of
+     * search time on average.
+     * 
+     * @return The average number of rollouts per second
+     */
+    public synchronized double getRolloutsPerSecond() {
+        if (this.nanosSearched == 0) {
+            return 0;
+        }
+        return (double) this.numberOfRollouts.get() * NANOS_PER_SECOND / this.nanosSearched;
+    }
+
+}
@@ -0,0 +1,165 @@
+package edu.kit.informatik.bot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.kit.informatik.game.Move;
+import edu.kit.informatik.game.Pair;
+import edu.kit.informatik.game.Simulation;
+
+/**
+ * This class represents a node of a Monte Carlo search tree. Every node
+ * stores a simulated game state and the moves that lead to its
+ * children. Since different move orders can lead to the same state, a
+ * node can be the child of several nodes (see
+ * {@link TranspositionTable}). Nodes are shared between search threads,
+ * so all statistics are guarded by the node's monitor. Virtual losses
+ * make concurrent searches avoid the paths other threads are currently
+ * exploring.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+final class MctsNode {
+
+    private final Simulation state;
+    private final List<Move> untriedMoves;
+    private final List<Move> childMoves = new ArrayList<>();
+    private final List<MctsNode> children = new ArrayList<>();
+
+    private int visits = 0;
+    private double totalReward = 0;
+    private int virtualLosses = 0;
+
+    /**
+     * This constructor creates a new node.
+     * 
+     * @param state Simulated game state of this node
+     */
+    MctsNode(Simulation state) {
+        this.state = state;
+        this.untriedMoves = MoveGenerator.getMoves(state.getPlayer());
+    }
+
+    /**
+     * This method returns the simulated game state of this node. It must not be
+     * changed, copies have to be made instead.
+     * 
+     * @return The simulated game state of this node
+     */
+    Simulation getState() {
+        return this.state;
+    }
+
+    /**
+     * This method removes and returns one of the moves that have not been tried
+     * yet. If every move has been tried, null gets returned.
+     * 
+     * @param index Random number used to pick the move
+     * @return A move that has not been tried yet or null
+     */
+    synchronized Move pollUntriedMove(int index) {
+        if (this.untriedMoves.isEmpty()) {
+            return null;
+        }
+        int last = this.untriedMoves.size() - 1;
+        int chosen = Math.floorMod(index, this.untriedMoves.size());
+        Move chosenMove = this.untriedMoves.get(chosen);
+        this.untriedMoves.set(chosen, this.untriedMoves.get(last));
+        this.untriedMoves.remove(last);
+        return chosenMove;
+    }
+
+    /**
+     * This method adds a child to this node.
+     * 
+     * @param move  The move that leads to the child
+     * @param child The child to add
+     */
+    synchronized void addChild(Move move, MctsNode child) {
+        this.childMoves.add(move);
+        this.children.add(child);
+    }
+
+    /**
+     * This method selects the child with the highest upper confidence bound and
+     * adds a virtual loss to it. If this node has no children, null gets returned.
+     * 
+     * @param exploration Exploration constant
+     * @return The selected child or null
+     */
+    synchronized MctsNode selectChild(double exploration) {
+        MctsNode bestChild = null;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        double logVisits = Math.log(Math.max(1, this.visits + this.virtualLosses));
+        for (MctsNode child : this.children) {
+            double score = child.getUpperConfidenceBound(logVisits, exploration);
+            if (score > bestScore) {
+                bestScore = score;
+                bestChild = child;
+            }
+        }
+        if (bestChild != null) {
+            bestChild.addVirtualLoss();
+        }
+        return bestChild;
+    }
+
+    private synchronized double getUpperConfidenceBound(double logParentVisits, double exploration) {
+        int effectiveVisits = this.visits + this.virtualLosses;
+        if (effectiveVisits == 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return this.totalReward / effectiveVisits + exploration * Math.sqrt(logParentVisits / effectiveVisits);
+    }
+
+    /**
+     * This method adds a virtual loss to this node. It counts as a visit without
+     * reward until it is removed by {@link #update(double)}.
+     */
+    synchronized void addVirtualLoss() {
+        this.virtualLosses++;
+    }
+
+    /**
+     * This method adds the reward of a rollout to this node and removes the
+     * virtual loss that was added when the node was selected.
+     * 
+     * @param reward Reward of the rollout
+     */
+    synchronized void update(double reward) {
+        this.virtualLosses--;
+        this.visits++;
+        this.totalReward += reward;
+    }
+
+    /**
+     * This method returns the child that has been visited most often together with
+     * the move that leads to it. If this node has no children, null gets returned.
+     * 
+     * @return A key-value pair containing the move and the most visited child or
+     *         null
+     */
+    synchronized Pair<Move, MctsNode> getMostVisitedChild() {
+        int bestIndex = -1;
+        for (int i = 0; i < this.children.size(); i++) {
+            if (bestIndex == -1 || this.children.get(i).getVisits() > this.children.get(bestIndex).getVisits()) {
+                bestIndex = i;
+            }
+        }
+        if (bestIndex == -1) {
+            return null;
+        }
+        return new Pair<Move, MctsNode>(this.childMoves.get(bestIndex), this.children.get(bestIndex));
+    }
+
+    /**
+     * This method returns how many rollouts have passed through this node.
+     * 
+     * @return Number of visits of this node
+     */
+    synchronized int getVisits() {
+        return this.visits;
+    }
+
+}
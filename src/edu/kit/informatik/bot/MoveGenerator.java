@@ -0,0 +1,85 @@
+package edu.kit.informatik.bot;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.kit.informatik.game.AcreageView;
+import edu.kit.informatik.game.Barn;
+import edu.kit.informatik.game.FarmView;
+import edu.kit.informatik.game.Move;
+import edu.kit.informatik.game.Pair;
+import edu.kit.informatik.game.Player;
+import edu.kit.informatik.game.Position;
+import edu.kit.informatik.game.VegetableMarket;
+import edu.kit.informatik.game.VegetableType;
+
+/**
+ * This is a utility class that generates the moves a bot considers in
+ * a given game state. To keep the number of moves small, harvests
+ * always take everything from an acreage, sales either sell everything
+ * or all vegetables of one type and only the cheapest land is offered.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public final class MoveGenerator {
+
+    private static final int NUMBER_OF_LAND_CANDIDATES = 3;
+
+    private MoveGenerator() {
+    }
+
+    /**
+     * This method returns the moves a bot considers for a player in the current
+     * state. Ending the turn is always included. All other moves are expected to
+     * be legal.
+     * 
+     * @param player The player whose moves should be generated
+     * @return A list of moves that the player could make
+     */
+    public static List<Move> getMoves(Player player) {
+        List<Move> moves = new ArrayList<>();
+        moves.add(Move.endTurn());
+
+        Barn barn = player.getBarn();
+        FarmView farm = player.getFarmView();
+        for (Position position : farm.getAcreagePositions()) {
+            AcreageView acreage = farm.getAcreageView(position);
+            if (acreage.getVegetableType() != null) {
+                moves.add(Move.harvest(position, acreage.getAmountOfVegetables()));
+                continue;
+            }
+            for (VegetableType vegetable : acreage.getType().getPossibleVegetables()) {
+                if (barn.getAmountOf(vegetable) > 0) {
+                    moves.add(Move.plant(position, vegetable));
+                }
+            }
+        }
+
+        if (barn.hasVegetablesStored()) {
+            moves.add(Move.sellAll());
+            for (VegetableType vegetable : barn.getVegetableTypes()) {
+                Map<VegetableType, Integer> vegetables = new EnumMap<>(VegetableType.class);
+                vegetables.put(vegetable, barn.getAmountOf(vegetable));
+                moves.add(Move.sell(vegetables));
+            }
+        }
+
+        int gold = barn.getAmountOfGold();
+        VegetableMarket market = player.getCommonVegetableMarket();
+        for (VegetableType vegetable : VegetableType.values()) {
+            if (market.getPrice(vegetable) <= gold) {
+                moves.add(Move.buyVegetable(vegetable));
+            }
+        }
+        for (Pair<Position, Integer> land : player.getPurchasablePositions(NUMBER_OF_LAND_CANDIDATES)) {
+            if (land.getValue() <= gold) {
+                moves.add(Move.buyLand(land.getKey()));
+            }
+        }
+        return moves;
+    }
+
+}
@@ -0,0 +1,95 @@
+package edu.kit.informatik.bot;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import edu.kit.informatik.game.GameMaster;
+import edu.kit.informatik.game.GameResult;
+import edu.kit.informatik.game.Player;
+
+/**
+ * This is a benchmark for planning the turns of bots in parallel (see
+ * {@link GameMaster#play(edu.kit.informatik.game.TurnPlanner, ExecutorService)}).
+ * It plays the same game of greedy bots (see {@link GreedyPlanner}) once
+ * turn by turn and once with parallel planning, prints the time both took
+ * and checks that both games ended with the same amounts of gold. The
+ * optional command line arguments are the number of players, the number
+ * of threads and the amount of gold needed to win.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public final class PlanningBenchmark {
+
+    private static final int DEFAULT_PLAYERS = 16;
+    private static final int DEFAULT_THREADS = Runtime.getRuntime().availableProcessors();
+    private static final int DEFAULT_GOLD_TO_WIN = 200;
+    private static final int INITIAL_GOLD = 20;
+    private static final int SEED = 42;
+    private static final int MAX_ROUNDS = 1000;
+    private static final int STALEMATE_LIMIT = 50;
+    private static final double NANOS_PER_MILLI = 1e6;
+    private static final String NAME = "P%d";
+    private static final String RESULT = "%-10s %8.1f ms, %s after %d rounds, gold %s";
+    private static final String SAME_RESULT = "same result: %b";
+
+    private PlanningBenchmark() {
+    }
+
+    /**
+     * This method runs the benchmark.
+     * 
+     * @param args Number of players, number of threads and amount of gold needed
+     *             to win (all optional)
+     * @throws InterruptedException if the benchmark gets interrupted
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int numberOfPlayers = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PLAYERS;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_THREADS;
+        int goldToWin = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_GOLD_TO_WIN;
+        String[] names = new String[numberOfPlayers];
+        for (int i = 0; i < numberOfPlayers; i++) {
+            names[i] = NAME.formatted(i + 1);
+        }
+        GreedyPlanner planner = new GreedyPlanner();
+
+        long start = System.nanoTime();
+        GameResult sequential = createGame(goldToWin, names).play(planner);
+        long sequentialNanos = System.nanoTime() - start;
+        int[] sequentialGold = getGold(sequential);
+        System.out.println(RESULT.formatted("sequential", sequentialNanos / NANOS_PER_MILLI, sequential.getEnd(),
+                sequential.getNumberOfRounds(), Arrays.toString(sequentialGold)));
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            start = System.nanoTime();
+            GameResult parallel = createGame(goldToWin, names).play(planner, executor);
+            long parallelNanos = System.nanoTime() - start;
+            int[] parallelGold = getGold(parallel);
+            System.out.println(RESULT.formatted("parallel", parallelNanos / NANOS_PER_MILLI, parallel.getEnd(),
+                    parallel.getNumberOfRounds(), Arrays.toString(parallelGold)));
+            System.out.println(SAME_RESULT.formatted(Arrays.equals(sequentialGold, parallelGold)));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static GameMaster createGame(int goldToWin, String[] names) {
+        GameMaster gameMaster = new GameMaster(SEED, goldToWin, INITIAL_GOLD, names);
+        // Greedy bots may get stuck before anyone wins.
+        gameMaster.setMaxRounds(MAX_ROUNDS);
+        gameMaster.setStalemateLimit(STALEMATE_LIMIT);
+        return gameMaster;
+    }
+
+    private static int[] getGold(GameResult result) {
+        Player[] players = result.getPlayers();
+        int[] gold = new int[players.length];
+        for (int i = 0; i < players.length; i++) {
+            gold[i] = players[i].getAmountOfGold();
+        }
+        return gold;
+    }
+
+}
@@ -0,0 +1,119 @@
+package edu.kit.informatik.bot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import edu.kit.informatik.exceptions.IllegalMoveException;
+import edu.kit.informatik.game.GameResult;
+import edu.kit.informatik.game.Move;
+import edu.kit.informatik.game.Player;
+import edu.kit.informatik.game.PlayerController;
+import edu.kit.informatik.game.RealTimeGame;
+import edu.kit.informatik.game.RuleSet;
+
+/**
+ * This is a benchmark for the {@link RealTimeGame}. Many players make
+ * random moves at the same time until the first player quits after a
+ * fixed number of turns. It prints how many ticks began on time, the
+ * largest delay of a tick and how many moves the players made per second.
+ * The optional command line arguments are the number of players, the
+ * length of a tick in milliseconds, the number of turns and the number of
+ * threads.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public final class RealTimeBenchmark {
+
+    private static final int DEFAULT_PLAYERS = 500;
+    private static final int DEFAULT_TICK_MILLIS = 10;
+    private static final int DEFAULT_TURNS = 500;
+    private static final int DEFAULT_THREADS = Runtime.getRuntime().availableProcessors();
+    private static final int SEED = 42;
+    private static final int INITIAL_GOLD = 20;
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final double NANOS_PER_MILLI = 1e6;
+    private static final String NAME = "P%d";
+    private static final String RESULT = "%d players, %d ticks in %.2f s (%.1f ticks/s of %.1f), "
+            + "largest tick delay %.2f ms, %.0f moves/s";
+
+    private RealTimeBenchmark() {
+    }
+
+    /**
+     * This method runs the benchmark.
+     * 
+     * @param args Number of players, length of a tick in milliseconds, number of
+     *             turns and number of threads (all optional)
+     * @throws InterruptedException if the benchmark gets interrupted
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int numberOfPlayers = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PLAYERS;
+        int tickMillis = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_TICK_MILLIS;
+        int turns = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_TURNS;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_THREADS;
+
+        String[] names = new String[numberOfPlayers];
+        for (int i = 0; i < numberOfPlayers; i++) {
+            names[i] = NAME.formatted(i + 1);
+        }
+        RealTimeGame game = new RealTimeGame(RuleSet.DEFAULT, SEED, Integer.MAX_VALUE, INITIAL_GOLD, tickMillis,
+                names);
+        List<RandomController> controllers = new ArrayList<>();
+
+        long start = System.nanoTime();
+        GameResult result = game.play(player -> {
+            RandomController controller = new RandomController(controllers.size(), controllers.isEmpty() ? turns : -1);
+            controllers.add(controller);
+            return controller;
+        }, threads);
+        double seconds = (System.nanoTime() - start) / NANOS_PER_SECOND;
+
+        long moves = 0;
+        for (RandomController controller : controllers) {
+            moves += controller.moves;
+        }
+        System.out.println(RESULT.formatted(result.getPlayers().length, game.getNumberOfTicks(), seconds,
+                game.getNumberOfTicks() / seconds, 1000.0 / tickMillis,
+                game.getLargestTickDelay() / NANOS_PER_MILLI, moves / seconds));
+    }
+
+    /**
+     * This class models a controller that makes random moves. It may quit after
+     * a number of turns.
+     */
+    private static final class RandomController implements PlayerController {
+
+        private final Random random;
+        private final int turnsUntilQuit;
+        private int turns = 0;
+        // Read after the game has ended
+        private long moves = 0;
+
+        RandomController(int seed, int turnsUntilQuit) {
+            this.random = new Random(seed);
+            this.turnsUntilQuit = turnsUntilQuit;
+        }
+
+        @Override
+        public void doTurn(Player player) {
+            this.turns++;
+            if (this.turns == this.turnsUntilQuit) {
+                player.quitGame();
+                return;
+            }
+            while (player.hasMovesLeft()) {
+                List<Move> candidates = MoveGenerator.getMoves(player);
+                try {
+                    candidates.get(this.random.nextInt(candidates.size())).applyTo(player);
+                    this.moves++;
+                } catch (IllegalMoveException illegalMoveException) {
+                    // Another player was faster, for example when buying the same land.
+                    player.endTurn();
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,77 @@
+package edu.kit.informatik.bot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+import edu.kit.informatik.exceptions.IllegalMoveException;
+import edu.kit.informatik.game.Move;
+import edu.kit.informatik.game.MoveType;
+import edu.kit.informatik.game.Player;
+import edu.kit.informatik.game.PlayerController;
+
+/**
+ * This enum represents simple policies that make the moves of all players
+ * when a game is played to the end quickly, for example to estimate the
+ * odds of the players (see {@link edu.kit.informatik.game.OddsEstimator}).
+ * The policies choose among the moves of the {@link MoveGenerator}
+ * without looking ahead. They keep no state, so they can be used by
+ * several threads at the same time.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public enum RolloutPolicy implements PlayerController {
+
+    /**
+     * This policy chooses a random move.
+     */
+    RANDOM {
+        @Override
+        Move choose(List<Move> moves, Random random) {
+            return moves.get(random.nextInt(moves.size()));
+        }
+    },
+
+    /**
+     * This policy harvests if it can, then plants, then sells everything and
+     * otherwise chooses a random move. If several moves of the preferred kind
+     * are possible, one of them is chosen randomly.
+     */
+    HARVEST_FIRST {
+        @Override
+        Move choose(List<Move> moves, Random random) {
+            List<Move> candidates = new ArrayList<>();
+            for (MoveType type : PREFERRED_MOVES) {
+                for (Move move : moves) {
+                    if (move.getType() == type) {
+                        candidates.add(move);
+                    }
+                }
+                if (!candidates.isEmpty()) {
+                    return candidates.get(random.nextInt(candidates.size()));
+                }
+            }
+            return moves.get(random.nextInt(moves.size()));
+        }
+    };
+
+    private static final MoveType[] PREFERRED_MOVES = {MoveType.HARVEST, MoveType.PLANT, MoveType.SELL_ALL};
+
+    @Override
+    public void doTurn(Player player) {
+        while (player.hasMovesLeft()) {
+            Move move = this.choose(MoveGenerator.getMoves(player), ThreadLocalRandom.current());
+            try {
+                move.applyTo(player);
+            } catch (IllegalMoveException illegalMoveException) {
+                // The generated moves are expected to be legal, but the turn must end anyway.
+                player.endTurn();
+            }
+        }
+    }
+
+    abstract Move choose(List<Move> moves, Random random);
+
+}
@@ -0,0 +1,352 @@
+package edu.kit.informatik.bot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import edu.kit.informatik.exceptions.IllegalMoveException;
+import edu.kit.informatik.game.FeatureExtractor;
+import edu.kit.informatik.game.GameMaster;
+import edu.kit.informatik.game.GameResult;
+import edu.kit.informatik.game.Move;
+import edu.kit.informatik.game.Player;
+import edu.kit.informatik.game.Position;
+import edu.kit.informatik.game.Simulation;
+import edu.kit.informatik.game.VegetableType;
+
+/**
+ * This class generates training data by letting bots play against each
+ * other. Every move of every game becomes a record that contains the
+ * state of the player before the move (see {@link FeatureExtractor}),
+ * the move and the final outcome of the game for that player. The bots
+ * plan greedily (see {@link GreedyPlanner}) and make a random move
+ * instead with a given probability, so the games differ from each
+ * other.
+ * 
+ * Several games are played in parallel. Every thread writes its own
+ * shard files, so the threads never wait for each other. The records of
+ * a game are collected in memory until the outcome is known and then
+ * written with a single call, so writing keeps up with the disk.
+ * 
+ * A shard file starts with a header of four ints: {@link #MAGIC},
+ * {@link #VERSION}, the number of features and {@link #RECORD_SIZE}.
+ * Then follow the records. A record consists of the features as floats,
+ * the seat of the player, the move type, the vegetable type (-1 if
+ * none) and a padding byte, the x and y coordinate and the amount as
+ * shorts and a padding short, the number of sold vegetables of every
+ * vegetable type as shorts, the outcome as a float (1 for a win, 0.5
+ * for a draw or a shared win and 0 for a loss) and the final amount of
+ * gold as an int. All numbers are little endian.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public final class SelfPlayGenerator {
+
+    /**
+     * This is the first int of every shard file ("QFSP" in ASCII).
+     */
+    public static final int MAGIC = 0x51465350;
+
+    /**
+     * This is the version of the file format.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * This is the size of a record in bytes.
+     */
+    public static final int RECORD_SIZE = Float.BYTES * FeatureExtractor.NUMBER_OF_FEATURES
+            + 4 * Byte.BYTES + 4 * Short.BYTES + VegetableType.values().length * Short.BYTES
+            + Float.BYTES + Integer.BYTES;
+
+    private static final int DEFAULT_GAMES = 100;
+    private static final int DEFAULT_THREADS = Runtime.getRuntime().availableProcessors();
+    private static final int DEFAULT_FIRST_SEED = 1;
+    private static final double DEFAULT_EXPLORATION = 0.1;
+    private static final int DEFAULT_RECORDS_PER_SHARD = 100_000;
+    private static final String[] NAMES = {"A", "B"};
+    private static final int GOLD_TO_WIN = 100;
+    private static final int INITIAL_GOLD = 20;
+    private static final int MAX_ROUNDS = 200;
+    private static final int STALEMATE_LIMIT = 40;
+    private static final int HEADER_SIZE = 4 * Integer.BYTES;
+    private static final int INITIAL_GAME_RECORDS = 256;
+    private static final double DRAW = 0.5;
+    private static final String SHARD_NAME = "shard-%03d-%05d.bin";
+    private static final String RESULT = "%d games, %d records, %d MB in %.2f s (%.1f MB/s)";
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final int BYTES_PER_MEGABYTE = 1 << 20;
+    private static final VegetableType[] VEGETABLES = VegetableType.values();
+    private static final String ERROR_ARGUMENTS = "The number of games, the exploration and the shard size are invalid";
+
+    private final Path directory;
+    private final int firstSeed;
+    private final int numberOfGames;
+    private final double exploration;
+    private final int recordsPerShard;
+    private final AtomicInteger nextGame = new AtomicInteger();
+
+    /**
+     * This constructor creates a new generator.
+     * 
+     * @param directory       The directory the shard files get written into
+     * @param firstSeed       The seed of the first game. The following games get
+     *                        the next seeds.
+     * @param numberOfGames   The number of games to play
+     * @param exploration     The probability of a random move instead of a planned
+     *                        one
+     * @param recordsPerShard The number of records after which a new shard file
+     *                        gets started. Records of a game are never split.
+     * @throws IllegalArgumentException if one of the numbers is invalid
+     */
+    public SelfPlayGenerator(Path directory, int firstSeed, int numberOfGames, double exploration,
+            int recordsPerShard) {
+        if (numberOfGames < 0 || exploration < 0 || exploration > 1 || recordsPerShard <= 0) {
+            throw new IllegalArgumentException(ERROR_ARGUMENTS);
+        }
+        this.directory = directory;
+        this.firstSeed = firstSeed;
+        this.numberOfGames = numberOfGames;
+        this.exploration = exploration;
+        this.recordsPerShard = recordsPerShard;
+    }
+
+    /**
+     * This method generates training data and prints how fast it was written.
+     * 
+     * @param args Directory of the shard files, number of games, number of threads
+     *             and seed of the first game (all but the directory optional)
+     * @throws IOException          if a shard file could not be written
+     * @throws InterruptedException if the generator gets interrupted
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path directory = Path.of(args.length > 0 ? args[0] : ".");
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_GAMES;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_THREADS;
+        int firstSeed = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_FIRST_SEED;
+
+        long start = System.nanoTime();
+        long records = new SelfPlayGenerator(directory, firstSeed, games, DEFAULT_EXPLORATION,
+                DEFAULT_RECORDS_PER_SHARD).run(threads);
+        double seconds = (System.nanoTime() - start) / NANOS_PER_SECOND;
+        long megabytes = records * RECORD_SIZE / BYTES_PER_MEGABYTE;
+        System.out.println(RESULT.formatted(games, records, megabytes, seconds, megabytes / seconds));
+    }
+
+    /**
+     * This method plays all games and writes their records into shard files.
+     * 
+     * @param numberOfThreads Number of games that are played in parallel
+     * @return The number of records that were written
+     * @throws IOException          if a shard file could not be written
+     * @throws InterruptedException if the calling thread gets interrupted while
+     *                              waiting for the games
+     */
+    public long run(int numberOfThreads) throws IOException, InterruptedException {
+        Files.createDirectories(this.directory);
+        ExecutorService pool = Executors.newFixedThreadPool(numberOfThreads);
+        try {
+            List<Future<Long>> workers = new ArrayList<>();
+            for (int i = 0; i < numberOfThreads; i++) {
+                int worker = i;
+                Callable<Long> task = () -> this.work(worker);
+                workers.add(pool.submit(task));
+            }
+            long records = 0;
+            for (Future<Long> worker : workers) {
+                records += worker.get();
+            }
+            return records;
+        } catch (ExecutionException executionException) {
+            if (executionException.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IllegalStateException(executionException.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private long work(int worker) throws IOException {
+        GameRecorder recorder = new GameRecorder();
+        long records = 0;
+        try (ShardWriter writer = new ShardWriter(worker)) {
+            for (int game = this.nextGame.getAndIncrement(); game < this.numberOfGames;
+                    game = this.nextGame.getAndIncrement()) {
+                int seed = this.firstSeed + game;
+                recorder.play(seed, new Random(seed));
+                writer.write(recorder.records, recorder.numberOfRecords);
+                records += recorder.numberOfRecords;
+            }
+        }
+        return records;
+    }
+
+    /**
+     * This class plays a game and collects its records.
+     */
+    private final class GameRecorder {
+
+        private final GreedyPlanner planner = new GreedyPlanner();
+        private final float[] features = new float[FeatureExtractor.NUMBER_OF_FEATURES];
+        private ByteBuffer records = allocate(INITIAL_GAME_RECORDS * RECORD_SIZE);
+        private int numberOfRecords;
+
+        void play(int seed, Random random) {
+            this.records.clear();
+            this.numberOfRecords = 0;
+            GameMaster gameMaster = new GameMaster(seed, GOLD_TO_WIN, INITIAL_GOLD, NAMES);
+            gameMaster.setMaxRounds(MAX_ROUNDS);
+            gameMaster.setStalemateLimit(STALEMATE_LIMIT);
+            GameResult result = gameMaster.play(player -> {
+                while (player.hasMovesLeft()) {
+                    this.makeMove(player, random);
+                }
+            });
+            this.writeOutcomes(result);
+            this.records.flip();
+        }
+
+        private void makeMove(Player player, Random random) {
+            Move move;
+            if (random.nextDouble() < SelfPlayGenerator.this.exploration) {
+                List<Move> moves = MoveGenerator.getMoves(player);
+                move = moves.get(random.nextInt(moves.size()));
+            } else {
+                List<Move> plan = this.planner.planTurn(new Simulation(player).getPlayer());
+                move = plan == null || plan.isEmpty() ? Move.endTurn() : plan.get(0);
+            }
+
+            if (this.records.remaining() < RECORD_SIZE) {
+                ByteBuffer larger = allocate(2 * this.records.capacity());
+                this.records.flip();
+                this.records = larger.put(this.records);
+            }
+            int start = this.records.position();
+            FeatureExtractor.extract(player, this.features, 0);
+            for (float feature : this.features) {
+                this.records.putFloat(feature);
+            }
+            this.records.put((byte) getSeat(player)).put((byte) move.getType().ordinal());
+            this.records.put((byte) (move.getVegetable() == null ? -1 : move.getVegetable().ordinal())).put((byte) 0);
+            Position position = move.getPosition();
+            this.records.putShort((short) (position == null ? 0 : position.getX()));
+            this.records.putShort((short) (position == null ? 0 : position.getY()));
+            this.records.putShort((short) move.getAmount()).putShort((short) 0);
+            Map<VegetableType, Integer> sold = move.getVegetables();
+            for (VegetableType vegetable : VEGETABLES) {
+                this.records.putShort((short) (sold == null ? 0 : sold.getOrDefault(vegetable, 0)));
+            }
+            // The outcome is written at the end of the game.
+            this.records.putFloat(0).putInt(0);
+
+            try {
+                move.applyTo(player);
+                this.numberOfRecords++;
+            } catch (IllegalMoveException illegalMoveException) {
+                // Random moves are expected to be legal, but the turn must end anyway.
+                this.records.position(start);
+                player.endTurn();
+            }
+        }
+
+        private void writeOutcomes(GameResult result) {
+            Player[] players = result.getPlayers();
+            Player[] winners = result.getWinners();
+            float[] outcomes = new float[players.length];
+            for (Player winner : winners) {
+                outcomes[getSeat(winner)] = winners.length == 1 ? 1 : (float) DRAW;
+            }
+            if (winners.length == 0) {
+                Arrays.fill(outcomes, (float) DRAW);
+            }
+            int seatOffset = Float.BYTES * FeatureExtractor.NUMBER_OF_FEATURES;
+            int outcomeOffset = RECORD_SIZE - Float.BYTES - Integer.BYTES;
+            for (int i = 0; i < this.numberOfRecords; i++) {
+                int record = i * RECORD_SIZE;
+                int seat = this.records.get(record + seatOffset);
+                this.records.putFloat(record + outcomeOffset, outcomes[seat]);
+                this.records.putInt(record + outcomeOffset + Float.BYTES, players[seat].getAmountOfGold());
+            }
+        }
+    }
+
+    private static int getSeat(Player player) {
+        for (int i = 0; i < NAMES.length; i++) {
+            if (NAMES[i].equals(player.getName())) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException(player.getName());
+    }
+
+    private static ByteBuffer allocate(int capacity) {
+        return ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * This class writes records into the shard files of a thread.
+     */
+    private final class ShardWriter implements AutoCloseable {
+
+        private final int worker;
+        private final ByteBuffer header = allocate(HEADER_SIZE);
+        private int part = 0;
+        private FileChannel channel;
+        private int recordsInShard;
+
+        ShardWriter(int worker) {
+            this.worker = worker;
+        }
+
+        void write(ByteBuffer records, int numberOfRecords) throws IOException {
+            if (this.channel == null || this.recordsInShard + numberOfRecords > SelfPlayGenerator.this.recordsPerShard
+                    && this.recordsInShard > 0) {
+                this.startShard();
+            }
+            while (records.hasRemaining()) {
+                this.channel.write(records);
+            }
+            this.recordsInShard += numberOfRecords;
+        }
+
+        private void startShard() throws IOException {
+            this.close();
+            Path path = SelfPlayGenerator.this.directory.resolve(SHARD_NAME.formatted(this.worker, this.part++));
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            this.header.clear();
+            this.header.putInt(MAGIC).putInt(VERSION).putInt(FeatureExtractor.NUMBER_OF_FEATURES).putInt(RECORD_SIZE);
+            this.header.flip();
+            while (this.header.hasRemaining()) {
+                this.channel.write(this.header);
+            }
+            this.recordsInShard = 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (this.channel != null) {
+                this.channel.close();
+                this.channel = null;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,323 @@
+package edu.kit.informatik.bot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import edu.kit.informatik.exceptions.IllegalMoveException;
+import edu.kit.informatik.game.AcreageView;
+import edu.kit.informatik.game.Barn;
+import edu.kit.informatik.game.FarmView;
+import edu.kit.informatik.game.GameMaster;
+import edu.kit.informatik.game.Move;
+import edu.kit.informatik.game.Player;
+import edu.kit.informatik.game.Position;
+import edu.kit.informatik.game.Simulation;
+import edu.kit.informatik.game.VegetableMarket;
+import edu.kit.informatik.game.VegetableType;
+
+/**
+ * This class represents a solver that finds the smallest number of rounds
+ * a player needs to reach the gold to win when playing alone. It serves
+ * as a benchmark for bots. The solver searches every sequence of the
+ * moves the {@link MoveGenerator} considers, so the result is optimal
+ * for bots choosing among these moves.
+ * 
+ * The search deepens iteratively: it tries to win within one round, then
+ * within two rounds and so on. States that are reached by different move
+ * orders are recognized by their hash without the gold (see
+ * {@link Simulation#getHashWithoutGold()}). For every such state a
+ * bounded transposition table remembers that the gold could not be
+ * reached with a certain amount of gold and number of rounds left. A
+ * state with no more gold and no more rounds left is dominated by that
+ * one and is not searched again, since more gold never hurts. In the last
+ * round only selling increases the gold, at the prices of that round, so
+ * states that cannot reach the gold even by harvesting and selling
+ * everything are cut off. The turns that follow the first one are
+ * searched in parallel, sharing the table.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public class SoloSolver {
+
+    private static final int DEFAULT_SEED = 1;
+    private static final int DEFAULT_INITIAL_GOLD = 20;
+    private static final int DEFAULT_GOLD_TO_WIN = 50;
+    private static final int DEFAULT_MAX_ROUNDS = 20;
+    private static final int DEFAULT_TABLE_CAPACITY = 1 << 20;
+    private static final String NAME = "Solo";
+    private static final String RESULT = "seed %d, %d gold to %d gold: %s (%d states searched in %d ms)";
+    private static final String ROUND = "1 round";
+    private static final String ROUNDS = "%d rounds";
+    private static final String NOT_SOLVED = "not within %d rounds";
+    private static final String ERROR_ARGUMENTS = "Maximum number of rounds, threads and capacity must be positive";
+    private static final String ERROR_PLAYERS = "The game must have exactly one player";
+
+    private final int maxRounds;
+    private final int numberOfThreads;
+    private final TranspositionTable<Failure> failures;
+    private final LongAdder numberOfStates = new LongAdder();
+
+    /**
+     * This constructor creates a new solver.
+     * 
+     * @param maxRounds       The number of rounds after which the search gives up
+     * @param numberOfThreads Number of threads searching in parallel
+     * @param tableCapacity   The number of states the transposition table can hold
+     * @throws IllegalArgumentException if one of the arguments is not positive
+     */
+    public SoloSolver(int maxRounds, int numberOfThreads, int tableCapacity) {
+        if (maxRounds <= 0 || numberOfThreads <= 0 || tableCapacity <= 0) {
+            throw new IllegalArgumentException(ERROR_ARGUMENTS);
+        }
+        this.maxRounds = maxRounds;
+        this.numberOfThreads = numberOfThreads;
+        this.failures = new TranspositionTable<>(tableCapacity);
+    }
+
+    /**
+     * This method solves a game and prints the result.
+     * 
+     * @param args Seed, initial gold, gold to win, maximum number of rounds and
+     *             number of threads (all optional)
+     * @throws InterruptedException if the solver gets interrupted
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int seed = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SEED;
+        int initialGold = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_INITIAL_GOLD;
+        int goldToWin = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_GOLD_TO_WIN;
+        int maxRounds = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_MAX_ROUNDS;
+        int threads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+
+        SoloSolver solver = new SoloSolver(maxRounds, threads, DEFAULT_TABLE_CAPACITY);
+        long start = System.nanoTime();
+        int rounds = solver.solve(new GameMaster(seed, goldToWin, initialGold, NAME), goldToWin);
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        String solution;
+        if (rounds < 0) {
+            solution = NOT_SOLVED.formatted(maxRounds);
+        } else {
+            solution = rounds == 1 ? ROUND : ROUNDS.formatted(rounds);
+        }
+        System.out.println(RESULT.formatted(seed, initialGold, goldToWin, solution,
+                solver.getNumberOfStatesSearched(), millis));
+    }
+
+    /**
+     * This method finds the smallest number of rounds the player of a game with
+     * one player needs to reach an amount of gold, starting at the beginning of
+     * their next turn. The transposition table is cleared first.
+     * 
+     * @param game      A game with one player
+     * @param goldToWin The amount of gold the player should reach
+     * @return The smallest number of rounds or -1 if the gold cannot be reached
+     *         within the maximum number of rounds
+     * @throws InterruptedException     if the calling thread gets interrupted
+     *                                  while waiting for the search
+     * @throws IllegalArgumentException if the game has more than one player
+     */
+    public int solve(GameMaster game, int goldToWin) throws InterruptedException {
+        if (game.getNames().length != 1) {
+            throw new IllegalArgumentException(ERROR_PLAYERS);
+        }
+        this.failures.clear();
+        this.numberOfStates.reset();
+        Simulation start = game.createSimulation(0);
+        if (start.getPlayer().getAmountOfGold() >= goldToWin) {
+            return 0;
+        }
+
+        List<Simulation> secondTurns = new ArrayList<>();
+        start.enableUndo();
+        if (this.collectTurns(start, goldToWin, new HashMap<>(), secondTurns)) {
+            return 1;
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(this.numberOfThreads);
+        try {
+            for (int rounds = 2; rounds <= this.maxRounds; rounds++) {
+                if (this.searchInParallel(secondTurns, rounds - 1, goldToWin, pool)) {
+                    return rounds;
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return -1;
+    }
+
+    private boolean searchInParallel(List<Simulation> turns, int roundsLeft, int goldToWin, ExecutorService pool)
+            throws InterruptedException {
+        CompletionService<Boolean> completion = new ExecutorCompletionService<>(pool);
+        AtomicBoolean solved = new AtomicBoolean();
+        for (Simulation turn : turns) {
+            completion.submit(() -> this.search(turn, roundsLeft, goldToWin, solved));
+        }
+        try {
+            for (int i = 0; i < turns.size(); i++) {
+                if (completion.take().get()) {
+                    solved.set(true);
+                    return true;
+                }
+            }
+        } catch (ExecutionException executionException) {
+            throw new IllegalStateException(executionException.getCause());
+        } finally {
+            // The remaining searches stop soon and leave the simulations as they were.
+            solved.set(true);
+        }
+        return false;
+    }
+
+    private boolean collectTurns(Simulation simulation, int goldToWin, Map<Long, Simulation> richest,
+            List<Simulation> turns) {
+        for (Move move : MoveGenerator.getMoves(simulation.getPlayer())) {
+            if (!this.tryApply(simulation, move)) {
+                continue;
+            }
+            boolean won = false;
+            if (simulation.getNumberOfTurns() > 0) {
+                Player player = simulation.getPlayer();
+                won = player.getAmountOfGold() >= goldToWin;
+                // Of the turns that end in the same state only the one with the most gold is kept.
+                Simulation known = richest.get(simulation.getHashWithoutGold());
+                if (known == null || known.getPlayer().getAmountOfGold() < player.getAmountOfGold()) {
+                    Simulation turn = new Simulation(simulation);
+                    turn.enableUndo();
+                    richest.put(simulation.getHashWithoutGold(), turn);
+                    turns.remove(known);
+                    turns.add(turn);
+                }
+            } else {
+                won = this.collectTurns(simulation, goldToWin, richest, turns);
+            }
+            this.undo(simulation);
+            if (won) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean search(Simulation simulation, int roundsLeft, int goldToWin, AtomicBoolean solved) {
+        if (solved.get()) {
+            return false;
+        }
+        Player player = simulation.getPlayer();
+        int gold = player.getAmountOfGold();
+        if (roundsLeft == 1 && gold + getLastTurnIncome(player) < goldToWin) {
+            return false;
+        }
+        long hash = simulation.getHashWithoutGold();
+        Failure failure = this.failures.get(hash);
+        if (failure != null && failure.gold >= gold && failure.roundsLeft >= roundsLeft) {
+            return false;
+        }
+        this.numberOfStates.increment();
+
+        int turns = simulation.getNumberOfTurns();
+        for (Move move : MoveGenerator.getMoves(player)) {
+            if (!this.tryApply(simulation, move)) {
+                continue;
+            }
+            boolean won;
+            if (simulation.getNumberOfTurns() == turns) {
+                won = this.search(simulation, roundsLeft, goldToWin, solved);
+            } else {
+                won = player.getAmountOfGold() >= goldToWin
+                        || roundsLeft > 1 && this.search(simulation, roundsLeft - 1, goldToWin, solved);
+            }
+            this.undo(simulation);
+            if (won) {
+                return true;
+            }
+        }
+        // A search that was stopped early has not proven anything.
+        if (!solved.get()) {
+            this.failures.put(hash, new Failure(gold, roundsLeft));
+        }
+        return false;
+    }
+
+    private static int getLastTurnIncome(Player player) {
+        // Prices only change at the end of a round, so buying and selling again gains nothing.
+        VegetableMarket market = player.getCommonVegetableMarket();
+        Barn barn = player.getBarn();
+        int income = 0;
+        for (VegetableType vegetable : barn.getVegetableTypes()) {
+            income += barn.getAmountOf(vegetable) * market.getPrice(vegetable);
+        }
+
+        // One move is needed to sell, every other move can harvest one acreage.
+        FarmView farm = player.getFarmView();
+        List<Integer> harvests = new ArrayList<>();
+        for (Position position : farm.getAcreagePositions()) {
+            AcreageView acreage = farm.getAcreageView(position);
+            if (acreage.getVegetableType() != null) {
+                harvests.add(acreage.getAmountOfVegetables() * market.getPrice(acreage.getVegetableType()));
+            }
+        }
+        int[] values = harvests.stream().mapToInt(Integer::intValue).toArray();
+        Arrays.sort(values);
+        int movesLeft = player.getRules().getMovesPerPlayer();
+        for (int i = 0; i < movesLeft - 1 && i < values.length; i++) {
+            income += values[values.length - 1 - i];
+        }
+        return income;
+    }
+
+    private boolean tryApply(Simulation simulation, Move move) {
+        try {
+            simulation.apply(move);
+            return true;
+        } catch (IllegalMoveException illegalMoveException) {
+            return false;
+        }
+    }
+
+    private void undo(Simulation simulation) {
+        try {
+            simulation.undo();
+        } catch (IllegalMoveException illegalMoveException) {
+            // The move was applied just now.
+            throw new IllegalStateException(illegalMoveException);
+        }
+    }
+
+    /**
+     * This method returns how many states the latest search has expanded.
+     * 
+     * @return The number of searched states
+     */
+    public long getNumberOfStatesSearched() {
+        return this.numberOfStates.sum();
+    }
+
+    /**
+     * This class represents the result of a search that could not reach the gold
+     * from a state with an amount of gold and a number of rounds left.
+     */
+    private static final class Failure {
+
+        private final int gold;
+        private final int roundsLeft;
+
+        private Failure(int gold, int roundsLeft) {
+            this.gold = gold;
+            this.roundsLeft = roundsLeft;
+        }
+
+    }
+
+}
@@ -0,0 +1,252 @@
+package edu.kit.informatik.bot;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntFunction;
+
+import edu.kit.informatik.game.GameMaster;
+import edu.kit.informatik.game.GameResult;
+import edu.kit.informatik.game.Pair;
+import edu.kit.informatik.game.Player;
+import edu.kit.informatik.game.PlayerController;
+
+/**
+ * This class models a round-robin tournament between bots. For every
+ * seed of a seed range every pair of bots plays two games, one in each
+ * seating order. The games are run in parallel on a work-stealing pool.
+ * Results are written as CSV rows and rated (see {@link EloRatings}) in
+ * the order of the schedule, not in the order the games finish. The bots
+ * of a game are created with the seed of the game, so a tournament
+ * between bots that only depend on their seed, like MCTS bots with a
+ * fixed number of iterations per move, produces the same output with any
+ * number of threads.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public class Tournament {
+
+    /**
+     * This is the header of the CSV output.
+     */
+    public static final String CSV_HEADER = "game,seed,first,second,first_gold,second_gold,first_score,rounds";
+
+    private static final int DEFAULT_FIRST_SEED = 1;
+    private static final int DEFAULT_LAST_SEED = 4;
+    private static final int DEFAULT_GOLD_TO_WIN = 100;
+    private static final int DEFAULT_INITIAL_GOLD = 20;
+    private static final int DEFAULT_MAX_ROUNDS = 40;
+    private static final int DEFAULT_HORIZON = 4;
+    private static final int[] DEFAULT_ITERATIONS_PER_MOVE = {50, 200};
+
+    private static final String ERROR_BOTS = "At least two bots are needed for a tournament";
+    private static final String ERROR_ARGUMENTS = "The seed range and the game parameters are invalid";
+    private static final String CSV_ROW = "%d,%d,%s,%s,%d,%d,%s,%d";
+    private static final String BOT_NAME = "mcts-%d";
+
+    private final Map<String, IntFunction<PlayerController>> bots;
+    private final int firstSeed;
+    private final int lastSeed;
+    private final int goldToWin;
+    private final int initialGold;
+    private final int maxRounds;
+
+    /**
+     * This constructor creates a new tournament.
+     * 
+     * @param bots        Factories of the competing bots by unique name. Every
+     *                    game gets its own controllers from these factories,
+     *                    which get the seed of the game.
+     * @param firstSeed   The first seed that gets played
+     * @param lastSeed    The last seed that gets played
+     * @param goldToWin   The amount of gold needed to win a game
+     * @param initialGold The amount of gold every player starts with
+     * @param maxRounds   The number of rounds after which a game gets stopped
+     * @throws IllegalArgumentException if there are less than two bots or the
+     *                                  other arguments are invalid
+     */
+    public Tournament(Map<String, IntFunction<PlayerController>> bots, int firstSeed, int lastSeed, int goldToWin,
+            int initialGold, int maxRounds) {
+        if (bots.size() < 2) {
+            throw new IllegalArgumentException(ERROR_BOTS);
+        }
+        if (lastSeed < firstSeed || goldToWin <= 0 || initialGold < 0 || maxRounds <= 0) {
+            throw new IllegalArgumentException(ERROR_ARGUMENTS);
+        }
+        this.bots = new LinkedHashMap<>(bots);
+        this.firstSeed = firstSeed;
+        this.lastSeed = lastSeed;
+        this.goldToWin = goldToWin;
+        this.initialGold = initialGold;
+        this.maxRounds = maxRounds;
+    }
+
+    /**
+     * This method runs a tournament between MCTS bots with different numbers of
+     * iterations per move and prints the games as CSV and the ratings at the end.
+     * 
+     * @param args Number of threads, first seed, last seed and an optional path of
+     *             a CSV file. Without a path the rows are printed.
+     * @throws IOException          if the CSV output could not be written
+     * @throws InterruptedException if the tournament gets interrupted
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int firstSeed = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_FIRST_SEED;
+        int lastSeed = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_LAST_SEED;
+
+        Map<String, IntFunction<PlayerController>> bots = new LinkedHashMap<>();
+        for (int iterations : DEFAULT_ITERATIONS_PER_MOVE) {
+            bots.put(BOT_NAME.formatted(iterations),
+                    seed -> MctsController.withIterations(iterations, DEFAULT_HORIZON, seed));
+        }
+        Tournament tournament = new Tournament(bots, firstSeed, lastSeed, DEFAULT_GOLD_TO_WIN,
+                DEFAULT_INITIAL_GOLD, DEFAULT_MAX_ROUNDS);
+
+        EloRatings ratings;
+        if (args.length > 3) {
+            try (Writer writer = Files.newBufferedWriter(Path.of(args[3]), StandardCharsets.UTF_8)) {
+                ratings = tournament.run(threads, writer);
+            }
+        } else {
+            Writer writer = new OutputStreamWriter(System.out, StandardCharsets.UTF_8);
+            ratings = tournament.run(threads, writer);
+            writer.flush();
+        }
+        System.out.println(ratings);
+    }
+
+    /**
+     * This method plays all games of this tournament. Every finished game gets
+     * appended to the output as a CSV row as soon as all games scheduled before
+     * it are finished, too.
+     * 
+     * @param numberOfThreads Number of games that are played in parallel
+     * @param csv             Output the header and the CSV rows get appended to
+     * @return The ratings of the bots after all games
+     * @throws IOException          if the output could not be written
+     * @throws InterruptedException if the calling thread gets interrupted while
+     *                              waiting for a game. The games that are still
+     *                              running get stopped.
+     */
+    public EloRatings run(int numberOfThreads, Appendable csv) throws IOException, InterruptedException {
+        List<Pair<Integer, String[]>> schedule = this.createSchedule();
+        EloRatings ratings = new EloRatings();
+        csv.append(CSV_HEADER).append(System.lineSeparator());
+
+        ExecutorService pool = Executors.newWorkStealingPool(numberOfThreads);
+        try {
+            CompletionService<Outcome> completion = new ExecutorCompletionService<>(pool);
+            for (int i = 0; i < schedule.size(); i++) {
+                int game = i;
+                completion.submit(() -> this.play(game, schedule.get(game)));
+            }
+
+            Outcome[] outcomes = new Outcome[schedule.size()];
+            int next = 0;
+            for (int i = 0; i < schedule.size(); i++) {
+                Outcome outcome = completion.take().get();
+                outcomes[outcome.game] = outcome;
+                // Report in schedule order so the ratings do not depend on timing.
+                while (next < outcomes.length && outcomes[next] != null) {
+                    this.report(outcomes[next], ratings, csv);
+                    outcomes[next++] = null;
+                }
+            }
+        } catch (ExecutionException executionException) {
+            throw new IllegalStateException(executionException.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return ratings;
+    }
+
+    private List<Pair<Integer, String[]>> createSchedule() {
+        List<String> names = new ArrayList<>(this.bots.keySet());
+        List<Pair<Integer, String[]>> schedule = new ArrayList<>();
+        for (int seed = this.firstSeed; seed <= this.lastSeed; seed++) {
+            for (int i = 0; i < names.size(); i++) {
+                for (int j = i + 1; j < names.size(); j++) {
+                    schedule.add(new Pair<>(seed, new String[] {names.get(i), names.get(j)}));
+                    schedule.add(new Pair<>(seed, new String[] {names.get(j), names.get(i)}));
+                }
+            }
+        }
+        return schedule;
+    }
+
+    private Outcome play(int game, Pair<Integer, String[]> pairing) throws Exception {
+        int seed = pairing.getKey();
+        String[] names = pairing.getValue();
+
+        Map<String, PlayerController> controllers = new HashMap<>();
+        for (String name : names) {
+            controllers.put(name, this.bots.get(name).apply(seed));
+        }
+        PlayerController seating = player -> controllers.get(player.getName()).doTurn(player);
+        GameMaster gameMaster = new GameMaster(seed, this.goldToWin, this.initialGold, names);
+        gameMaster.setMaxRounds(this.maxRounds);
+
+        GameResult result;
+        try {
+            result = gameMaster.play(seating);
+        } finally {
+            for (PlayerController controller : controllers.values()) {
+                if (controller instanceof AutoCloseable closeable) {
+                    closeable.close();
+                }
+            }
+        }
+        return new Outcome(game, seed, names, result, result.getNumberOfRounds());
+    }
+
+    private void report(Outcome outcome, EloRatings ratings, Appendable csv) throws IOException {
+        Player[] players = outcome.result.getPlayers();
+        // Aborted games are decided by gold.
+        Player[] winners = outcome.result.getRichestPlayers();
+        double score = 0.5;
+        if (winners.length == 1) {
+            score = winners[0] == players[0] ? 1 : 0;
+        }
+        ratings.addResult(outcome.names[0], outcome.names[1], score);
+        csv.append(CSV_ROW.formatted(outcome.game, outcome.seed, outcome.names[0], outcome.names[1],
+                players[0].getAmountOfGold(), players[1].getAmountOfGold(), score, outcome.rounds));
+        csv.append(System.lineSeparator());
+    }
+
+    /**
+     * This class holds the result of a single scheduled game.
+     */
+    private static final class Outcome {
+
+        private final int game;
+        private final int seed;
+        private final String[] names;
+        private final GameResult result;
+        private final int rounds;
+
+        private Outcome(int game, int seed, String[] names, GameResult result, int rounds) {
+            this.game = game;
+            this.seed = seed;
+            this.names = names;
+            this.result = result;
+            this.rounds = rounds;
+        }
+
+    }
+
+}
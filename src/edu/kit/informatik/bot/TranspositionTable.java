@@ -0,0 +1,131 @@
+package edu.kit.informatik.bot;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * This class represents a bounded transposition table that maps state
+ * hashes (see {@link edu.kit.informatik.game.Player#getStateHash()}) to
+ * search results. It can be used by several threads at once without
+ * locking: every slot holds an immutable entry that is replaced
+ * atomically, and a newer entry always replaces an older one in the
+ * same slot.
+ * 
+ * @author ulqch
+ * @version 1.0
+ * @param <V> Type of the stored search results
+ */
+public class TranspositionTable<V> {
+
+    private static final String ERROR_CAPACITY = "The capacity must be positive";
+
+    private final AtomicReferenceArray<Entry<V>> entries;
+    private final int mask;
+
+    /**
+     * This constructor creates a new transposition table. Its capacity is the
+     * smallest power of two that is at least the requested capacity.
+     * 
+     * @param capacity The minimum number of entries the table can hold
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public TranspositionTable(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException(ERROR_CAPACITY);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.entries = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * This method returns the search result stored for a state hash or null if
+     * there is none.
+     * 
+     * @param hash Hash of a state
+     * @return The stored search result or null
+     */
+    public V get(long hash) {
+        Entry<V> entry = this.entries.get(this.getIndex(hash));
+        if (entry == null || entry.hash != hash) {
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * This method stores a search result for a state hash. An entry of another
+     * state that uses the same slot gets replaced.
+     * 
+     * @param hash  Hash of a state
+     * @param value The search result
+     */
+    public void put(long hash, V value) {
+        this.entries.set(this.getIndex(hash), new Entry<>(hash, value));
+    }
+
+    /**
+     * This method stores a search result for a state hash unless there already is
+     * one for the same state. In both cases the result that is stored afterwards
+     * gets returned.
+     * 
+     * @param hash  Hash of a state
+     * @param value The search result
+     * @return The search result that is stored for the state hash
+     */
+    public V putIfAbsent(long hash, V value) {
+        int index = this.getIndex(hash);
+        Entry<V> newEntry = new Entry<>(hash, value);
+        while (true) {
+            Entry<V> entry = this.entries.get(index);
+            if (entry != null && entry.hash == hash) {
+                return entry.value;
+            }
+            if (this.entries.compareAndSet(index, entry, newEntry)) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * This method removes all entries from this table.
+     */
+    public void clear() {
+        for (int i = 0; i < this.entries.length(); i++) {
+            this.entries.set(i, null);
+        }
+    }
+
+    /**
+     * This method returns the number of entries this table can hold.
+     * 
+     * @return The capacity of this table
+     */
+    public int getCapacity() {
+        return this.entries.length();
+    }
+
+    private int getIndex(long hash) {
+        return (int) (hash ^ (hash >>> Integer.SIZE)) & this.mask;
+    }
+
+    /**
+     * This class represents an immutable entry of the table.
+     * 
+     * @param <V> Type of the stored search result
+     */
+    private static final class Entry<V> {
+
+        private final long hash;
+        private final V value;
+
+        private Entry(long hash, V value) {
+            this.hash = hash;
+            this.value = value;
+        }
+
+    }
+
+}
@@ -0,0 +1,40 @@
+package edu.kit.informatik.exceptions;
+
+/**
+ * This class represents an exception that gets thrown if a turn that
+ * was submitted at once got rejected, because one of its moves broke a
+ * game rule. If the turn was submitted by
+ * {@link edu.kit.informatik.game.Player#submitTurn(java.util.List)}, none
+ * of its moves have been made then.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public class RejectedTurnException extends IllegalMoveException {
+
+    private static final String MESSAGE = "Move %d of the turn was rejected";
+
+    private final int index;
+
+    /**
+     * This constructor creates a new RejectedTurnException. It takes the index of
+     * the rejected move in the turn and the exception the move caused.
+     * 
+     * @param index Index of the rejected move (starting at 0)
+     * @param cause The exception that explains why the move was rejected
+     */
+    public RejectedTurnException(int index, Exception cause) {
+        super(MESSAGE.formatted(index + 1));
+        this.index = index;
+        this.initCause(cause);
+    }
+
+    /**
+     * This method returns the index of the rejected move in the turn.
+     * 
+     * @return The index of the rejected move (starting at 0)
+     */
+    public int getIndex() {
+        return this.index;
+    }
+}
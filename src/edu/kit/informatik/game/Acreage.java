@@ -8,15 +8,18 @@ import edu.kit.informatik.exceptions.IllegalMoveException;
  * @author ulqch
  * @version 1.0
  */
-public class Acreage extends Tile {
+public class Acreage extends Tile implements AcreageView {
 
     private static final String ERROR_VEGETABLE_NOT_SUITABLE = "You cannot grow this vegetable on this acreage";
     private static final String ERROR_ACREAGE_OCCUPIED = "Something is already being grown on this field";
     private static final String ERROR_NOT_ENOUGH_VEGETABLES = "There are not enough vegetables on this acreage";
     private static final String ERROR_ILLEGAL_HARVEST_AMOUNT = "Cannot harvest an amount smaller or equal to zero";
+    private static final VegetableType[] VEGETABLES = VegetableType.values();
+    // Undo operation code, smaller codes belong to the tile.
+    private static final int CONTENTS = 1;
+    private static final int NO_VEGETABLE = -1;
 
-    private static final int GROW_FACTOR = 2;
-
+    private final RuleSet rules;
     private final AcreageType type;
     private VegetableType vegetableType;
     private int amountOfVegetables;
@@ -24,9 +27,11 @@ public class Acreage extends Tile {
     /**
      * This constructor creates a new acreage of a specified acreage type.
      * 
-     * @param type The type of the acreage
+     * @param type  The type of the acreage
+     * @param rules The rules of the game
      */
-    public Acreage(AcreageType type) {
+    public Acreage(AcreageType type, RuleSet rules) {
+        this.rules = rules;
         this.type = type;
         this.vegetableType = null;
         this.amountOfVegetables = 0;
@@ -39,6 +44,7 @@ public class Acreage extends Tile {
      */
     public Acreage(Acreage acreageToCopy) {
         super(acreageToCopy);
+        this.rules = acreageToCopy.rules;
         this.type = acreageToCopy.getType();
         this.vegetableType = acreageToCopy.getVegetableType();
         this.amountOfVegetables = acreageToCopy.getAmountOfVegetables();
@@ -58,6 +64,7 @@ public class Acreage extends Tile {
      * 
      * @return The type of this acreage
      */
+    @Override
     public AcreageType getType() {
         return this.type;
     }
@@ -69,6 +76,7 @@ public class Acreage extends Tile {
      * @return The type of vegetable that grows on this acreage. If it's empty null
      *         gets returned.
      */
+    @Override
     public VegetableType getVegetableType() {
         return this.vegetableType;
     }
@@ -96,9 +104,26 @@ public class Acreage extends Tile {
         if (!this.isSuitableFor(vegetable)) {
             throw new IllegalMoveException(ERROR_VEGETABLE_NOT_SUITABLE);
         }
+        this.setContents(vegetable, 1);
+        this.setCountdown(this.rules.getTimeToGrow(vegetable));
+    }
+
+    private void setContents(VegetableType vegetable, int amount) {
+        int oldVegetable = this.vegetableType == null ? NO_VEGETABLE : this.vegetableType.ordinal();
+        this.record(CONTENTS, UndoLog.pack(oldVegetable, this.amountOfVegetables));
+        this.markModified();
         this.vegetableType = vegetable;
-        this.amountOfVegetables = 1;
-        this.setCountdown(vegetable.getTimeToGrow());
+        this.amountOfVegetables = amount;
+    }
+
+    @Override
+    void revert(int operation, long value) {
+        if (operation != CONTENTS) {
+            super.revert(operation, value);
+            return;
+        }
+        int vegetable = UndoLog.high(value);
+        this.setContents(vegetable == NO_VEGETABLE ? null : VEGETABLES[vegetable], UndoLog.low(value));
     }
 
     /**
@@ -119,13 +144,16 @@ public class Acreage extends Tile {
             throw new IllegalMoveException(ERROR_NOT_ENOUGH_VEGETABLES);
         }
         Pair<VegetableType, Integer> container = new Pair<>(this.vegetableType, amountToHarvest);
-        this.amountOfVegetables -= amountToHarvest;
+        int amountLeft = this.amountOfVegetables - amountToHarvest;
 
-        if (this.amountOfVegetables == 0) {
-            this.vegetableType = null;
+        if (amountLeft == 0) {
+            this.setContents(null, 0);
             this.removeCountdown();
-        } else if (!this.hasCountdown()) {
-            this.setCountdown(this.vegetableType.getTimeToGrow());
+        } else {
+            this.setContents(this.vegetableType, amountLeft);
+            if (!this.hasCountdown()) {
+                this.setCountdown(this.rules.getTimeToGrow(this.vegetableType));
+            }
         }
         return container;
     }
@@ -135,6 +163,7 @@ public class Acreage extends Tile {
      * 
      * @return The amount of vegetables on this acreage
      */
+    @Override
     public int getAmountOfVegetables() {
         return this.amountOfVegetables;
     }
@@ -144,8 +173,19 @@ public class Acreage extends Tile {
      * 
      * @return The capacity of this acreage
      */
+    @Override
     public int getCapacity() {
-        return this.type.getCapacity();
+        return this.rules.getCapacity(this.type);
+    }
+
+    /**
+     * This method returns the rules this acreage follows.
+     * 
+     * @return The rules this acreage follows
+     */
+    @Override
+    public RuleSet getRules() {
+        return this.rules;
     }
 
     /**
@@ -156,11 +196,12 @@ public class Acreage extends Tile {
      */
     @Override
     public void onCountdown() {
-        this.amountOfVegetables *= GROW_FACTOR;
-        if (this.amountOfVegetables >= this.type.getCapacity()) {
-            this.amountOfVegetables = this.type.getCapacity();
+        int grownAmount = this.amountOfVegetables * this.rules.getGrowFactor();
+        if (grownAmount >= this.getCapacity()) {
+            this.setContents(this.vegetableType, this.getCapacity());
         } else {
-            this.setCountdown(this.vegetableType.getTimeToGrow());
+            this.setContents(this.vegetableType, grownAmount);
+            this.setCountdown(this.rules.getTimeToGrow(this.vegetableType));
         }
     }
 
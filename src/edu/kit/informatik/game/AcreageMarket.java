@@ -1,8 +1,6 @@
 package edu.kit.informatik.game;
 
-import java.util.ArrayList;
 import java.util.Collections;
-import java.util.List;
 import java.util.Random;
 
 /**
@@ -18,9 +16,14 @@ import java.util.Random;
 public class AcreageMarket {
 
     private static final int PRICE_CALCULATION_FACTOR = 10;
+    // Undo operation code
+    private static final int INDEX = 0;
 
-    private final List<Acreage> acreages;
+    private final UndoLog.Target inverse = (operation, value, payload) -> this.index = (int) value;
+    private final RuleSet rules;
+    private final AcreageType[] deck;
     private int index;
+    private UndoLog undoLog;
 
     /**
      * This constructor creates a new acreage market. The number of players is used
@@ -29,18 +32,73 @@ public class AcreageMarket {
      * 
      * @param seed The seed to be used to randomize the acreages
      * @param numberOfPlayers The number of players
+     * @param rules The rules of the game
      */
-    public AcreageMarket(int seed, int numberOfPlayers) {
+    public AcreageMarket(int seed, int numberOfPlayers, RuleSet rules) {
+        this.rules = rules;
         this.index = 0;
-        Random random = new Random(seed);
-        this.acreages = new ArrayList<>();
+        this.deck = createDeck(numberOfPlayers, rules);
+        shuffleDeck(this.deck, seed);
+    }
+
+    /**
+     * This constructor creates a new acreage market by copying an existing one.
+     * The shuffled list of acreages never changes, so both markets share it.
+     * 
+     * @param marketToCopy acreage market to copy
+     */
+    public AcreageMarket(AcreageMarket marketToCopy) {
+        this.rules = marketToCopy.rules;
+        this.deck = marketToCopy.deck;
+        this.index = marketToCopy.index;
+    }
+
+    /**
+     * This method creates the unshuffled deck of all acreages that can be bought
+     * in a game with the given number of players. The acreage types appear in the
+     * order of their declaration.
+     * 
+     * @param numberOfPlayers The number of players
+     * @param rules           The rules of the game
+     * @return The unshuffled deck of acreage types
+     */
+    public static AcreageType[] createDeck(int numberOfPlayers, RuleSet rules) {
+        int size = 0;
         for (AcreageType acreageType : AcreageType.values()) {
-            int initiallyUsedByPlayer = Collections.frequency(Player.INITIAL_ACREAGE_TYPES.values(), acreageType);
-            for (int i = 0; i < (acreageType.getNumberPerPlayer() - initiallyUsedByPlayer) * numberOfPlayers; i++) {
-                this.acreages.add(new Acreage(acreageType));
+            size += getNumberForSale(acreageType, numberOfPlayers, rules);
+        }
+        AcreageType[] deck = new AcreageType[size];
+        int next = 0;
+        for (AcreageType acreageType : AcreageType.values()) {
+            for (int i = 0; i < getNumberForSale(acreageType, numberOfPlayers, rules); i++) {
+                deck[next++] = acreageType;
             }
         }
-        Collections.shuffle(acreages, random);
+        return deck;
+    }
+
+    /**
+     * This method shuffles a deck in place in the same way
+     * {@link Collections#shuffle(java.util.List, Random)} shuffles a list with a
+     * random number generator created from the seed. This allows to compute the
+     * order of the acreages of a game without creating the acreages.
+     * 
+     * @param deck The deck to shuffle
+     * @param seed The seed of the game
+     */
+    public static void shuffleDeck(AcreageType[] deck, int seed) {
+        Random random = new Random(seed);
+        for (int i = deck.length; i > 1; i--) {
+            int other = random.nextInt(i);
+            AcreageType swapped = deck[i - 1];
+            deck[i - 1] = deck[other];
+            deck[other] = swapped;
+        }
+    }
+
+    private static int getNumberForSale(AcreageType acreageType, int numberOfPlayers, RuleSet rules) {
+        int initiallyUsedByPlayer = rules.getInitialNumberOf(acreageType);
+        return (rules.getNumberPerPlayer(acreageType) - initiallyUsedByPlayer) * numberOfPlayers;
     }
 
     /**
@@ -61,7 +119,26 @@ public class AcreageMarket {
      * @return true if there are acreages for sale
      */
     public boolean hasAcreagesLeft() {
-        return index < acreages.size();
+        return this.index < this.deck.length;
+    }
+
+    /**
+     * This method returns the number of acreages that are still for sale.
+     * 
+     * @return The number of acreages that are still for sale
+     */
+    public int getNumberOfAcreagesLeft() {
+        return this.deck.length - this.index;
+    }
+
+    /**
+     * This method returns the hash of this market. Since the order of the acreages
+     * is fixed, it only depends on how many acreages have been sold.
+     * 
+     * @return The hash of this market
+     */
+    public long getHash() {
+        return Zobrist.deckIndex(this.index);
     }
 
     /**
@@ -70,7 +147,22 @@ public class AcreageMarket {
      * @return A new acreage
      */
     public Acreage getNewAcreage() {
-        return this.acreages.get(index++);
+        if (this.undoLog != null) {
+            this.undoLog.record(this.inverse, INDEX, this.index);
+            // The player has seen the drawn acreage, so it must not be drawn again.
+            this.undoLog.seal();
+        }
+        return new Acreage(this.deck[this.index++], this.rules);
+    }
+
+    /**
+     * This method attaches an undo log to this market. All following sales get
+     * recorded in it.
+     * 
+     * @param undoLog The undo log or null to stop recording
+     */
+    void setUndoLog(UndoLog undoLog) {
+        this.undoLog = undoLog;
     }
 
 }
@@ -60,7 +60,8 @@ public enum AcreageType {
     }
 
     /**
-     * This method returns the capacity of this type of acreage.
+     * This method returns the capacity of this type of acreage in the standard
+     * rules. Games read it from their rules (see {@link RuleSet#getCapacity}).
      * 
      * @return Capacity of this type of acreage
      */
@@ -69,7 +70,9 @@ public enum AcreageType {
     }
 
     /**
-     * This method returns the number of acreages that exist is the game per player.
+     * This method returns the number of acreages that exist is the game per player
+     * in the standard rules. Games read it from their rules (see
+     * {@link RuleSet#getNumberPerPlayer}).
      * 
      * @return Number of acreages of this type that exist is the game per player
      */
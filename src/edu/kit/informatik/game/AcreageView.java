@@ -0,0 +1,64 @@
+package edu.kit.informatik.game;
+
+/**
+ * This interface models a read-only view of an acreage. It allows to
+ * inspect an acreage without copying it and without being able to
+ * change it.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public interface AcreageView {
+
+    /**
+     * This method returns the type of this acreage.
+     * 
+     * @return The type of this acreage
+     */
+    AcreageType getType();
+
+    /**
+     * This method returns the type of vegetable that grows on this acreage. If this
+     * acreage is empty null gets returned.
+     * 
+     * @return The type of vegetable that grows on this acreage. If it's empty null
+     *         gets returned.
+     */
+    VegetableType getVegetableType();
+
+    /**
+     * This method returns the amount of vegetables on this acreage.
+     * 
+     * @return The amount of vegetables on this acreage
+     */
+    int getAmountOfVegetables();
+
+    /**
+     * This method returns the capacity of this acreage.
+     * 
+     * @return The capacity of this acreage
+     */
+    int getCapacity();
+
+    /**
+     * This method returns whether this acreage has a countdown.
+     * 
+     * @return True if this acreage has a countdown
+     */
+    boolean hasCountdown();
+
+    /**
+     * This method returns the current value of the countdown.
+     * 
+     * @return The current value of the countdown
+     */
+    int getCountdown();
+
+    /**
+     * This method returns the rules this acreage follows.
+     * 
+     * @return The rules this acreage follows
+     */
+    RuleSet getRules();
+
+}
@@ -2,8 +2,8 @@ package edu.kit.informatik.game;
 
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 
@@ -28,24 +28,33 @@ public class Barn extends Tile {
     private static final String ERROR_GOLD_NEGATIVE = "Cannot set the gold value to a negative value";
     private static final String ERROR_NOT_ENOUGH_GOLD = "You do not have enough gold in your barn";
     private static final String ERROR_NOT_ENOUGH_VEGETABLES = "You do not have enough vegetables in your barn";
+    private static final VegetableType[] VEGETABLES = VegetableType.values();
+    // Undo operation codes, smaller codes belong to the tile.
+    private static final int STOCK = 1;
+    private static final int GOLD = 2;
 
-    private static final int ROUNDS_UNTIL_SPOIL = 6;
-
+    private final int roundsUntilSpoil;
     private int gold;
     private final Map<VegetableType, Integer> vegetableStock;
+    private long stockHash;
 
     /**
      * This constructor creates a new Barn with an initial gold amount.
      * 
-     * @param gold Gold amount that is initially in the barn
+     * @param gold  Gold amount that is initially in the barn
+     * @param rules The rules of the game
      */
-    public Barn(int gold) {
+    public Barn(int gold, RuleSet rules) {
         if (gold < 0) {
             throw new IllegalArgumentException(ERROR_GOLD_NEGATIVE);
         }
+        this.roundsUntilSpoil = rules.getRoundsUntilSpoil();
         this.gold = gold;
-        this.vegetableStock = new HashMap<>();
-        this.clearVegetables();
+        this.vegetableStock = new EnumMap<>(VegetableType.class);
+        for (VegetableType vegetable : VegetableType.values()) {
+            this.vegetableStock.put(vegetable, 0);
+            this.stockHash ^= Zobrist.stock(vegetable, 0);
+        }
     }
 
     /**
@@ -55,16 +64,29 @@ public class Barn extends Tile {
      */
     public Barn(Barn barnToCopy) {
         super(barnToCopy);
+        this.roundsUntilSpoil = barnToCopy.roundsUntilSpoil;
         this.gold = barnToCopy.getAmountOfGold();
-        this.vegetableStock = barnToCopy.getStock();
+        this.vegetableStock = new EnumMap<>(barnToCopy.vegetableStock);
+        this.stockHash = barnToCopy.stockHash;
     }
 
     private void clearVegetables() {
+        this.markModified();
         for (VegetableType vegetable : VegetableType.values()) {
-            this.vegetableStock.put(vegetable, 0);
+            this.setAmountOf(vegetable, 0);
         }
     }
 
+    private void setAmountOf(VegetableType vegetable, int amount) {
+        int currentAmount = this.vegetableStock.get(vegetable);
+        if (currentAmount == amount) {
+            return;
+        }
+        this.record(STOCK, UndoLog.pack(vegetable.ordinal(), currentAmount));
+        this.stockHash ^= Zobrist.stock(vegetable, currentAmount) ^ Zobrist.stock(vegetable, amount);
+        this.vegetableStock.put(vegetable, amount);
+    }
+
     /**
      * This method returns the vegetable stock. It's a map with the vegetable types
      * as keys and the number of vegetables as values.
@@ -72,7 +94,7 @@ public class Barn extends Tile {
      * @return The vegetable stock stored in this barn
      */
     public Map<VegetableType, Integer> getStock() {
-        HashMap<VegetableType, Integer> result = new HashMap<>();
+        Map<VegetableType, Integer> result = new EnumMap<>(VegetableType.class);
         for (VegetableType vegetable : this.vegetableStock.keySet()) {
             if (this.vegetableStock.get(vegetable) > 0) {
                 result.put(vegetable, this.vegetableStock.get(vegetable));
@@ -87,7 +109,7 @@ public class Barn extends Tile {
      * @return A set of the vegetable types stored in this barn.
      */
     public Set<VegetableType> getVegetableTypes() {
-        Set<VegetableType> storedVegetables = new HashSet<>();
+        Set<VegetableType> storedVegetables = EnumSet.noneOf(VegetableType.class);
         for (VegetableType vegetable : this.vegetableStock.keySet()) {
             if (this.vegetableStock.get(vegetable) > 0) {
                 storedVegetables.add(vegetable);
@@ -103,10 +125,11 @@ public class Barn extends Tile {
      * @param amount        The amount of vegetables to be stored in this barn
      */
     public void store(VegetableType vegetableType, int amount) {
-        vegetableStock.put(vegetableType, vegetableStock.get(vegetableType) + amount);
+        this.markModified();
+        this.setAmountOf(vegetableType, vegetableStock.get(vegetableType) + amount);
 
         if (!this.hasCountdown()) {
-            this.setCountdown(ROUNDS_UNTIL_SPOIL);
+            this.setCountdown(this.roundsUntilSpoil);
         }
     }
 
@@ -199,11 +222,12 @@ public class Barn extends Tile {
             throw new IllegalArgumentException(ERROR_REMOVE_NEGATIVE_AMOUNT);
         }
 
+        this.markModified();
         int currentAmount = this.vegetableStock.get(vegetable);
         if (amount > currentAmount) {
-            this.vegetableStock.put(vegetable, 0);
+            this.setAmountOf(vegetable, 0);
         } else {
-            this.vegetableStock.put(vegetable, currentAmount - amount);
+            this.setAmountOf(vegetable, currentAmount - amount);
         }
 
         if (!this.hasVegetablesStored()) {
@@ -229,9 +253,23 @@ public class Barn extends Tile {
         if (gold < 0) {
             throw new IllegalArgumentException(ERROR_GOLD_NEGATIVE);
         }
+        this.record(GOLD, this.gold);
+        this.markModified();
         this.gold = gold;
     }
 
+    @Override
+    void revert(int operation, long value) {
+        if (operation == STOCK) {
+            this.markModified();
+            this.setAmountOf(VEGETABLES[UndoLog.high(value)], UndoLog.low(value));
+        } else if (operation == GOLD) {
+            this.setAmountOfGold((int) value);
+        } else {
+            super.revert(operation, value);
+        }
+    }
+
     /**
      * This method returns the amount of gold that is stored in this barn.
      * 
@@ -246,6 +284,18 @@ public class Barn extends Tile {
         this.clearVegetables();
     }
 
+    /**
+     * This method returns the hash of this barn. It covers the stored vegetables,
+     * the gold and the countdown until the vegetables spoil. The part for the
+     * stored vegetables is updated with every change, so this method takes
+     * constant time.
+     * 
+     * @return The hash of this barn
+     */
+    public long getHash() {
+        return this.stockHash ^ Zobrist.gold(this.gold) ^ Zobrist.barnCountdown(this.getCountdown());
+    }
+
     /**
      * This method returns the total sum of vegetables that are stored in this barn.
      * 
@@ -0,0 +1,181 @@
+package edu.kit.informatik.game;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class represents a vegetable market that can be used by several
+ * threads at the same time.
+ * 
+ * The prices are read from an immutable snapshot of the market that only
+ * {@link #adapt()} replaces, so getting a price is a single volatile read
+ * followed by array reads and never waits for other threads. Sales are
+ * added to atomic counters, one per vegetable type, which lie on
+ * different cache lines so that sales of different vegetables do not
+ * contend. Adapting the prices takes the counters and resets them in one
+ * atomic step per vegetable type, so no sale gets lost. Sales that happen
+ * while the prices are adapted count for the next round.
+ * 
+ * Copies of this market (see {@link VegetableMarket#VegetableMarket(VegetableMarket)})
+ * are ordinary markets with the current state. Recording changes in an
+ * undo log is supported as long as the undo log is used by one thread.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public class ConcurrentVegetableMarket extends VegetableMarket {
+
+    private static final VegetableType[] VEGETABLES = VegetableType.values();
+    // Number of counters per cache line (64 bytes)
+    private static final int STRIDE = 16;
+    // Undo operation codes
+    private static final int SALE = 0;
+    private static final int ADAPTION = 1;
+
+    private final UndoLog.Target inverse = this::revert;
+    private final AtomicIntegerArray soldVegetables = new AtomicIntegerArray(VEGETABLES.length * STRIDE);
+    private final AtomicLong modificationCount = new AtomicLong();
+    private final Object adaptLock = new Object();
+    private volatile VegetableMarket snapshot;
+    private volatile UndoLog undoLog;
+
+    /**
+     * This constructor creates a new thread-safe vegetable market. It takes a
+     * price table which contains all possible prices each vegetable can have and
+     * it takes a set of vegetable pairs that determines which prices are linked.
+     * 
+     * @param prices A price table which contains all possible prices each vegetable can have
+     * @param pairs  A set of vegetable pairs that determines which prices are linked
+     */
+    public ConcurrentVegetableMarket(Map<VegetableType, int[]> prices,
+            Set<Pair<VegetableType, VegetableType>> pairs) {
+        super(prices, pairs);
+        this.snapshot = new VegetableMarket(prices, pairs);
+    }
+
+    @Override
+    public int getPrice(VegetableType vegetable) {
+        return this.snapshot.getPrice(vegetable);
+    }
+
+    @Override
+    public int getIndicator(VegetableType vegetable) {
+        return this.snapshot.getIndicator(vegetable);
+    }
+
+    @Override
+    public void sell(VegetableType vegetable, int amount) {
+        this.modificationCount.incrementAndGet();
+        this.soldVegetables.addAndGet(vegetable.ordinal() * STRIDE, amount);
+        UndoLog log = this.undoLog;
+        if (log != null) {
+            log.record(this.inverse, SALE, UndoLog.pack(vegetable.ordinal(), amount));
+        }
+    }
+
+    /**
+     * This method recalculates the prices for each vegetable based on the
+     * vegetables sold since the last call and publishes them at once. Only one
+     * thread adapts the prices at a time.
+     */
+    @Override
+    public void adapt() {
+        synchronized (this.adaptLock) {
+            VegetableMarket previous = this.snapshot;
+            VegetableMarket next = new VegetableMarket(previous);
+            int[] sold = new int[VEGETABLES.length];
+            for (VegetableType vegetable : VEGETABLES) {
+                sold[vegetable.ordinal()] = this.soldVegetables.getAndSet(vegetable.ordinal() * STRIDE, 0);
+                next.sell(vegetable, sold[vegetable.ordinal()]);
+                this.recordSales(vegetable, sold[vegetable.ordinal()]);
+            }
+            next.adapt();
+            this.snapshot = next;
+            this.modificationCount.incrementAndGet();
+
+            UndoLog log = this.undoLog;
+            if (log != null) {
+                log.record(this.inverse, ADAPTION, 0, new Pair<>(previous, sold));
+            }
+        }
+    }
+
+    private void revert(int operation, long value, Object payload) {
+        if (operation == SALE) {
+            this.modificationCount.incrementAndGet();
+            this.soldVegetables.addAndGet(UndoLog.high(value) * STRIDE, -UndoLog.low(value));
+            return;
+        }
+        Pair<?, ?> state = (Pair<?, ?>) payload;
+        int[] sold = (int[]) state.getValue();
+        synchronized (this.adaptLock) {
+            this.snapshot = (VegetableMarket) state.getKey();
+            for (VegetableType vegetable : VEGETABLES) {
+                this.soldVegetables.addAndGet(vegetable.ordinal() * STRIDE, sold[vegetable.ordinal()]);
+                this.recordSales(vegetable, -sold[vegetable.ordinal()]);
+            }
+            this.modificationCount.incrementAndGet();
+        }
+    }
+
+    @Override
+    VegetableMarket getSnapshot() {
+        VegetableMarket copy = new VegetableMarket(this.snapshot);
+        for (VegetableType vegetable : VEGETABLES) {
+            int sold = this.soldVegetables.get(vegetable.ordinal() * STRIDE);
+            if (sold != 0) {
+                copy.sell(vegetable, sold);
+            }
+        }
+        return copy;
+    }
+
+    @Override
+    void setUndoLog(UndoLog undoLog) {
+        this.undoLog = undoLog;
+    }
+
+    @Override
+    Object getPriceLock() {
+        return this.adaptLock;
+    }
+
+    /**
+     * This method records the latest published prices and the vegetables sold
+     * until they were published as a new round in the price history. Sales that
+     * happened since then count for the next round.
+     */
+    @Override
+    public void recordRound() {
+        synchronized (this.adaptLock) {
+            super.recordRound();
+        }
+    }
+
+    /**
+     * This method returns the hash of this market. It covers the latest published
+     * prices and the numbers of vegetables sold since then, which are read one
+     * after another while other threads may sell.
+     * 
+     * @return The hash of this market
+     */
+    @Override
+    public long getHash() {
+        long result = this.snapshot.getHash();
+        for (VegetableType vegetable : VEGETABLES) {
+            int sold = this.soldVegetables.get(vegetable.ordinal() * STRIDE);
+            if (sold != 0) {
+                result ^= Zobrist.sold(vegetable, 0) ^ Zobrist.sold(vegetable, sold);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public long getModificationCount() {
+        return this.modificationCount.get();
+    }
+
+}
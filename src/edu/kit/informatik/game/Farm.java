@@ -1,8 +1,12 @@
 package edu.kit.informatik.game;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+
 import edu.kit.informatik.exceptions.IllegalMoveException;
 
 /**
@@ -12,7 +16,7 @@ import edu.kit.informatik.exceptions.IllegalMoveException;
  * @author ulqch
  * @version 1.0
  */
-public class Farm {
+public class Farm implements FarmView {
 
     /**
      * This is the position of the barn on this farm.
@@ -26,10 +30,31 @@ public class Farm {
     private static final String ERROR_NO_ACREAGES_LEFT = "There are no acreages left in this game";
 
     private static final int AMOUNT_NEEDED_TO_PLANT_VEGETABLE = 1;
+    // Undo operation codes
+    private static final int ACREAGE = 0;
+    private static final int BOUNDS_X = 1;
+    private static final int BOUNDS_Y = 2;
+    private static final int HASH = 3;
 
+    private final UndoLog.Target inverse = this::revert;
     private final Map<Position, Acreage> acreages;
     private final Barn barn;
 
+    private final LandFrontier purchasablePositions;
+
+    // Bounding box of all tiles on this farm (the barn included).
+    private int lowestX;
+    private int heighestX;
+    private int lowestY;
+    private int heighestY;
+
+    private long modificationCount = 0;
+
+    // XOR of the hash keys of all acreages (see Zobrist).
+    private long acreageHash = 0;
+
+    private UndoLog undoLog;
+
     /**
      * This constructor creates a new farm with a given barn and a given set of
      * acreages.
@@ -39,7 +64,11 @@ public class Farm {
      */
     public Farm(Barn barn, Map<Position, Acreage> acreages) {
         this.barn = new Barn(barn);
-        this.acreages = new HashMap<>(acreages);
+        this.acreages = new HashMap<>();
+        this.purchasablePositions = new LandFrontier();
+        for (Map.Entry<Position, Acreage> entry : acreages.entrySet()) {
+            this.putAcreage(entry.getKey(), entry.getValue());
+        }
     }
 
     /**
@@ -50,7 +79,80 @@ public class Farm {
      */
     public Farm(Farm farmToCopy) {
         this.barn = farmToCopy.getBarn();
-        this.acreages = new HashMap<>(farmToCopy.acreages);
+        this.acreages = new HashMap<>();
+        for (Map.Entry<Position, Acreage> entry : farmToCopy.acreages.entrySet()) {
+            this.acreages.put(entry.getKey(), new Acreage(entry.getValue()));
+        }
+        this.purchasablePositions = new LandFrontier(farmToCopy.purchasablePositions);
+        this.lowestX = farmToCopy.lowestX;
+        this.heighestX = farmToCopy.heighestX;
+        this.lowestY = farmToCopy.lowestY;
+        this.heighestY = farmToCopy.heighestY;
+        this.modificationCount = farmToCopy.modificationCount;
+        this.acreageHash = farmToCopy.acreageHash;
+    }
+
+    /**
+     * This method puts an acreage on this farm. It keeps the bounding box of the
+     * farm and the set of purchasable positions up to date.
+     * 
+     * @param position Position of the acreage
+     * @param acreage  The acreage to put on this farm
+     */
+    private void putAcreage(Position position, Acreage acreage) {
+        this.modificationCount++;
+        this.acreages.put(position, acreage);
+        acreage.setUndoLog(this.undoLog);
+        this.setAcreageHash(this.acreageHash ^ Zobrist.acreage(position, acreage));
+        Runnable revertFrontier = this.purchasablePositions.occupy(position, this.acreages.keySet(),
+                this.undoLog != null);
+        if (this.undoLog != null) {
+            this.undoLog.record(this.inverse, BOUNDS_X, UndoLog.pack(this.lowestX, this.heighestX));
+            this.undoLog.record(this.inverse, BOUNDS_Y, UndoLog.pack(this.lowestY, this.heighestY));
+            this.undoLog.record(this.inverse, ACREAGE, 0, new Pair<>(position, revertFrontier));
+        }
+        this.lowestX = Math.min(this.lowestX, position.getX());
+        this.heighestX = Math.max(this.heighestX, position.getX());
+        this.lowestY = Math.min(this.lowestY, position.getY());
+        this.heighestY = Math.max(this.heighestY, position.getY());
+    }
+
+    private void setAcreageHash(long acreageHash) {
+        if (this.undoLog != null) {
+            this.undoLog.record(this.inverse, HASH, this.acreageHash);
+        }
+        this.acreageHash = acreageHash;
+    }
+
+    private void revert(int operation, long value, Object payload) {
+        this.modificationCount++;
+        if (operation == ACREAGE) {
+            Pair<?, ?> acreage = (Pair<?, ?>) payload;
+            this.acreages.remove(acreage.getKey());
+            ((Runnable) acreage.getValue()).run();
+        } else if (operation == BOUNDS_X) {
+            this.lowestX = UndoLog.high(value);
+            this.heighestX = UndoLog.low(value);
+        } else if (operation == BOUNDS_Y) {
+            this.lowestY = UndoLog.high(value);
+            this.heighestY = UndoLog.low(value);
+        } else {
+            this.acreageHash = value;
+        }
+    }
+
+    /**
+     * This method attaches an undo log to this farm, its barn and its acreages.
+     * All following changes get recorded in it.
+     * 
+     * @param undoLog The undo log or null to stop recording
+     */
+    void setUndoLog(UndoLog undoLog) {
+        this.undoLog = undoLog;
+        this.barn.setUndoLog(undoLog);
+        for (Acreage acreage : this.acreages.values()) {
+            acreage.setUndoLog(undoLog);
+        }
     }
 
     /**
@@ -135,7 +237,7 @@ public class Farm {
 
         this.barn.setAmountOfGold(gold - price);
         Acreage acreage = acreageMarket.getNewAcreage();
-        this.acreages.put(position, acreage);
+        this.putAcreage(position, acreage);
         return new Pair<AcreageType, Integer>(acreage.getType(), price);
     }
 
@@ -158,7 +260,10 @@ public class Farm {
             throw new IllegalMoveException(ERROR_NOT_ENOUGH_VEGETABLES_TO_PLANT);
         }
         Acreage acreage = this.acreages.get(position);
+        long oldKey = Zobrist.acreage(position, acreage);
         acreage.plant(vegetable);
+        this.setAcreageHash(this.acreageHash ^ oldKey ^ Zobrist.acreage(position, acreage));
+        this.modificationCount++;
         this.barn.remove(vegetable, AMOUNT_NEEDED_TO_PLANT_VEGETABLE);
     }
 
@@ -180,7 +285,10 @@ public class Farm {
         }
 
         Acreage acreage = this.acreages.get(position);
+        long oldKey = Zobrist.acreage(position, acreage);
         Pair<VegetableType, Integer> container = acreage.harvest(amount);
+        this.setAcreageHash(this.acreageHash ^ oldKey ^ Zobrist.acreage(position, acreage));
+        this.modificationCount++;
         this.barn.store(container.getKey(), container.getValue());
         return container;
     }
@@ -198,9 +306,14 @@ public class Farm {
         boolean barnSpoiled = hadBarnCountdown && !this.barn.hasCountdown();
 
         int totalVegetablesLastTurn = this.getAmountOfVegetables();
-        for (Acreage acreage : this.acreages.values()) {
-            acreage.update();
+        this.modificationCount++;
+        long newHash = this.acreageHash;
+        for (Map.Entry<Position, Acreage> entry : this.acreages.entrySet()) {
+            long oldKey = Zobrist.acreage(entry.getKey(), entry.getValue());
+            entry.getValue().update();
+            newHash ^= oldKey ^ Zobrist.acreage(entry.getKey(), entry.getValue());
         }
+        this.setAcreageHash(newHash);
         int newlyGrownVegetables = this.getAmountOfVegetables() - totalVegetablesLastTurn;
         return new Changes(barnSpoiled, newlyGrownVegetables);
     }
@@ -225,25 +338,21 @@ public class Farm {
      * @return true if an acreage at a specified position is purchasable
      */
     public boolean isPurchasable(Position position) {
-        if (this.acreages.containsKey(position)) {
-            return false;
-        }
-        if (position.getY() < 0 || position.equals(BARN_POSITION)) {
-            return false;
-        }
-
-        Position[] neighborsOfPosition = new Position[] {
-            new Position(position.getX(), position.getY() - 1),
-            new Position(position.getX() - 1, position.getY()),
-            new Position(position.getX() + 1, position.getY())
-        };
+        return this.purchasablePositions.contains(position);
+    }
 
-        for (Position neighbor : neighborsOfPosition) {
-            if (this.acreages.containsKey(neighbor)) {
-                return true;
-            }
-        }
-        return false;
+    /**
+     * This method returns the cheapest positions at which an acreage could be
+     * bought, together with their prices. The list is sorted by ascending price
+     * and empty if there are no acreages left for sale.
+     * 
+     * @param limit         The maximum number of positions to return
+     * @param acreageMarket The common acreage market that determines the prices
+     * @return A list of key-value pairs containing a purchasable position and its
+     *         price, sorted by ascending price
+     */
+    public List<Pair<Position, Integer>> getCheapestPurchasablePositions(int limit, AcreageMarket acreageMarket) {
+        return this.purchasablePositions.getCheapest(limit, acreageMarket);
     }
 
     /**
@@ -252,6 +361,7 @@ public class Farm {
      * @param position Position to be checked
      * @return true if there is a tile at the specified position
      */
+    @Override
     public boolean isThereATile(Position position) {
         return position.equals(BARN_POSITION) || this.acreages.containsKey(position);
     }
@@ -272,11 +382,41 @@ public class Farm {
         return new Acreage(acreage);
     }
 
+    /**
+     * This method returns a read-only view of the acreage at a specified position.
+     * Unlike {@link #getAcreage(Position)} the acreage does not get copied.
+     * 
+     * @param position Position of acreage
+     * @return A read-only view of the acreage at a specified position
+     * @throws IllegalArgumentException if there is no acreage at the specified
+     *                                  position
+     */
+    @Override
+    public AcreageView getAcreageView(Position position) {
+        Acreage acreage = this.acreages.get(position);
+        if (acreage == null) {
+            throw new IllegalArgumentException(ERROR_POSITION_NOT_FOUND);
+        }
+        return acreage;
+    }
+
+    /**
+     * This method returns the positions of all acreages on this farm. The returned
+     * set cannot be modified.
+     * 
+     * @return The positions of all acreages on this farm
+     */
+    @Override
+    public Set<Position> getAcreagePositions() {
+        return Collections.unmodifiableSet(this.acreages.keySet());
+    }
+
     /**
      * This method returns the position of the barn.
      * 
      * @return The position of the barn
      */
+    @Override
     public Position getBarnPosition() {
         return BARN_POSITION;
     }
@@ -287,18 +427,9 @@ public class Farm {
      * 
      * @return The position of the south-west corner of the farm
      */
+    @Override
     public Position getSouthWestCorner() {
-        int heighestX = 0;
-        int lowestY = 0;
-        for (Position position : this.acreages.keySet()) {
-            if (position.getX() > heighestX) {
-                heighestX = position.getX();
-            }
-            if (position.getY() < lowestY) {
-                lowestY = position.getY();
-            }
-        }
-        return new Position(heighestX, lowestY);
+        return new Position(this.heighestX, this.lowestY);
     }
 
     /**
@@ -307,18 +438,52 @@ public class Farm {
      * 
      * @return The position of the north-east corner of the farm
      */
+    @Override
     public Position getNorthEastCorner() {
-        int lowestX = 0;
-        int heighestY = 0;
-        for (Position position : this.acreages.keySet()) {
-            if (position.getX() < lowestX) {
-                lowestX = position.getX();
-            }
-            if (position.getY() > heighestY) {
-                heighestY = position.getY();
-            }
-        }
-        return new Position(lowestX, heighestY);
+        return new Position(this.lowestX, this.heighestY);
+    }
+
+    /**
+     * This method returns the modification count of this farm. It gets increased
+     * every time an acreage or the barn of this farm changes, so two equal counts
+     * mean that the farm has not changed in between.
+     * 
+     * @return The modification count of this farm
+     */
+    @Override
+    public long getModificationCount() {
+        return this.modificationCount + this.barn.getModificationCount();
+    }
+
+    /**
+     * This method returns the hash of this farm. It covers every acreage (type,
+     * vegetable, amount and countdown) and the barn. It is updated with every
+     * change, so this method takes constant time.
+     * 
+     * @return The hash of this farm
+     */
+    public long getHash() {
+        return this.acreageHash ^ this.barn.getHash();
+    }
+
+    /**
+     * This method returns the barn of this farm without copying it. It must only
+     * be read.
+     * 
+     * @return The barn of this farm
+     */
+    Barn getBarnState() {
+        return this.barn;
+    }
+
+    /**
+     * This method returns the acreages of this farm without copying them. They
+     * must only be read.
+     * 
+     * @return The acreages of this farm
+     */
+    Collection<Acreage> getAcreageStates() {
+        return this.acreages.values();
     }
 
     /**
@@ -326,6 +491,7 @@ public class Farm {
      * 
      * @return A copy of the barn
      */
+    @Override
     public Barn getBarn() {
         return new Barn(this.barn);
     }
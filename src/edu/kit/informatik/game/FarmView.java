@@ -0,0 +1,80 @@
+package edu.kit.informatik.game;
+
+import java.util.Set;
+
+/**
+ * This interface models a read-only view of a farm. It allows to look up
+ * single tiles of a farm without copying the whole farm and without
+ * being able to change it.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public interface FarmView {
+
+    /**
+     * This method checks whether there is a tile at a specified position.
+     * 
+     * @param position Position to be checked
+     * @return true if there is a tile at the specified position
+     */
+    boolean isThereATile(Position position);
+
+    /**
+     * This method returns a read-only view of the acreage at a specified position.
+     * 
+     * @param position Position of acreage
+     * @return A read-only view of the acreage at a specified position
+     * @throws IllegalArgumentException if there is no acreage at the specified
+     *                                  position
+     */
+    AcreageView getAcreageView(Position position);
+
+    /**
+     * This method returns the positions of all acreages on this farm. The returned
+     * set cannot be modified.
+     * 
+     * @return The positions of all acreages on this farm
+     */
+    Set<Position> getAcreagePositions();
+
+    /**
+     * This method returns the position of the barn.
+     * 
+     * @return The position of the barn
+     */
+    Position getBarnPosition();
+
+    /**
+     * This method returns the position of the south-west corner of the farm (the
+     * position with the lowest x coordinate and lowest y coordinate).
+     * 
+     * @return The position of the south-west corner of the farm
+     */
+    Position getSouthWestCorner();
+
+    /**
+     * This method returns the position of the north-east corner of the farm (the
+     * position with the highest x coordinate and highest y coordinate).
+     * 
+     * @return The position of the north-east corner of the farm
+     */
+    Position getNorthEastCorner();
+
+    /**
+     * This method returns the modification count of the farm. It gets increased
+     * every time an acreage or the barn of the farm changes, so two equal counts
+     * mean that the farm has not changed in between.
+     * 
+     * @return The modification count of the farm
+     */
+    long getModificationCount();
+
+    /**
+     * This method returns a copy of the barn.
+     * 
+     * @return A copy of the barn
+     */
+    Barn getBarn();
+
+}
@@ -0,0 +1,164 @@
+package edu.kit.informatik.game;
+
+import java.nio.FloatBuffer;
+
+/**
+ * This class writes the observable state of a player into a vector of a
+ * fixed number of floats, for example as the input of a learned policy.
+ * 
+ * The vector starts with the cells of a window of the farm, row by row
+ * from the barn row northwards and from west to east within a row. The
+ * window reaches {@link #GRID_RADIUS} tiles west and east of the barn
+ * and {@link #GRID_HEIGHT} rows north; acreages outside of it are not
+ * covered. Every cell has {@link #CELL_FEATURES} values: whether there is
+ * a tile, whether the position can be bought, the type of the acreage
+ * and the planted vegetable (one-hot, in the order of the enums), the
+ * amount of vegetables, the amount relative to the capacity and the
+ * countdown until the vegetables grow (0 if nothing grows). The barn
+ * cell is a tile without further values. After the cells follow the
+ * gold, the countdown until the barn spoils (0 if nothing is stored),
+ * the stock, the market prices and the price indicators of every
+ * vegetable type, the number of acreages left for sale and the number of
+ * moves left in the turn. All values are raw numbers without scaling.
+ * 
+ * The state is read directly from the player, and extracting into an
+ * array does not allocate any objects.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public class FeatureExtractor {
+
+    /**
+     * This is the number of columns of the window west and east of the barn.
+     */
+    public static final int GRID_RADIUS = 4;
+
+    /**
+     * This is the number of rows of the window, starting with the barn row.
+     */
+    public static final int GRID_HEIGHT = 5;
+
+    /**
+     * This is the number of values of every cell of the window: five values and
+     * the one-hot values of the acreage type and the vegetable type.
+     */
+    public static final int CELL_FEATURES = 5 + AcreageType.values().length + VegetableType.values().length;
+
+    /**
+     * This is the number of values that describe the barn, the markets and the
+     * turn: four values and three values per vegetable type.
+     */
+    public static final int GLOBAL_FEATURES = 4 + 3 * VegetableType.values().length;
+
+    /**
+     * This is the length of the vector a state gets written into.
+     */
+    public static final int NUMBER_OF_FEATURES = (2 * GRID_RADIUS + 1) * GRID_HEIGHT * CELL_FEATURES
+            + GLOBAL_FEATURES;
+
+    private static final AcreageType[] ACREAGE_TYPES = AcreageType.values();
+    private static final VegetableType[] VEGETABLES = VegetableType.values();
+    private static final Position[] GRID = createGrid();
+    private static final String ERROR_LENGTH = "There is no room for %d features at index %d";
+
+    private final float[] features = new float[NUMBER_OF_FEATURES];
+
+    private static Position[] createGrid() {
+        Position[] grid = new Position[(2 * GRID_RADIUS + 1) * GRID_HEIGHT];
+        int index = 0;
+        for (int y = 0; y < GRID_HEIGHT; y++) {
+            for (int x = -GRID_RADIUS; x <= GRID_RADIUS; x++) {
+                grid[index++] = new Position(x, y);
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * This method writes the state of a player into an array.
+     * 
+     * @param player   The player whose state should be written
+     * @param features The array the state gets written into
+     * @param offset   Index of the first value in the array
+     * @throws IndexOutOfBoundsException if the array has no room for
+     *                                   {@link #NUMBER_OF_FEATURES} values at the
+     *                                   offset
+     */
+    public static void extract(Player player, float[] features, int offset) {
+        if (offset < 0 || features.length - offset < NUMBER_OF_FEATURES) {
+            throw new IndexOutOfBoundsException(ERROR_LENGTH.formatted(NUMBER_OF_FEATURES, offset));
+        }
+        Farm farm = player.getFarmState();
+        int index = offset;
+        for (Position position : GRID) {
+            index = extractCell(farm, position, features, index);
+        }
+
+        Barn barn = farm.getBarnState();
+        VegetableMarket market = player.getVegetableMarketState();
+        features[index++] = barn.getAmountOfGold();
+        features[index++] = barn.hasCountdown() ? barn.getCountdown() : 0;
+        for (VegetableType vegetable : VEGETABLES) {
+            features[index++] = barn.getAmountOf(vegetable);
+        }
+        for (VegetableType vegetable : VEGETABLES) {
+            features[index++] = market.getPrice(vegetable);
+        }
+        for (VegetableType vegetable : VEGETABLES) {
+            features[index++] = market.getIndicator(vegetable);
+        }
+        features[index++] = player.getAcreageMarketState().getNumberOfAcreagesLeft();
+        features[index] = player.getNumberOfMovesLeft();
+    }
+
+    private static int extractCell(Farm farm, Position position, float[] features, int offset) {
+        int index = offset;
+        if (!farm.isThereATile(position)) {
+            features[index++] = 0;
+            features[index++] = farm.isPurchasable(position) ? 1 : 0;
+            return fill(features, index, offset + CELL_FEATURES);
+        }
+        features[index++] = 1;
+        features[index++] = 0;
+        if (position.equals(Farm.BARN_POSITION)) {
+            return fill(features, index, offset + CELL_FEATURES);
+        }
+
+        AcreageView acreage = farm.getAcreageView(position);
+        for (AcreageType type : ACREAGE_TYPES) {
+            features[index++] = acreage.getType() == type ? 1 : 0;
+        }
+        for (VegetableType vegetable : VEGETABLES) {
+            features[index++] = acreage.getVegetableType() == vegetable ? 1 : 0;
+        }
+        features[index++] = acreage.getAmountOfVegetables();
+        features[index++] = (float) acreage.getAmountOfVegetables() / acreage.getCapacity();
+        features[index++] = acreage.hasCountdown() ? acreage.getCountdown() : 0;
+        return index;
+    }
+
+    private static int fill(float[] features, int from, int to) {
+        for (int i = from; i < to; i++) {
+            features[i] = 0;
+        }
+        return to;
+    }
+
+    /**
+     * This method writes the state of a player into a buffer at its current
+     * position and advances the position by {@link #NUMBER_OF_FEATURES}. The
+     * values are collected in an array of this extractor first, so an extractor
+     * must only be used by one thread at a time.
+     * 
+     * @param player   The player whose state should be written
+     * @param features The buffer the state gets written into
+     * @throws java.nio.BufferOverflowException if the buffer has not enough
+     *                                          room left
+     */
+    public void extract(Player player, FloatBuffer features) {
+        extract(player, this.features, 0);
+        features.put(this.features);
+    }
+
+}
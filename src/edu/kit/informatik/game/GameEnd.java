@@ -0,0 +1,41 @@
+package edu.kit.informatik.game;
+
+/**
+ * This enum represents the reasons why a game can end.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public enum GameEnd {
+
+    /**
+     * The game ended because a player reached the gold needed to win.
+     */
+    WON,
+
+    /**
+     * The game ended because a player quit.
+     */
+    QUIT,
+
+    /**
+     * The game was aborted because it reached the maximum number of rounds.
+     */
+    ROUND_LIMIT,
+
+    /**
+     * The game was aborted because it could not progress anymore.
+     */
+    STALEMATE;
+
+    /**
+     * This method checks whether a game that ended this way was aborted before a
+     * player won or quit. Such a game counts as a draw.
+     * 
+     * @return true if the game was aborted
+     */
+    public boolean isAborted() {
+        return this == ROUND_LIMIT || this == STALEMATE;
+    }
+
+}
@@ -1,12 +1,12 @@
 package edu.kit.informatik.game;
 
-import java.util.Map;
-import java.util.Set;
-
-import static java.util.Map.entry;
-
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * This class models a game master that knows about the participating
@@ -17,26 +17,32 @@ import java.util.HashSet;
  * @version 1.0
  */
 public class GameMaster {
-    
-    private static final Map<VegetableType, int[]> MARKET_PRICES = Map.ofEntries(
-        entry(VegetableType.MUSHROOM, new int[] {12, 15, 16, 17, 20}),
-        entry(VegetableType.CARROT, new int[] {3, 2, 2, 2, 1}),
-        entry(VegetableType.TOMATO, new int[] {3, 5, 6, 7, 9}),
-        entry(VegetableType.SALAD, new int[] {6, 5, 4, 3, 2}));
-
-    private static final Set<Pair<VegetableType, VegetableType>> MARKET_PAIRS 
-        = new HashSet<Pair<VegetableType, VegetableType>>(Arrays.asList(
-                new Pair<VegetableType, VegetableType>(VegetableType.CARROT, VegetableType.MUSHROOM),
-                new Pair<VegetableType, VegetableType>(VegetableType.SALAD, VegetableType.TOMATO)));
 
-    private static final int MOVES_PER_PLAYER = 2;
+    private static final String ERROR_MAX_ROUNDS = "The maximum number of rounds must be positive";
+    // Odd, so no state of a player gets lost when combining the states of all players
+    private static final long STATE_HASH_MULTIPLIER = 31;
+    private static final String ERROR_STALEMATE_LIMIT = "The number of rounds without progress must not be negative";
 
     private final int goldToWin;
+    private final RuleSet rules;
     private final Player[] players;
+    private final UndoLog undoLog = new UndoLog();
+
+    private int maxRounds = Integer.MAX_VALUE;
+    private int stalemateLimit = 0;
+    private int numberOfRounds = 0;
+    // The turn in progress, so a copy can continue it
+    private int seat = 0;
+    private boolean inTurn = false;
+    // Progress made so far, for finding stalemates
+    private final Set<Long> statesSinceProgress = new HashSet<>();
+    private int mostGold = -1;
+    private int lastRoundWithProgress = 0;
 
     /**
-     * This constructor creates a new GameMaster object. It takes a seed which is
-     * used to randomize the types of the acreages the players can buy, the starting
+     * This constructor creates a new GameMaster object for a game with the
+     * standard rules (see {@link RuleSet#DEFAULT}). It takes a seed which is used
+     * to randomize the types of the acreages the players can buy, the starting
      * amount of gold, the amount of gold that is needed to win the game and the
      * names of the players that want to participate in this game.
      * 
@@ -48,17 +54,168 @@ public class GameMaster {
      *                   game
      */
     public GameMaster(int seed, int goldToWin, int initalGold, String... names) {
+        this(RuleSet.DEFAULT, seed, goldToWin, initalGold, names);
+    }
+
+    /**
+     * This constructor creates a new GameMaster object for a game with the given
+     * rules.
+     * 
+     * @param rules      The rules of the game
+     * @param seed       The seed which is used to randomize the types of acreages
+     *                   the players can buy
+     * @param goldToWin  The amount of gold needed to win the game
+     * @param initalGold The amount of gold every player gets when the game starts
+     * @param names      The names of the players that want to participate in this
+     *                   game
+     */
+    public GameMaster(RuleSet rules, int seed, int goldToWin, int initalGold, String... names) {
         this.goldToWin = goldToWin;
+        this.rules = rules;
 
-        VegetableMarket market = new VegetableMarket(MARKET_PRICES, MARKET_PAIRS);
-        AcreageMarket acreageManager = new AcreageMarket(seed, names.length);
+        VegetableMarket market = new VegetableMarket(rules.getMarketPrices(), rules.getMarketPairs());
+        AcreageMarket acreageManager = new AcreageMarket(seed, names.length, rules);
 
         this.players = new Player[names.length];
         for (int i = 0; i < names.length; i++) {
-            this.players[i] = new Player(names[i], initalGold, market, acreageManager);
+            this.players[i] = new Player(names[i], initalGold, market, acreageManager, rules);
+            this.players[i].setUndoLog(this.undoLog);
         }
     }
 
+    /**
+     * This constructor creates a copy of a game in its current state. The copy
+     * gets its own players and markets and no undo log, so it can be played to
+     * the end without changing the original game. If a turn is in progress, the
+     * next call of {@link #play(PlayerController)} on the copy continues it with
+     * the moves the player has left. The limits set by
+     * {@link #setMaxRounds(int)} and {@link #setStalemateLimit(int)} are not
+     * copied, but the number of rounds played so far is.
+     * 
+     * @param gameToCopy The game to copy
+     */
+    public GameMaster(GameMaster gameToCopy) {
+        this.goldToWin = gameToCopy.goldToWin;
+        this.rules = gameToCopy.rules;
+        this.numberOfRounds = gameToCopy.numberOfRounds;
+        this.seat = gameToCopy.seat;
+        this.inTurn = gameToCopy.inTurn;
+
+        // All players share the same copies of the common markets.
+        Player first = gameToCopy.players[0];
+        VegetableMarket market = new VegetableMarket(first.getVegetableMarketState());
+        AcreageMarket acreageMarket = new AcreageMarket(first.getAcreageMarketState());
+        this.players = new Player[gameToCopy.players.length];
+        for (int i = 0; i < this.players.length; i++) {
+            this.players[i] = new Player(gameToCopy.players[i], market, acreageMarket);
+        }
+    }
+
+    /**
+     * This method sets the maximum number of rounds. A game that reaches it gets
+     * aborted (see {@link GameEnd#ROUND_LIMIT}). By default there is no limit.
+     * 
+     * @param maxRounds The maximum number of rounds
+     * @throws IllegalArgumentException if the number of rounds is not positive
+     */
+    public void setMaxRounds(int maxRounds) {
+        if (maxRounds <= 0) {
+            throw new IllegalArgumentException(ERROR_MAX_ROUNDS);
+        }
+        this.maxRounds = maxRounds;
+    }
+
+    /**
+     * This method enables finding stalemates. A game gets aborted (see
+     * {@link GameEnd#STALEMATE}) if at the end of a round all players and the
+     * common markets are in the same state (see {@link Player#getStateHash()}) as
+     * at the end of an earlier round, or if nobody has had more gold than ever
+     * before for the given number of rounds. The first check assumes that the
+     * players decide by the state of the game only, then they would repeat the
+     * same rounds forever. By default stalemates are not searched for, because
+     * human players may wait as long as they like.
+     * 
+     * @param roundsWithoutProgress Number of rounds without a new maximum of gold
+     *                              after which a game gets aborted or 0 to stop
+     *                              searching for stalemates
+     * @throws IllegalArgumentException if the number of rounds is negative
+     */
+    public void setStalemateLimit(int roundsWithoutProgress) {
+        if (roundsWithoutProgress < 0) {
+            throw new IllegalArgumentException(ERROR_STALEMATE_LIMIT);
+        }
+        this.stalemateLimit = roundsWithoutProgress;
+    }
+
+    private GameEnd endRound(GameEnd end) {
+        this.numberOfRounds++;
+        // All players share the market.
+        this.players[0].getVegetableMarketState().recordRound();
+        if (end != null) {
+            return end;
+        } else if (this.hasSomeoneWon()) {
+            return GameEnd.WON;
+        } else if (this.numberOfRounds >= this.maxRounds) {
+            return GameEnd.ROUND_LIMIT;
+        } else if (this.stalemateLimit > 0 && this.isStalemate()) {
+            return GameEnd.STALEMATE;
+        }
+        return null;
+    }
+
+    /**
+     * This method returns the number of rounds that have been completed so far.
+     * 
+     * @return The number of completed rounds
+     */
+    public int getNumberOfRounds() {
+        return this.numberOfRounds;
+    }
+
+    /**
+     * This method creates a simulation of the game from the point of view of the
+     * player at a seat (see {@link Simulation}). If it is not the turn of the
+     * player, the simulation starts with a new turn of them, for example with the
+     * first turn before the game has been played.
+     * 
+     * @param seat The seat of the player
+     * @return A simulation of the game of the player
+     */
+    public Simulation createSimulation(int seat) {
+        Simulation simulation = new Simulation(this.players[seat]);
+        if (!this.inTurn || seat != this.seat) {
+            simulation.getPlayer().allowMoves(this.rules.getMovesPerPlayer());
+        }
+        return simulation;
+    }
+
+    /**
+     * This method returns the names of the players in seat order.
+     * 
+     * @return The names of the players
+     */
+    public String[] getNames() {
+        String[] names = new String[this.players.length];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = this.players[i].getName();
+        }
+        return names;
+    }
+
+    /**
+     * This method returns a hash of the state of the game. It combines the state
+     * hashes of all players (see {@link Player#getStateHash()}).
+     * 
+     * @return A hash of the state of the game
+     */
+    public long getStateHash() {
+        long state = 1;
+        for (Player player : this.players) {
+            state = STATE_HASH_MULTIPLIER * state + player.getStateHash();
+        }
+        return state;
+    }
+
     private boolean hasSomeoneWon() {
         for (Player player : this.players) {
             if (player.getAmountOfGold() >= this.goldToWin) {
@@ -68,35 +225,125 @@ public class GameMaster {
         return false;
     }
 
+    private boolean isStalemate() {
+        int gold = 0;
+        for (Player player : this.players) {
+            gold = Math.max(gold, player.getAmountOfGold());
+        }
+        long state = this.getStateHash();
+        if (gold > this.mostGold) {
+            // Only the states since the latest progress are kept, so the memory stays bounded.
+            this.mostGold = gold;
+            this.lastRoundWithProgress = this.numberOfRounds;
+            this.statesSinceProgress.clear();
+        }
+        return !this.statesSinceProgress.add(state)
+                || this.numberOfRounds - this.lastRoundWithProgress >= this.stalemateLimit;
+    }
+
     /**
      * This method starts the game loop. For every players turn the player
      * controller is called for it to do the moves for the current player. If
      * someone has one or someone has quit the loop breaks and a GameResult gets
-     * returned containing information about the result of this game.
+     * returned containing information about the result of this game. The game
+     * also ends when a limit set by {@link #setMaxRounds(int)} or
+     * {@link #setStalemateLimit(int)} is reached.
      * 
      * @param controller The player controller that does the moves for every player
      * @return The result of this game
      */
     public GameResult play(PlayerController controller) {
-        boolean shouldEnd = false;
+        GameEnd end = null;
         do {
             // Round begins...
-            for (Player player : this.players) {
-                player.allowMoves(MOVES_PER_PLAYER);
+            for (; this.seat < this.players.length; this.seat++) {
+                Player player = this.players[this.seat];
+                if (!this.inTurn) {
+                    player.allowMoves(this.rules.getMovesPerPlayer());
+                    this.inTurn = true;
+                }
+                // Players can only undo the moves of their current turn.
+                this.undoLog.clear();
 
                 // Let the controller do the moves
                 controller.doTurn(player);
+                this.inTurn = false;
 
                 if (player.hasQuit()) {
-                    shouldEnd = true;
+                    end = GameEnd.QUIT;
                     break;
                 }
 
                 player.update();
             }
-        } while (!this.hasSomeoneWon() && !shouldEnd);
+            this.seat = 0;
+            end = this.endRound(end);
+        } while (end == null);
+
+        return new GameResult(this.players, this.goldToWin, end, this.numberOfRounds);
+    }
+
+    /**
+     * This method starts the game loop for a game in which a planner makes the
+     * moves of every player. The result is the same as that of
+     * {@link #play(PlayerController)} with the planner, but at the beginning of
+     * every round the turns of all players are planned in parallel. Each plan is
+     * made on a copy of the player at that time and therefore only depends on the
+     * state of the player then. The turns are made in seat order. A plan is reused
+     * if the state of the player still has the same hash (see
+     * {@link Player#getStateHash()}) when their turn begins, which is the case
+     * unless the players before them changed the prices or bought land.
+     * Otherwise the turn gets planned again. The planner gets called by several
+     * threads at the same time.
+     * 
+     * @param planner  The planner that plans the moves of every player
+     * @param executor The executor the plans are made on
+     * @return The result of this game
+     * @throws InterruptedException if the calling thread gets interrupted while
+     *                              waiting for a plan
+     */
+    public GameResult play(TurnPlanner planner, ExecutorService executor) throws InterruptedException {
+        GameEnd end = null;
+        do {
+            List<Future<List<Move>>> plans = new ArrayList<>();
+            long[] plannedStates = new long[this.players.length];
+            for (int i = 0; i < this.players.length; i++) {
+                Player copy = new Player(this.players[i]);
+                copy.allowMoves(this.rules.getMovesPerPlayer());
+                plannedStates[i] = copy.getStateHash();
+                plans.add(executor.submit(() -> planner.planTurn(copy)));
+            }
+
+            for (int i = 0; i < this.players.length && end == null; i++) {
+                Player player = this.players[i];
+                player.allowMoves(this.rules.getMovesPerPlayer());
+                this.undoLog.clear();
+
+                List<Move> moves = player.getStateHash() == plannedStates[i] ? getPlan(plans.get(i))
+                        : planner.planTurn(new Player(player));
+                planner.makeTurn(player, moves);
 
-        return new GameResult(this.players, this.goldToWin);
+                if (player.hasQuit()) {
+                    end = GameEnd.QUIT;
+                } else {
+                    player.update();
+                }
+            }
+            for (Future<List<Move>> plan : plans) {
+                plan.cancel(true);
+            }
+            end = this.endRound(end);
+        } while (end == null);
+
+        return new GameResult(this.players, this.goldToWin, end, this.numberOfRounds);
+    }
+
+    private static List<Move> getPlan(Future<List<Move>> plan) throws InterruptedException {
+        try {
+            return plan.get();
+        } catch (ExecutionException executionException) {
+            throw new IllegalStateException(executionException.getCause());
+        }
     }
 
 }
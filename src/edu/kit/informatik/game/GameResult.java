@@ -14,26 +14,46 @@ public class GameResult {
 
     private final Player[] players;
     private final int goldToWin;
+    private final GameEnd end;
+    private final int numberOfRounds;
 
     /**
      * This constructor creates a game result from an array of players that
-     * participated in the game and the number of gold needed to win the game.
+     * participated in the game, the number of gold needed to win the game, the
+     * reason why the game ended and the number of rounds that were played.
      * 
-     * @param players   Array of players that participated in the game
-     * @param goldToWin Number of gold needed to win the game
+     * @param players        Array of players that participated in the game
+     * @param goldToWin      Number of gold needed to win the game
+     * @param end            The reason why the game ended
+     * @param numberOfRounds Number of rounds that were played
      */
-    public GameResult(Player[] players, int goldToWin) {
+    public GameResult(Player[] players, int goldToWin, GameEnd end, int numberOfRounds) {
         this.players = new Player[players.length];
         System.arraycopy(players, 0, this.players, 0, players.length);
         this.goldToWin = goldToWin;
+        this.end = end;
+        this.numberOfRounds = numberOfRounds;
     }
 
     /**
-     * This method returns an array of players that won the game.
+     * This method returns an array of players that won the game. If the game was
+     * aborted (see {@link GameEnd#isAborted()}), nobody has won and an empty array
+     * gets returned. The richest players of an aborted game are returned by
+     * {@link #getRichestPlayers()}.
      * 
      * @return an array of players that won the game
      */
     public Player[] getWinners() {
+        return this.end.isAborted() ? new Player[0] : this.getRichestPlayers();
+    }
+
+    /**
+     * This method returns an array of the players with the most gold. Gold beyond
+     * the amount needed to win does not count.
+     * 
+     * @return an array of the players with the most gold
+     */
+    public Player[] getRichestPlayers() {
         int largestAmountOfGold = 0;
         for (Player player : this.players) {
             if (player.getAmountOfGold() > largestAmountOfGold) {
@@ -63,4 +83,23 @@ public class GameResult {
         return this.players;
     }
 
-}
\ No newline at end of file
+    /**
+     * This method returns the reason why the game ended.
+     * 
+     * @return The reason why the game ended
+     */
+    public GameEnd getEnd() {
+        return this.end;
+    }
+
+    /**
+     * This method returns the number of rounds that were played. A round that was
+     * ended early because a player quit counts as well.
+     * 
+     * @return The number of rounds that were played
+     */
+    public int getNumberOfRounds() {
+        return this.numberOfRounds;
+    }
+
+}
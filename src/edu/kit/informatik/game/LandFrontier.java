@@ -0,0 +1,115 @@
+package edu.kit.informatik.game;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * This class models the positions at which a farm could buy land right
+ * now. A position is purchasable if there is an acreage south, west or
+ * east of it, so placing an acreage can only make the positions north,
+ * west and east of it purchasable. The positions are kept sorted by
+ * price, so the cheapest ones can be listed without sorting.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+final class LandFrontier {
+
+    // The price of an acreage only depends on its distance to the barn, so this
+    // order is also the order of ascending prices (see AcreageMarket).
+    private static final Comparator<Position> BY_PRICE = Comparator
+            .comparingInt((Position position) -> Farm.BARN_POSITION.getManhattenDistanceTo(position))
+            .thenComparingInt(Position::getY)
+            .thenComparingInt(Position::getX);
+
+    private final NavigableSet<Position> purchasablePositions;
+
+    /**
+     * This constructor creates an empty frontier.
+     */
+    LandFrontier() {
+        this.purchasablePositions = new TreeSet<>(BY_PRICE);
+    }
+
+    /**
+     * This constructor creates a frontier by copying an existing one.
+     * 
+     * @param frontierToCopy frontier to copy
+     */
+    LandFrontier(LandFrontier frontierToCopy) {
+        this.purchasablePositions = new TreeSet<>(frontierToCopy.purchasablePositions);
+    }
+
+    /**
+     * This method updates the frontier after an acreage has been placed.
+     * 
+     * @param position   Position of the new acreage
+     * @param occupied   Positions of all acreages including the new one
+     * @param revertible Whether the update should be revertible
+     * @return An operation that reverts this update or null if it should not be
+     *         revertible
+     */
+    Runnable occupy(Position position, Set<Position> occupied, boolean revertible) {
+        boolean wasPurchasable = this.purchasablePositions.remove(position);
+        List<Position> addedCandidates = revertible ? new ArrayList<>() : null;
+        this.addCandidate(new Position(position.getX(), position.getY() + 1), occupied, addedCandidates);
+        this.addCandidate(new Position(position.getX() - 1, position.getY()), occupied, addedCandidates);
+        this.addCandidate(new Position(position.getX() + 1, position.getY()), occupied, addedCandidates);
+        if (!revertible) {
+            return null;
+        }
+        return () -> {
+            this.purchasablePositions.removeAll(addedCandidates);
+            if (wasPurchasable) {
+                this.purchasablePositions.add(position);
+            }
+        };
+    }
+
+    private void addCandidate(Position position, Set<Position> occupied, List<Position> addedCandidates) {
+        if (position.getY() < 0 || position.equals(Farm.BARN_POSITION) || occupied.contains(position)) {
+            return;
+        }
+        if (this.purchasablePositions.add(position) && addedCandidates != null) {
+            addedCandidates.add(position);
+        }
+    }
+
+    /**
+     * This method checks whether a position is purchasable.
+     * 
+     * @param position The position
+     * @return true if the position is purchasable
+     */
+    boolean contains(Position position) {
+        return this.purchasablePositions.contains(position);
+    }
+
+    /**
+     * This method returns the cheapest purchasable positions together with their
+     * prices, sorted by ascending price. If there are no acreages left for sale,
+     * the list is empty.
+     * 
+     * @param limit         The maximum number of positions to return
+     * @param acreageMarket The common acreage market that determines the prices
+     * @return A list of key-value pairs containing a position and its price
+     */
+    List<Pair<Position, Integer>> getCheapest(int limit, AcreageMarket acreageMarket) {
+        List<Pair<Position, Integer>> result = new ArrayList<>();
+        if (!acreageMarket.hasAcreagesLeft()) {
+            return result;
+        }
+        for (Position position : this.purchasablePositions) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.add(new Pair<Position, Integer>(position, acreageMarket.calculatePrice(position)));
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,197 @@
+package edu.kit.informatik.game;
+
+/**
+ * This class represents the price history of a vegetable market. At the
+ * end of every round of the game the market records the indicator, the
+ * price and the number of vegetables sold in the round of every vegetable
+ * type (see {@link VegetableMarket#recordRound()}). Only
+ * a fixed number of the latest rounds is kept, older rounds get
+ * overwritten, so the memory used by a history is bounded however long a
+ * game lasts.
+ * 
+ * The rounds are stored in a ring of primitive arrays indexed by the
+ * slot of the round and the ordinal of the vegetable type, so appending
+ * a round takes constant time and never allocates anything.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public class MarketHistory {
+
+    private static final int NUMBER_OF_VEGETABLES = VegetableType.values().length;
+    private static final String ERROR_CAPACITY = "A market history needs room for at least one round";
+    private static final String ERROR_INDEX = "There is no round with index %d in this history";
+
+    private final int capacity;
+    private final int[] indicators;
+    private final int[] prices;
+    private final int[] soldVegetables;
+    // Vegetables sold since the latest round was appended.
+    private final int[] pendingSales = new int[NUMBER_OF_VEGETABLES];
+    // Slot of the oldest round, number of rounds in the history and number of
+    // rounds ever appended.
+    private int start = 0;
+    private int size = 0;
+    private int numberOfRounds = 0;
+
+    /**
+     * This constructor creates a new empty history.
+     * 
+     * @param capacity Number of rounds this history keeps
+     * @throws IllegalArgumentException if the capacity is smaller than one
+     */
+    public MarketHistory(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException(ERROR_CAPACITY);
+        }
+        this.capacity = capacity;
+        this.indicators = new int[capacity * NUMBER_OF_VEGETABLES];
+        this.prices = new int[capacity * NUMBER_OF_VEGETABLES];
+        this.soldVegetables = new int[capacity * NUMBER_OF_VEGETABLES];
+    }
+
+    /**
+     * This constructor takes another history and makes an exact copy of it.
+     * 
+     * @param historyToCopy History to copy
+     */
+    public MarketHistory(MarketHistory historyToCopy) {
+        this.capacity = historyToCopy.capacity;
+        this.indicators = historyToCopy.indicators.clone();
+        this.prices = historyToCopy.prices.clone();
+        this.soldVegetables = historyToCopy.soldVegetables.clone();
+        System.arraycopy(historyToCopy.pendingSales, 0, this.pendingSales, 0, NUMBER_OF_VEGETABLES);
+        this.start = historyToCopy.start;
+        this.size = historyToCopy.size;
+        this.numberOfRounds = historyToCopy.numberOfRounds;
+    }
+
+    /**
+     * This method counts vegetables that were sold in the current round.
+     * 
+     * @param vegetable The vegetable type
+     * @param amount    The number of sold vegetables, negative to revert a sale
+     */
+    void addSales(VegetableType vegetable, int amount) {
+        this.pendingSales[vegetable.ordinal()] += amount;
+    }
+
+    /**
+     * This method ends the current round and appends it with the vegetables sold
+     * in it. If this history is full, the oldest round gets overwritten. The
+     * prices of the new round are set with
+     * {@link #set(VegetableType, int, int)}.
+     */
+    void append() {
+        if (this.size == this.capacity) {
+            this.start = (this.start + 1) % this.capacity;
+        } else {
+            this.size++;
+        }
+        this.numberOfRounds++;
+        int offset = this.getOffset(this.size - 1);
+        for (int i = 0; i < NUMBER_OF_VEGETABLES; i++) {
+            this.indicators[offset + i] = 0;
+            this.prices[offset + i] = 0;
+            this.soldVegetables[offset + i] = this.pendingSales[i];
+            this.pendingSales[i] = 0;
+        }
+    }
+
+    /**
+     * This method sets the price of a vegetable type in the latest round.
+     * 
+     * @param vegetable The vegetable type
+     * @param indicator The price indicator of the vegetable type
+     * @param price     The price of the vegetable type
+     */
+    void set(VegetableType vegetable, int indicator, int price) {
+        int index = this.getOffset(this.size - 1) + vegetable.ordinal();
+        this.indicators[index] = indicator;
+        this.prices[index] = price;
+    }
+
+    private int getOffset(int index) {
+        return (this.start + index) % this.capacity * NUMBER_OF_VEGETABLES;
+    }
+
+    private int getIndex(int index, VegetableType vegetable) {
+        this.checkIndex(index);
+        return this.getOffset(index) + vegetable.ordinal();
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException(ERROR_INDEX.formatted(index));
+        }
+    }
+
+    /**
+     * This method returns the number of rounds this history keeps.
+     * 
+     * @return The number of rounds this history keeps
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * This method returns the number of rounds in this history. The rounds are
+     * indexed from the oldest (0) to the latest one.
+     * 
+     * @return The number of rounds in this history
+     */
+    public int getSize() {
+        return this.size;
+    }
+
+    /**
+     * This method returns the number of a round counted from the first round
+     * ever appended, which is round 1.
+     * 
+     * @param index Index of the round
+     * @return The number of the round
+     * @throws IndexOutOfBoundsException if there is no round with the index
+     */
+    public int getRoundNumber(int index) {
+        this.checkIndex(index);
+        return this.numberOfRounds - this.size + index + 1;
+    }
+
+    /**
+     * This method returns the price indicator a vegetable type had after a round.
+     * 
+     * @param index     Index of the round
+     * @param vegetable The vegetable type
+     * @return The price indicator of the vegetable type
+     * @throws IndexOutOfBoundsException if there is no round with the index
+     */
+    public int getIndicator(int index, VegetableType vegetable) {
+        return this.indicators[this.getIndex(index, vegetable)];
+    }
+
+    /**
+     * This method returns the price a vegetable type had after a round.
+     * 
+     * @param index     Index of the round
+     * @param vegetable The vegetable type
+     * @return The price of the vegetable type
+     * @throws IndexOutOfBoundsException if there is no round with the index
+     */
+    public int getPrice(int index, VegetableType vegetable) {
+        return this.prices[this.getIndex(index, vegetable)];
+    }
+
+    /**
+     * This method returns how many vegetables of a type were sold in a round.
+     * 
+     * @param index     Index of the round
+     * @param vegetable The vegetable type
+     * @return The number of sold vegetables of the type
+     * @throws IndexOutOfBoundsException if there is no round with the index
+     */
+    public int getSoldAmount(int index, VegetableType vegetable) {
+        return this.soldVegetables[this.getIndex(index, vegetable)];
+    }
+
+}
@@ -0,0 +1,221 @@
+package edu.kit.informatik.game;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import edu.kit.informatik.exceptions.IllegalMoveException;
+
+/**
+ * This class represents a single move of a player. A move can be
+ * created without a player and applied to a player later, which allows
+ * bots to store, compare and replay moves.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public final class Move {
+
+    private static final Move END_TURN = new Move(MoveType.END_TURN, null, null, 0, null);
+    private static final Move SELL_ALL = new Move(MoveType.SELL_ALL, null, null, 0, null);
+
+    private static final String PLANT_TEXT = "plant %d %d %s";
+    private static final String HARVEST_TEXT = "harvest %d %d %d";
+    private static final String SELL_TEXT = "sell";
+    private static final String SELL_ALL_TEXT = "sell all";
+    private static final String BUY_VEGETABLE_TEXT = "buy vegetable %s";
+    private static final String BUY_LAND_TEXT = "buy land %d %d";
+    private static final String END_TURN_TEXT = "end turn";
+    private static final String ARGUMENT_SEPERATOR = " ";
+
+    private final MoveType type;
+    private final Position position;
+    private final VegetableType vegetable;
+    private final int amount;
+    private final Map<VegetableType, Integer> vegetables;
+
+    private Move(MoveType type, Position position, VegetableType vegetable, int amount,
+            Map<VegetableType, Integer> vegetables) {
+        this.type = type;
+        this.position = position;
+        this.vegetable = vegetable;
+        this.amount = amount;
+        this.vegetables = vegetables;
+    }
+
+    /**
+     * This method creates a move that plants a vegetable on the acreage at a
+     * specified position.
+     * 
+     * @param position  Position of the acreage
+     * @param vegetable The type of vegetable that should be planted
+     * @return A move that plants the vegetable
+     */
+    public static Move plant(Position position, VegetableType vegetable) {
+        return new Move(MoveType.PLANT, position, vegetable, 0, null);
+    }
+
+    /**
+     * This method creates a move that harvests a specified amount of vegetables
+     * from the acreage at a specified position.
+     * 
+     * @param position Position of the acreage
+     * @param amount   Amount of vegetables that should be harvested
+     * @return A move that harvests the vegetables
+     */
+    public static Move harvest(Position position, int amount) {
+        return new Move(MoveType.HARVEST, position, null, amount, null);
+    }
+
+    /**
+     * This method creates a move that sells specified amounts of vegetables.
+     * 
+     * @param vegetables Types and amounts of the vegetables that should be sold
+     * @return A move that sells the vegetables
+     */
+    public static Move sell(Map<VegetableType, Integer> vegetables) {
+        Map<VegetableType, Integer> copy = new EnumMap<>(VegetableType.class);
+        copy.putAll(vegetables);
+        return new Move(MoveType.SELL, null, null, 0, copy);
+    }
+
+    /**
+     * This method returns a move that sells all vegetables in the barn.
+     * 
+     * @return A move that sells all vegetables
+     */
+    public static Move sellAll() {
+        return SELL_ALL;
+    }
+
+    /**
+     * This method creates a move that buys a vegetable at the market.
+     * 
+     * @param vegetable The vegetable that should be bought
+     * @return A move that buys the vegetable
+     */
+    public static Move buyVegetable(VegetableType vegetable) {
+        return new Move(MoveType.BUY_VEGETABLE, null, vegetable, 0, null);
+    }
+
+    /**
+     * This method creates a move that buys land at a specified position.
+     * 
+     * @param position The position where the new acreage should be
+     * @return A move that buys the land
+     */
+    public static Move buyLand(Position position) {
+        return new Move(MoveType.BUY_LAND, position, null, 0, null);
+    }
+
+    /**
+     * This method returns a move that ends the turn.
+     * 
+     * @return A move that ends the turn
+     */
+    public static Move endTurn() {
+        return END_TURN;
+    }
+
+    /**
+     * This method applies this move to a player by calling the corresponding
+     * method of the player. It returns what that method returns: the harvested
+     * vegetables, the list of sales or the receipt of a purchase. Planting and
+     * ending the turn return nothing, so null gets returned for them.
+     * 
+     * @param player The player that makes this move
+     * @return The result of the method of the player or null if it has none
+     * @throws IllegalMoveException if a game rule was broken by this move
+     */
+    public Object applyTo(Player player) throws IllegalMoveException {
+        Object result = null;
+        switch (this.type) {
+            case PLANT -> player.plant(this.position, this.vegetable);
+            case HARVEST -> result = player.harvest(this.position, this.amount);
+            case SELL -> result = player.sell(this.vegetables);
+            case SELL_ALL -> result = player.sellAll();
+            case BUY_VEGETABLE -> result = player.buy(this.vegetable);
+            case BUY_LAND -> result = player.buy(this.position);
+            default -> player.endTurn();
+        }
+        return result;
+    }
+
+    /**
+     * This method returns the type of this move.
+     * 
+     * @return The type of this move
+     */
+    public MoveType getType() {
+        return this.type;
+    }
+
+    /**
+     * This method returns the position this move refers to or null if it does not
+     * refer to a position.
+     * 
+     * @return The position of this move or null
+     */
+    public Position getPosition() {
+        return this.position;
+    }
+
+    /**
+     * This method returns the vegetable type this move refers to or null if it
+     * does not refer to a single vegetable type.
+     * 
+     * @return The vegetable type of this move or null
+     */
+    public VegetableType getVegetable() {
+        return this.vegetable;
+    }
+
+    /**
+     * This method returns the amount of vegetables that get harvested by this
+     * move.
+     * 
+     * @return The amount of vegetables that get harvested by this move
+     */
+    public int getAmount() {
+        return this.amount;
+    }
+
+    /**
+     * This method returns the types and amounts of the vegetables that get sold by
+     * this move or null if this is not a sell move.
+     * 
+     * @return The vegetables that get sold by this move or null
+     */
+    public Map<VegetableType, Integer> getVegetables() {
+        return this.vegetables == null ? null : new EnumMap<>(this.vegetables);
+    }
+
+    /**
+     * This method returns this move in the syntax of the command line commands.
+     * 
+     * @return This move as a command line command
+     */
+    @Override
+    public String toString() {
+        return switch (this.type) {
+            case PLANT -> PLANT_TEXT.formatted(this.position.getX(), this.position.getY(),
+                    this.vegetable.getSingularName());
+            case HARVEST -> HARVEST_TEXT.formatted(this.position.getX(), this.position.getY(), this.amount);
+            case SELL -> this.getSellText();
+            case SELL_ALL -> SELL_ALL_TEXT;
+            case BUY_VEGETABLE -> BUY_VEGETABLE_TEXT.formatted(this.vegetable.getSingularName());
+            case BUY_LAND -> BUY_LAND_TEXT.formatted(this.position.getX(), this.position.getY());
+            default -> END_TURN_TEXT;
+        };
+    }
+
+    private String getSellText() {
+        StringBuilder stringBuilder = new StringBuilder(SELL_TEXT);
+        for (Map.Entry<VegetableType, Integer> entry : this.vegetables.entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                stringBuilder.append(ARGUMENT_SEPERATOR).append(entry.getKey().getSingularName());
+            }
+        }
+        return stringBuilder.toString();
+    }
+
+}
@@ -0,0 +1,46 @@
+package edu.kit.informatik.game;
+
+/**
+ * This enum represents the types of moves a player can make during
+ * their turn.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public enum MoveType {
+
+    /**
+     * This move type represents planting a vegetable on an acreage.
+     */
+    PLANT,
+
+    /**
+     * This move type represents harvesting vegetables from an acreage.
+     */
+    HARVEST,
+
+    /**
+     * This move type represents selling specified vegetables from the barn.
+     */
+    SELL,
+
+    /**
+     * This move type represents selling all vegetables from the barn.
+     */
+    SELL_ALL,
+
+    /**
+     * This move type represents buying a vegetable at the market.
+     */
+    BUY_VEGETABLE,
+
+    /**
+     * This move type represents buying land at a position.
+     */
+    BUY_LAND,
+
+    /**
+     * This move type represents ending the turn.
+     */
+    END_TURN
+}
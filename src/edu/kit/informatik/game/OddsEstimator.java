@@ -0,0 +1,217 @@
+package edu.kit.informatik.game;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * This class estimates the chances of the players of a game to win while
+ * the game goes on. Worker threads in the background play the game from
+ * its current state to the end (playouts) on copies (see
+ * {@link GameMaster#GameMaster(GameMaster)}), with a rollout policy making
+ * the moves of all players. A playout ends after a fixed number of rounds
+ * at the latest; then the richest players count as the winners. The
+ * estimate gets refined with every playout and can be read at any time
+ * without waiting (see {@link #getOdds()}).
+ * 
+ * The thread playing the game tells the estimator about changes by calling
+ * {@link #update()}. If the state of the game has changed, the playouts of
+ * the old state get cancelled and new ones start. Only a bounded number of
+ * playouts is made per state, so the workers are idle while a player is
+ * thinking for a long time.
+ * 
+ * The estimation only begins with {@link #start()}. Until then the
+ * estimator neither creates threads nor copies the game, so games in
+ * which nobody asks for the odds do not pay for them.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public class OddsEstimator implements AutoCloseable {
+
+    private static final int DEFAULT_HORIZON = 20;
+    private static final int DEFAULT_MAX_PLAYOUTS = 10_000;
+    private static final String THREAD_NAME = "odds-worker";
+    private static final String ERROR_ILLEGAL_ARGUMENT = "Number of threads, horizon and playouts must be positive";
+
+    private final GameMaster game;
+    private final PlayerController rolloutPolicy;
+    private final int numberOfThreads;
+    private final int horizon;
+    private final int maxPlayouts;
+    private final List<Future<?>> tasks = new ArrayList<>();
+
+    private ExecutorService workers;
+    private Playouts playouts;
+    private long stateHash;
+    private volatile WinningOdds odds;
+
+    /**
+     * This constructor creates a new estimator that plays up to 20 rounds per
+     * playout and up to 10000 playouts per state, with one thread per available
+     * processor except one, which is left for the game.
+     * 
+     * @param game          The game whose odds should be estimated
+     * @param rolloutPolicy The controller that makes the moves of all players in
+     *                      the playouts. It gets called by several threads at the
+     *                      same time.
+     */
+    public OddsEstimator(GameMaster game, PlayerController rolloutPolicy) {
+        this(game, rolloutPolicy, Math.max(1, Runtime.getRuntime().availableProcessors() - 1), DEFAULT_HORIZON,
+                DEFAULT_MAX_PLAYOUTS);
+    }
+
+    /**
+     * This constructor creates a new estimator.
+     * 
+     * @param game            The game whose odds should be estimated
+     * @param rolloutPolicy   The controller that makes the moves of all players in
+     *                        the playouts. It gets called by several threads at the
+     *                        same time.
+     * @param numberOfThreads Number of threads making playouts
+     * @param horizon         Maximum number of rounds of a playout
+     * @param maxPlayouts     Maximum number of playouts per state of the game
+     * @throws IllegalArgumentException if one of the numbers is not positive
+     */
+    public OddsEstimator(GameMaster game, PlayerController rolloutPolicy, int numberOfThreads, int horizon,
+            int maxPlayouts) {
+        if (numberOfThreads <= 0 || horizon <= 0 || maxPlayouts <= 0) {
+            throw new IllegalArgumentException(ERROR_ILLEGAL_ARGUMENT);
+        }
+        this.game = game;
+        this.rolloutPolicy = rolloutPolicy;
+        this.numberOfThreads = numberOfThreads;
+        this.horizon = horizon;
+        this.maxPlayouts = maxPlayouts;
+        this.odds = new WinningOdds(game.getNames(), new double[game.getNames().length], 0);
+    }
+
+    /**
+     * This method starts the estimation if it has not been started yet. Like
+     * {@link #update()}, it must be called by the thread that plays the game.
+     */
+    public void start() {
+        if (this.workers == null) {
+            this.workers = Executors.newFixedThreadPool(this.numberOfThreads, runnable -> {
+                Thread thread = new Thread(runnable, THREAD_NAME);
+                thread.setDaemon(true);
+                // The game must stay responsive.
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            });
+        }
+        this.update();
+    }
+
+    /**
+     * This method restarts the estimation if the state of the game has changed
+     * since the last call. It only copies the game and returns without waiting
+     * for playouts. It must be called by the thread that plays the game, while
+     * the game is not changing, for example by a controller between two moves.
+     * Before the estimation has been started, nothing happens.
+     */
+    public void update() {
+        if (this.workers == null) {
+            return;
+        }
+        long hash = this.game.getStateHash();
+        if (this.playouts != null && hash == this.stateHash) {
+            return;
+        }
+        this.stateHash = hash;
+        if (this.playouts != null) {
+            this.playouts.cancel();
+        }
+        for (Future<?> task : this.tasks) {
+            task.cancel(true);
+        }
+        this.tasks.clear();
+
+        this.playouts = new Playouts(this.game.getNames());
+        this.odds = this.playouts.getOdds();
+        for (int i = 0; i < this.numberOfThreads; i++) {
+            // Every worker copies from its own copy, so the game is only read by its thread.
+            GameMaster start = new GameMaster(this.game);
+            Playouts current = this.playouts;
+            this.tasks.add(this.workers.submit(() -> current.run(start)));
+        }
+    }
+
+    /**
+     * This method returns the latest estimate of the odds. It belongs to the
+     * state of the game at the last call of {@link #update()} and may be based on
+     * no playouts yet.
+     * 
+     * @return The latest estimate of the odds
+     */
+    public WinningOdds getOdds() {
+        return this.odds;
+    }
+
+    /**
+     * This method stops the worker threads of this estimator. The estimator must
+     * not be used afterwards.
+     */
+    @Override
+    public void close() {
+        if (this.workers != null) {
+            this.workers.shutdownNow();
+        }
+    }
+
+    /**
+     * This class collects the playouts of one state of the game.
+     */
+    private final class Playouts {
+
+        private final String[] names;
+        private final double[] wins;
+        private int numberOfPlayouts = 0;
+        private volatile boolean cancelled = false;
+
+        Playouts(String[] names) {
+            this.names = names;
+            this.wins = new double[names.length];
+        }
+
+        void run(GameMaster start) {
+            while (!this.cancelled && !Thread.currentThread().isInterrupted()) {
+                GameMaster playout = new GameMaster(start);
+                playout.setMaxRounds(playout.getNumberOfRounds() + OddsEstimator.this.horizon);
+                if (!this.add(playout.play(OddsEstimator.this.rolloutPolicy))) {
+                    return;
+                }
+            }
+        }
+
+        synchronized boolean add(GameResult result) {
+            if (this.cancelled || this.numberOfPlayouts >= OddsEstimator.this.maxPlayouts) {
+                return false;
+            }
+            Player[] players = result.getPlayers();
+            Player[] winners = result.getRichestPlayers();
+            for (Player winner : winners) {
+                for (int seat = 0; seat < players.length; seat++) {
+                    if (players[seat] == winner) {
+                        this.wins[seat] += 1.0 / winners.length;
+                    }
+                }
+            }
+            this.numberOfPlayouts++;
+            OddsEstimator.this.odds = this.getOdds();
+            return this.numberOfPlayouts < OddsEstimator.this.maxPlayouts;
+        }
+
+        synchronized WinningOdds getOdds() {
+            return new WinningOdds(this.names, this.wins.clone(), this.numberOfPlayouts);
+        }
+
+        synchronized void cancel() {
+            // Afterwards no outdated estimate gets published anymore.
+            this.cancelled = true;
+        }
+    }
+
+}
@@ -5,8 +5,7 @@ import java.util.List;
 import java.util.Map;
 import edu.kit.informatik.exceptions.IllegalMoveException;
 import edu.kit.informatik.exceptions.NoMovesLeftException;
-
-import static java.util.Map.entry;
+import edu.kit.informatik.exceptions.RejectedTurnException;
 
 /**
  * This class models a player of the Queens Farming game.
@@ -16,18 +15,16 @@ import static java.util.Map.entry;
  */
 public class Player {
 
-    /**
-     * This is a Map of positions and acreage types that every player initially
-     * has on their farm.
-     */
-    public static final Map<Position, AcreageType> INITIAL_ACREAGE_TYPES = Map.ofEntries(
-            entry(new Position(-1, 0), AcreageType.GARDEN), entry(new Position(1, 0), AcreageType.GARDEN),
-            entry(new Position(0, 1), AcreageType.FIELD));
-
     private static final String ERROR_NO_MOVES_LEFT = "Player does not have any moves left";
+    private static final String ERROR_NOTHING_TO_UNDO = "There is no move to undo";
     private static final Changes INITAL_FARM_CHANGES = new Changes(false, 0);
 
+    // Every recorded field has its own inverse, so the operation codes are unused.
+    private final UndoLog.Target changesInverse = (operation, value, payload) -> this.farmChanges = (Changes) payload;
+    private final UndoLog.Target movesInverse = (operation, value, payload) -> this.moves = (int) value;
+    private final UndoLog.Target quitInverse = (operation, value, payload) -> this.hasQuit = false;
     private final String name;
+    private final RuleSet rules;
     private final Farm farm;
     private final VegetableMarket vegetableMarket;
     private final AcreageMarket acreageMarket;
@@ -38,34 +35,70 @@ public class Player {
 
     private boolean hasQuit = false;
 
+    private UndoLog undoLog;
+
     /**
      * This constructor creates a Player. It takes the players name, the amount of
-     * gold the player initially has, a reference to the common vegetable market and
-     * a reference to the common acreage market.
+     * gold the player initially has, a reference to the common vegetable market, a
+     * reference to the common acreage market and the rules of the game.
      * 
      * @param name            The name of the player
      * @param gold            The amount of gold the player has initially
      * @param vegetableMarket A reference to the common vegetable market
      * @param acreageMarket   A reference to the common acreage market
+     * @param rules           The rules of the game
      */
-    protected Player(String name, int gold, VegetableMarket vegetableMarket, AcreageMarket acreageMarket) {
+    protected Player(String name, int gold, VegetableMarket vegetableMarket, AcreageMarket acreageMarket,
+            RuleSet rules) {
         this.name = name;
+        this.rules = rules;
         this.vegetableMarket = vegetableMarket;
         this.acreageMarket = acreageMarket;
         this.farmChanges = new Changes(INITAL_FARM_CHANGES);
 
         // set up the farm
-        Barn barn = new Barn(gold);
+        Barn barn = new Barn(gold, rules);
         for (VegetableType vegetable : VegetableType.values()) {
             barn.store(vegetable, 1);
         }
         Map<Position, Acreage> initialAcreages = new HashMap<>();
-        for (Map.Entry<Position, AcreageType> entry : INITIAL_ACREAGE_TYPES.entrySet()) {
-            initialAcreages.put(entry.getKey(), new Acreage(entry.getValue()));
+        for (Map.Entry<Position, AcreageType> entry : rules.getInitialAcreageTypes().entrySet()) {
+            initialAcreages.put(entry.getKey(), new Acreage(entry.getValue(), rules));
         }
         this.farm = new Farm(barn, initialAcreages);
     }
 
+    /**
+     * This constructor creates a Player by copying an existing one. The copy gets
+     * its own farm and its own copies of the common markets, so it can be used to
+     * simulate moves without changing the original game.
+     * 
+     * @param playerToCopy The player to copy
+     */
+    Player(Player playerToCopy) {
+        this(playerToCopy, new VegetableMarket(playerToCopy.vegetableMarket),
+                new AcreageMarket(playerToCopy.acreageMarket));
+    }
+
+    /**
+     * This constructor copies a player, but the copy uses the given markets, so
+     * the copies of all players of a game can share them.
+     * 
+     * @param playerToCopy    The player to copy
+     * @param vegetableMarket The vegetable market of the copy
+     * @param acreageMarket   The acreage market of the copy
+     */
+    Player(Player playerToCopy, VegetableMarket vegetableMarket, AcreageMarket acreageMarket) {
+        this.name = playerToCopy.name;
+        this.rules = playerToCopy.rules;
+        this.vegetableMarket = vegetableMarket;
+        this.acreageMarket = acreageMarket;
+        this.farm = new Farm(playerToCopy.farm);
+        this.moves = playerToCopy.moves;
+        this.farmChanges = playerToCopy.farmChanges;
+        this.hasQuit = playerToCopy.hasQuit;
+    }
+
     /**
      * This method returns the amount of gold the player has in their barn.
      * 
@@ -80,10 +113,20 @@ public class Player {
      * vegetable market
      */
     protected void update() {
-        this.farmChanges = this.farm.update();
+        this.updateFarm();
         this.vegetableMarket.adapt();
     }
 
+    /**
+     * This method updates the players farm without adapting the prices of the
+     * common vegetable market.
+     */
+    void updateFarm() {
+        this.beginChange();
+        this.record(this.changesInverse, 0, this.farmChanges);
+        this.farmChanges = this.farm.update();
+    }
+
     /**
      * This method sets the number of moves this player has left before their turn
      * ends.
@@ -91,6 +134,12 @@ public class Player {
      * @param moves Number of moves this player has left
      */
     protected void allowMoves(int moves) {
+        this.beginChange();
+        this.setMoves(moves);
+    }
+
+    private void setMoves(int moves) {
+        this.record(this.movesInverse, this.moves, null);
         this.moves = moves;
     }
 
@@ -108,7 +157,20 @@ public class Player {
      * has left to zero.
      */
     public void endTurn() {
-        this.moves = 0;
+        this.beginChange();
+        this.setMoves(0);
+    }
+
+    /**
+     * This method makes all moves of a turn at once or none of them. It returns
+     * what every move returns (see {@link Move#applyTo(Player)}).
+     * 
+     * @param moves The moves of the turn in the order they should be made
+     * @return The results of the moves in the order they were made
+     * @throws RejectedTurnException if a move of the turn breaks a game rule
+     */
+    public List<Object> submitTurn(List<Move> moves) throws RejectedTurnException {
+        return TurnSubmission.submit(this, this.undoLog, moves);
     }
 
     /**
@@ -122,11 +184,9 @@ public class Player {
      *                              type of vegetable
      */
     public void plant(Position position, VegetableType vegetable) throws IllegalMoveException {
-        if (this.moves <= 0) {
-            throw new NoMovesLeftException(ERROR_NO_MOVES_LEFT);
-        }
+        this.beginMove();
         this.farm.plantOnAcreage(position, vegetable);
-        this.moves--;
+        this.setMoves(this.moves - 1);
     }
 
     /**
@@ -142,11 +202,9 @@ public class Player {
      *                              vegetables to harvest
      */
     public Pair<VegetableType, Integer> harvest(Position position, int amount) throws IllegalMoveException {
-        if (this.moves <= 0) {
-            throw new NoMovesLeftException(ERROR_NO_MOVES_LEFT);
-        }
+        this.beginMove();
         Pair<VegetableType, Integer> container = this.farm.harvestAcreage(position, amount);
-        this.moves--;
+        this.setMoves(this.moves - 1);
         return container;
     }
 
@@ -162,11 +220,9 @@ public class Player {
      * @throws IllegalMoveException if a game rule was broken during this action
      */
     public List<Pair<VegetableType, Integer>> sellAll() throws IllegalMoveException {
-        if (this.moves <= 0) {
-            throw new NoMovesLeftException(ERROR_NO_MOVES_LEFT);
-        }
+        this.beginMove();
         List<Pair<VegetableType, Integer>> listOfSales = this.farm.sellAllAtMarket(this.vegetableMarket);
-        this.moves--;
+        this.setMoves(this.moves - 1);
         return listOfSales;
     }
 
@@ -183,32 +239,25 @@ public class Player {
      * @throws IllegalMoveException if there were not enough vegetables in the barn
      */
     public List<Pair<VegetableType, Integer>> sell(Map<VegetableType, Integer> vegetables) throws IllegalMoveException {
-        if (this.moves <= 0) {
-            throw new NoMovesLeftException(ERROR_NO_MOVES_LEFT);
-        }
+        this.beginMove();
         List<Pair<VegetableType, Integer>> listOfSales = this.farm.sellAtMarket(vegetables, this.vegetableMarket);
-        this.moves--;
+        this.setMoves(this.moves - 1);
         return listOfSales;
     }
 
     /**
      * This method buys a vegetable at the common market. It returns a key-value
-     * pair that
-     * contains the vegetable type that got bought and the price of it.
+     * pair that contains the vegetable type that got bought and the price of it.
      * 
      * @param vegetable The vegetable that should be bought
      * @return A key-value pair that contains the vegetable type that got bought and
-     *         the
-     *         price of it.
+     *         the price of it.
      * @throws IllegalMoveException if there is not enough gold in the barn
      */
     public Pair<VegetableType, Integer> buy(VegetableType vegetable) throws IllegalMoveException {
-        if (this.moves <= 0) {
-            throw new NoMovesLeftException(ERROR_NO_MOVES_LEFT);
-        }
-
+        this.beginMove();
         Pair<VegetableType, Integer> receipt = this.farm.buyAtMarket(vegetable, this.vegetableMarket);
-        this.moves--;
+        this.setMoves(this.moves - 1);
         return receipt;
     }
 
@@ -224,15 +273,53 @@ public class Player {
      *                              not have enough gold in the barn
      */
     public Pair<AcreageType, Integer> buy(Position position) throws IllegalMoveException {
-        if (this.moves <= 0) {
-            throw new NoMovesLeftException(ERROR_NO_MOVES_LEFT);
+        this.beginMove();
+        Pair<AcreageType, Integer> receipt;
+        // Players of a real-time game buy from the common market at the same time.
+        synchronized (this.acreageMarket) {
+            receipt = this.farm.buyAcreage(position, this.acreageMarket);
         }
-        Pair<AcreageType, Integer> receipt = this.farm.buyAcreage(position, acreageMarket);
 
-        this.moves--;
+        this.setMoves(this.moves - 1);
         return receipt;
     }
 
+    /**
+     * This method returns the cheapest positions at which this player could buy
+     * an acreage, together with their prices. If there are no acreages left for
+     * sale, an empty list gets returned.
+     * 
+     * @param limit The maximum number of positions to return
+     * @return A list of key-value pairs containing a purchasable position and its
+     *         price, sorted by ascending price
+     */
+    public List<Pair<Position, Integer>> getPurchasablePositions(int limit) {
+        return this.farm.getCheapestPurchasablePositions(limit, this.acreageMarket);
+    }
+
+    /**
+     * This method returns the modification count of the common vegetable market
+     * without copying it (see {@link VegetableMarket#getModificationCount()}).
+     * 
+     * @return The modification count of the common vegetable market
+     */
+    public long getMarketModificationCount() {
+        return this.vegetableMarket.getModificationCount();
+    }
+
+    /**
+     * This method returns a hash of the state of this player. It covers the farm,
+     * the common markets and the number of moves left. Two states with the same
+     * hash are equal with very high probability, no matter in which order the
+     * moves that led to them were made.
+     * 
+     * @return A hash of the state of this player
+     */
+    public long getStateHash() {
+        return this.farm.getHash() ^ this.vegetableMarket.getHash() ^ this.acreageMarket.getHash()
+                ^ Zobrist.moves(this.moves);
+    }
+
     /**
      * This method returns a copy of the common vegetable market.
      * 
@@ -242,6 +329,15 @@ public class Player {
         return new VegetableMarket(this.vegetableMarket);
     }
 
+    /**
+     * This method returns the rules of the game this player plays.
+     * 
+     * @return The rules of the game
+     */
+    public RuleSet getRules() {
+        return this.rules;
+    }
+
     /**
      * This method returns the name of the player.
      * 
@@ -278,6 +374,57 @@ public class Player {
         return new Farm(this.farm);
     }
 
+    /**
+     * This method returns a read-only view of the players farm. Unlike
+     * {@link #getFarm()} the farm does not get copied, so single tiles can be
+     * looked up in constant time.
+     * 
+     * @return A read-only view of the players farm
+     */
+    public FarmView getFarmView() {
+        return this.farm;
+    }
+
+    /**
+     * This method returns the farm of this player without copying it. It must
+     * only be read.
+     * 
+     * @return The farm of this player
+     */
+    Farm getFarmState() {
+        return this.farm;
+    }
+
+    /**
+     * This method returns the common vegetable market without copying it. It must
+     * only be read.
+     * 
+     * @return The common vegetable market
+     */
+    VegetableMarket getVegetableMarketState() {
+        return this.vegetableMarket;
+    }
+
+    /**
+     * This method returns the common acreage market without copying it. It must
+     * only be read.
+     * 
+     * @return The common acreage market
+     */
+    AcreageMarket getAcreageMarketState() {
+        return this.acreageMarket;
+    }
+
+    /**
+     * This method returns the number of moves this player has left in the
+     * current turn.
+     * 
+     * @return The number of moves left
+     */
+    int getNumberOfMovesLeft() {
+        return this.moves;
+    }
+
     /**
      * This method quits the game. It ends the turn of this player by setting the
      * number of moves left in the turn to zero. It also prevents the game loop to
@@ -285,9 +432,56 @@ public class Player {
      */
     public void quitGame() {
         this.endTurn();
+        this.record(this.quitInverse, 0, null);
         this.hasQuit = true;
     }
 
+    /**
+     * This method attaches an undo log to this player, its farm and the common
+     * markets. Every following operation of this player starts a new checkpoint in
+     * the log, so it can be reverted with {@link #undo()}.
+     * 
+     * @param undoLog The undo log or null to stop recording
+     */
+    void setUndoLog(UndoLog undoLog) {
+        this.undoLog = undoLog;
+        this.farm.setUndoLog(undoLog);
+        this.vegetableMarket.setUndoLog(undoLog);
+        this.acreageMarket.setUndoLog(undoLog);
+    }
+
+    /**
+     * This method reverts the latest operation of this player that has changed
+     * the game. This includes the changes of the common markets. Buying land
+     * cannot be undone, because the player has already seen the new acreage.
+     * 
+     * @throws IllegalMoveException if there is no undo log or nothing to undo
+     */
+    public void undo() throws IllegalMoveException {
+        if (this.undoLog == null || !this.undoLog.undo()) {
+            throw new IllegalMoveException(ERROR_NOTHING_TO_UNDO);
+        }
+    }
+
+    private void beginMove() {
+        if (this.moves <= 0) {
+            throw new NoMovesLeftException(ERROR_NO_MOVES_LEFT);
+        }
+        this.beginChange();
+    }
+
+    private void beginChange() {
+        if (this.undoLog != null) {
+            this.undoLog.mark();
+        }
+    }
+
+    private void record(UndoLog.Target inverse, long value, Object payload) {
+        if (this.undoLog != null) {
+            this.undoLog.record(inverse, 0, value, payload);
+        }
+    }
+
     /**
      * This method checks whether this player has quit the game.
      * 
@@ -0,0 +1,188 @@
+package edu.kit.informatik.game;
+
+/**
+ * This class scores the state of a player as a single number of gold.
+ * The score adds up the gold in the barn, the stored vegetables valued
+ * at current market prices and discounted by the risk of spoiling, the
+ * vegetables growing on the acreages valued at the amount they will
+ * hold after a forecast horizon (see {@link YieldForecast}) and the
+ * capacity of the land.
+ * 
+ * The score is read directly from the state of the player without
+ * copying anything, and {@link #evaluate(Player, int)} does not allocate
+ * any objects. An instance of this class is bound to a single player and
+ * keeps the parts of the score, so after a move only the parts the move
+ * touches get recomputed (see {@link #beforeMove(Move)} and
+ * {@link #afterMove(Move)}).
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public class PositionEvaluator {
+
+    /**
+     * This is the default number of rounds after which growing vegetables are
+     * valued.
+     */
+    public static final int DEFAULT_HORIZON = 4;
+
+    private static final VegetableType[] VEGETABLES = VegetableType.values();
+    private static final double LAND_VALUE_PER_CAPACITY = 1;
+
+    private final Player player;
+    private final int horizon;
+
+    private double barnValue;
+    private double cropValue;
+    private double landValue;
+    private boolean turnMayEnd;
+
+    /**
+     * This constructor creates a new evaluator for a player with the default
+     * horizon.
+     * 
+     * @param player The player whose state should be scored
+     */
+    public PositionEvaluator(Player player) {
+        this(player, DEFAULT_HORIZON);
+    }
+
+    /**
+     * This constructor creates a new evaluator for a player.
+     * 
+     * @param player  The player whose state should be scored
+     * @param horizon Number of rounds after which growing vegetables are valued
+     */
+    public PositionEvaluator(Player player, int horizon) {
+        this.player = player;
+        this.horizon = horizon;
+        this.refresh();
+    }
+
+    /**
+     * This method scores the state of a player from scratch.
+     * 
+     * @param player  The player whose state should be scored
+     * @param horizon Number of rounds after which growing vegetables are valued
+     * @return The score of the state
+     */
+    public static double evaluate(Player player, int horizon) {
+        Farm farm = player.getFarmState();
+        VegetableMarket market = player.getVegetableMarketState();
+        double value = getBarnValue(farm.getBarnState(), market);
+        for (Acreage acreage : farm.getAcreageStates()) {
+            value += getCropValue(acreage, market, horizon) + getLandValue(acreage);
+        }
+        return value;
+    }
+
+    private static double getBarnValue(Barn barn, VegetableMarket market) {
+        double stockValue = 0;
+        for (VegetableType vegetable : VEGETABLES) {
+            stockValue += barn.getAmountOf(vegetable) * market.getPrice(vegetable);
+        }
+        // The stock is lost when the countdown is over unless it gets sold before,
+        // so it is worth half as much with one round left, three quarters with two
+        // rounds left and so on.
+        if (barn.hasCountdown()) {
+            stockValue *= 1 - Math.scalb(1.0, -barn.getCountdown());
+        }
+        return barn.getAmountOfGold() + stockValue;
+    }
+
+    private static double getCropValue(AcreageView acreage, VegetableMarket market, int horizon) {
+        if (acreage.getVegetableType() == null) {
+            return 0;
+        }
+        return YieldForecast.getAmountAfter(acreage, horizon) * market.getPrice(acreage.getVegetableType());
+    }
+
+    private static double getLandValue(AcreageView acreage) {
+        return acreage.getCapacity() * LAND_VALUE_PER_CAPACITY;
+    }
+
+    /**
+     * This method returns the score of the current state of the player.
+     * 
+     * @return The score of the current state
+     */
+    public double getValue() {
+        return this.barnValue + this.cropValue + this.landValue;
+    }
+
+    /**
+     * This method recomputes all parts of the score.
+     */
+    public void refresh() {
+        Farm farm = this.player.getFarmState();
+        VegetableMarket market = this.player.getVegetableMarketState();
+        this.barnValue = getBarnValue(farm.getBarnState(), market);
+        this.cropValue = 0;
+        this.landValue = 0;
+        for (Acreage acreage : farm.getAcreageStates()) {
+            this.cropValue += getCropValue(acreage, market, this.horizon);
+            this.landValue += getLandValue(acreage);
+        }
+    }
+
+    /**
+     * This method must be called before a move gets applied to the player. It
+     * removes the parts of the score the move is going to change.
+     * {@link #afterMove(Move)} must be called afterwards even if the move gets
+     * rejected.
+     * 
+     * @param move The move that is going to be applied
+     */
+    public void beforeMove(Move move) {
+        // The last move of a turn triggers the update of the farm and the market,
+        // which changes everything.
+        this.turnMayEnd = move.getType() == MoveType.END_TURN || this.player.getNumberOfMovesLeft() <= 1;
+        if (this.turnMayEnd) {
+            return;
+        }
+        if (move.getType() == MoveType.PLANT || move.getType() == MoveType.HARVEST) {
+            this.cropValue -= this.getCropValueAt(move.getPosition());
+        } else if (move.getType() == MoveType.BUY_LAND) {
+            this.landValue -= this.getLandValueAt(move.getPosition());
+        }
+    }
+
+    /**
+     * This method must be called after a move has been applied to the player. It
+     * adds the parts of the score the move has changed again.
+     * 
+     * @param move The move that has been applied
+     */
+    public void afterMove(Move move) {
+        if (this.turnMayEnd) {
+            this.refresh();
+            return;
+        }
+        Farm farm = this.player.getFarmState();
+        this.barnValue = getBarnValue(farm.getBarnState(), this.player.getVegetableMarketState());
+        if (move.getType() == MoveType.PLANT || move.getType() == MoveType.HARVEST) {
+            this.cropValue += this.getCropValueAt(move.getPosition());
+        } else if (move.getType() == MoveType.BUY_LAND) {
+            this.landValue += this.getLandValueAt(move.getPosition());
+        }
+    }
+
+    private double getCropValueAt(Position position) {
+        AcreageView acreage = this.getAcreageAt(position);
+        return acreage == null ? 0 : getCropValue(acreage, this.player.getVegetableMarketState(), this.horizon);
+    }
+
+    private double getLandValueAt(Position position) {
+        AcreageView acreage = this.getAcreageAt(position);
+        return acreage == null ? 0 : getLandValue(acreage);
+    }
+
+    private AcreageView getAcreageAt(Position position) {
+        Farm farm = this.player.getFarmState();
+        if (position.equals(Farm.BARN_POSITION) || !farm.isThereATile(position)) {
+            return null;
+        }
+        return farm.getAcreageView(position);
+    }
+
+}
@@ -0,0 +1,234 @@
+package edu.kit.informatik.game;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * This class models a game in which all players act at the same time.
+ * The game is divided into ticks of a fixed length. At every tick
+ * boundary the prices of the common vegetable market get adapted, the
+ * farms of all players get updated and every player gets new moves.
+ * 
+ * Every player is confined to a lane: their farm updates and their turns
+ * run one after another, but the lanes of different players run in
+ * parallel on a pool of threads. A player whose controller is still busy
+ * when the next tick begins does not hold up the other players; the farm
+ * updates of the missed ticks are made up before their next turn. Only
+ * the vegetable market (see {@link ConcurrentVegetableMarket}) and the
+ * acreage market are shared between lanes. A single thread schedules the
+ * ticks at a fixed rate and only hands out work, so it keeps its rate
+ * with hundreds of players.
+ * 
+ * The game ends at the first tick boundary at which a player has reached
+ * the gold needed to win or has quit. Moves cannot be undone. If a tick
+ * fails, the game ends as well and the failure is thrown by
+ * {@link #play(Function, int)}.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public class RealTimeGame {
+
+    private static final String ERROR_TICK_LENGTH = "The length of a tick must be positive";
+
+    private final RuleSet rules;
+    private final int goldToWin;
+    private final long tickNanos;
+    private final Player[] players;
+    private final VegetableMarket market;
+
+    private volatile boolean over = false;
+    // Written by the ticker only
+    private volatile int numberOfTicks = 0;
+    private volatile long largestTickDelay = 0;
+    private volatile Throwable failure;
+    private GameEnd end;
+
+    /**
+     * This constructor creates a new real-time game.
+     * 
+     * @param rules       The rules of the game
+     * @param seed        The seed which is used to randomize the types of acreages
+     *                    the players can buy
+     * @param goldToWin   The amount of gold needed to win the game
+     * @param initialGold The amount of gold every player gets when the game starts
+     * @param tickMillis  The length of a tick in milliseconds
+     * @param names       The names of the players
+     * @throws IllegalArgumentException if the length of a tick is not positive
+     */
+    public RealTimeGame(RuleSet rules, int seed, int goldToWin, int initialGold, long tickMillis, String... names) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException(ERROR_TICK_LENGTH);
+        }
+        this.rules = rules;
+        this.goldToWin = goldToWin;
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.market = new ConcurrentVegetableMarket(rules.getMarketPrices(), rules.getMarketPairs());
+        AcreageMarket acreageMarket = new AcreageMarket(seed, names.length, rules);
+
+        this.players = new Player[names.length];
+        for (int i = 0; i < names.length; i++) {
+            this.players[i] = new Player(names[i], initialGold, this.market, acreageMarket, rules);
+        }
+    }
+
+    /**
+     * This method plays the game until it ends. Every player gets their own
+     * controller, which is only called by one thread at a time.
+     * 
+     * @param controllers     Creates the controller of a player
+     * @param numberOfThreads Number of threads the lanes of the players run on
+     * @return The result of this game
+     * @throws InterruptedException if the calling thread gets interrupted while
+     *                              waiting for the game to end
+     * @throws RuntimeException     if a tick failed with an unchecked exception
+     * @throws Error                if a tick failed with an error
+     */
+    public GameResult play(Function<Player, PlayerController> controllers, int numberOfThreads)
+            throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(numberOfThreads);
+        ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor();
+        CountDownLatch finished = new CountDownLatch(1);
+        Lane[] lanes = new Lane[this.players.length];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new Lane(this.players[i], controllers.apply(this.players[i]), workers);
+            lanes[i].schedule();
+        }
+
+        long start = System.nanoTime();
+        ticker.scheduleAtFixedRate(() -> this.tick(lanes, start, finished), this.tickNanos, this.tickNanos,
+                TimeUnit.NANOSECONDS);
+        try {
+            finished.await();
+        } finally {
+            this.over = true;
+            ticker.shutdownNow();
+            ticker.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            workers.shutdown();
+            workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+        if (this.failure instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (this.failure instanceof Error error) {
+            throw error;
+        }
+        return new GameResult(this.players, this.goldToWin, this.end, this.numberOfTicks);
+    }
+
+    private void tick(Lane[] lanes, long start, CountDownLatch finished) {
+        if (this.over) {
+            return;
+        }
+        try {
+            this.beginTick(lanes, start, finished);
+        } catch (RuntimeException | Error failure) {
+            // A failed run cancels all later runs, so nobody else would end the game.
+            this.failure = failure;
+            this.over = true;
+            finished.countDown();
+        }
+    }
+
+    private void beginTick(Lane[] lanes, long start, CountDownLatch finished) {
+        this.numberOfTicks++;
+        long delay = System.nanoTime() - start - this.numberOfTicks * this.tickNanos;
+        this.largestTickDelay = Math.max(this.largestTickDelay, delay);
+
+        for (Lane lane : lanes) {
+            if (lane.hasQuit || lane.gold >= this.goldToWin) {
+                this.end = lane.hasQuit ? GameEnd.QUIT : GameEnd.WON;
+                this.over = true;
+                finished.countDown();
+                return;
+            }
+        }
+        this.market.adapt();
+        this.market.recordRound();
+        for (Lane lane : lanes) {
+            lane.pendingUpdates.incrementAndGet();
+            lane.schedule();
+        }
+    }
+
+    /**
+     * This method returns the number of ticks that have begun so far.
+     * 
+     * @return The number of ticks that have begun so far
+     */
+    public int getNumberOfTicks() {
+        return this.numberOfTicks;
+    }
+
+    /**
+     * This method returns the largest delay with which a tick began after its
+     * scheduled time.
+     * 
+     * @return The largest delay of a tick in nanoseconds
+     */
+    public long getLargestTickDelay() {
+        return this.largestTickDelay;
+    }
+
+    /**
+     * This class models the lane of a player. It runs the farm updates and turns
+     * of the player one after another.
+     */
+    private final class Lane implements Runnable {
+
+        private final Player player;
+        private final PlayerController controller;
+        private final ExecutorService workers;
+        private final AtomicInteger pendingUpdates = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        // Published after every turn for the ticker
+        private volatile int gold;
+        private volatile boolean hasQuit;
+
+        Lane(Player player, PlayerController controller, ExecutorService workers) {
+            this.player = player;
+            this.controller = controller;
+            this.workers = workers;
+            this.gold = player.getAmountOfGold();
+        }
+
+        void schedule() {
+            if (!RealTimeGame.this.over && this.scheduled.compareAndSet(false, true)) {
+                try {
+                    this.workers.execute(this);
+                } catch (RejectedExecutionException rejectedExecutionException) {
+                    // The game has ended in the meantime.
+                    this.scheduled.set(false);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (int updates = this.pendingUpdates.getAndSet(0); updates > 0; updates--) {
+                    this.player.updateFarm();
+                }
+                if (!RealTimeGame.this.over) {
+                    this.player.allowMoves(RealTimeGame.this.rules.getMovesPerPlayer());
+                    this.controller.doTurn(this.player);
+                }
+                this.gold = this.player.getAmountOfGold();
+                this.hasQuit = this.player.hasQuit();
+            } finally {
+                this.scheduled.set(false);
+            }
+            if (this.pendingUpdates.get() > 0) {
+                this.schedule();
+            }
+        }
+    }
+
+}
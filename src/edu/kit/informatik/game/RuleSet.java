@@ -0,0 +1,495 @@
+package edu.kit.informatik.game;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import edu.kit.informatik.exceptions.IllegalInputException;
+
+/**
+ * This class represents the rules of a game: the number of moves per
+ * turn, how long vegetables stay fresh in the barn, how fast vegetables
+ * grow, the capacities and numbers of the acreage types, the price
+ * tables of the vegetable market and the acreages every player starts
+ * with.
+ * 
+ * Rules are loaded from a properties file (see {@link #load(Path)}).
+ * Every rule that is missing in the file keeps its standard value (see
+ * {@link #DEFAULT}), so a file only needs to list the rules it changes.
+ * The rules are compiled into final primitive fields and arrays when
+ * they are loaded and never change afterwards, so any number of rule
+ * sets can be used by different games in the same program.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public final class RuleSet {
+
+    /**
+     * These are the standard rules of the game.
+     */
+    public static final RuleSet DEFAULT = createDefault();
+
+    private static final String KEY_MOVES_PER_PLAYER = "moves.per.player";
+    private static final String KEY_ROUNDS_UNTIL_SPOIL = "barn.rounds.until.spoil";
+    private static final String KEY_GROW_FACTOR = "acreage.grow.factor";
+    private static final String KEY_CAPACITY = "acreage.%s.capacity";
+    private static final String KEY_NUMBER_PER_PLAYER = "acreage.%s.number.per.player";
+    private static final String KEY_TIME_TO_GROW = "vegetable.%s.time.to.grow";
+    private static final String KEY_PRICES = "market.%s.prices";
+    private static final String KEY_PAIRS = "market.pairs";
+    private static final String KEY_INITIAL_ACREAGES = "player.initial.acreages";
+
+    private static final int DEFAULT_MOVES_PER_PLAYER = 2;
+    private static final int DEFAULT_ROUNDS_UNTIL_SPOIL = 6;
+    private static final int DEFAULT_GROW_FACTOR = 2;
+    private static final String DEFAULT_PAIRS = "carrot mushroom, salad tomato";
+    private static final String DEFAULT_INITIAL_ACREAGES = "-1 0 garden, 1 0 garden, 0 1 field";
+    // Only compile-time constants can be used while DEFAULT gets created.
+    private static final String DEFAULT_CARROT_PRICES = "3 2 2 2 1";
+    private static final String DEFAULT_SALAD_PRICES = "6 5 4 3 2";
+    private static final String DEFAULT_TOMATO_PRICES = "3 5 6 7 9";
+    private static final String DEFAULT_MUSHROOM_PRICES = "12 15 16 17 20";
+
+    // The market starts at the third price of every table.
+    private static final int MIN_NUMBER_OF_PRICES = 3;
+    private static final String LIST_SEPARATOR = ",";
+    private static final String VALUE_SEPARATOR = "\\s+";
+    private static final int VALUES_PER_PAIR = 2;
+    private static final int VALUES_PER_ACREAGE = 3;
+    // Larger acreages would make the precomputed growth tables too large. Larger
+    // grow factors would fill every acreage at once and could overflow the amounts.
+    private static final int MAX_CAPACITY = 10000;
+
+    private static final String ERROR_NUMBER = "The rule %s must be a number of at least %d";
+    private static final String ERROR_NUMBER_RANGE = "The rule %s must be a number from %d to %d";
+    private static final String ERROR_FORMAT = "The rule %s has an invalid value: %s";
+    private static final String ERROR_UNKNOWN_RULE = "There is no rule called %s";
+    private static final String ERROR_PAIRED_TWICE = "The vegetable %s is linked to more than one vegetable";
+    private static final String ERROR_INITIAL_POSITION = "No player can start with an acreage at (%d, %d)";
+    private static final String ERROR_INITIAL_NUMBER = "Players start with more acreages of type %s than exist";
+
+    private final int movesPerPlayer;
+    private final int roundsUntilSpoil;
+    private final int growFactor;
+    // Indexed by the ordinal of the acreage type
+    private final int[] capacities;
+    private final int[] numbersPerPlayer;
+    // Doublings until an acreage of a type (first index) holding an amount
+    // (second index) is full, or YieldForecast.NEVER if it is empty.
+    private final int[][] doublingsUntilFull;
+    // Powers of the grow factor up to the largest number of doublings above.
+    private final int[] growFactorPowers;
+    // Indexed by the ordinal of the vegetable type
+    private final int[] timesToGrow;
+    private final int[][] prices;
+    private final VegetableType[] pairFirsts;
+    private final VegetableType[] pairSeconds;
+    private final Position[] initialPositions;
+    private final AcreageType[] initialTypes;
+
+    private RuleSet(Properties properties) throws IllegalInputException {
+        Set<String> unusedKeys = new HashSet<>(properties.stringPropertyNames());
+        this.movesPerPlayer = parseNumber(properties, unusedKeys, KEY_MOVES_PER_PLAYER, DEFAULT_MOVES_PER_PLAYER, 1);
+        this.roundsUntilSpoil = parseNumber(properties, unusedKeys, KEY_ROUNDS_UNTIL_SPOIL,
+                DEFAULT_ROUNDS_UNTIL_SPOIL, 1);
+        this.growFactor = parseNumber(properties, unusedKeys, KEY_GROW_FACTOR, DEFAULT_GROW_FACTOR, 2,
+                MAX_CAPACITY);
+
+        this.capacities = new int[AcreageType.values().length];
+        this.numbersPerPlayer = new int[AcreageType.values().length];
+        for (AcreageType type : AcreageType.values()) {
+            this.capacities[type.ordinal()] = parseNumber(properties, unusedKeys,
+                    KEY_CAPACITY.formatted(getKeyName(type)), type.getCapacity(), 1, MAX_CAPACITY);
+            this.numbersPerPlayer[type.ordinal()] = parseNumber(properties, unusedKeys,
+                    KEY_NUMBER_PER_PLAYER.formatted(getKeyName(type)), type.getNumberPerPlayer(), 0);
+        }
+        this.doublingsUntilFull = this.createDoublingTable();
+        this.growFactorPowers = this.createGrowFactorPowers();
+
+        this.timesToGrow = new int[VegetableType.values().length];
+        this.prices = new int[VegetableType.values().length][];
+        for (VegetableType vegetable : VegetableType.values()) {
+            this.timesToGrow[vegetable.ordinal()] = parseNumber(properties, unusedKeys,
+                    KEY_TIME_TO_GROW.formatted(vegetable.getSingularName()), vegetable.getTimeToGrow(), 1);
+            this.prices[vegetable.ordinal()] = parsePrices(properties, unusedKeys, vegetable);
+        }
+
+        String[] pairs = getList(properties, unusedKeys, KEY_PAIRS, DEFAULT_PAIRS);
+        this.pairFirsts = new VegetableType[pairs.length];
+        this.pairSeconds = new VegetableType[pairs.length];
+        this.parsePairs(pairs);
+
+        String[] acreages = getList(properties, unusedKeys, KEY_INITIAL_ACREAGES, DEFAULT_INITIAL_ACREAGES);
+        this.initialPositions = new Position[acreages.length];
+        this.initialTypes = new AcreageType[acreages.length];
+        this.parseInitialAcreages(acreages);
+
+        if (!unusedKeys.isEmpty()) {
+            throw new IllegalInputException(ERROR_UNKNOWN_RULE.formatted(unusedKeys.iterator().next()));
+        }
+    }
+
+    private static RuleSet createDefault() {
+        try {
+            return new RuleSet(new Properties());
+        } catch (IllegalInputException illegalInputException) {
+            throw new IllegalStateException(illegalInputException.getMessage(), illegalInputException);
+        }
+    }
+
+    /**
+     * This method compiles rules from properties. Rules that are not set keep
+     * their standard value.
+     * 
+     * @param properties The rules as properties
+     * @return The compiled rules
+     * @throws IllegalInputException if a rule is unknown or has an invalid value
+     */
+    public static RuleSet parse(Properties properties) throws IllegalInputException {
+        return new RuleSet(properties);
+    }
+
+    /**
+     * This method loads rules from a properties file. Rules that are not set in the
+     * file keep their standard value.
+     * 
+     * @param path Path of the properties file
+     * @return The compiled rules
+     * @throws IOException           if the file could not be read
+     * @throws IllegalInputException if a rule is unknown or has an invalid value
+     */
+    public static RuleSet load(Path path) throws IOException, IllegalInputException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return parse(properties);
+    }
+
+    private static String getKeyName(AcreageType type) {
+        return type.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static String getValue(Properties properties, Set<String> unusedKeys, String key, String defaultValue) {
+        unusedKeys.remove(key);
+        return properties.getProperty(key, defaultValue).strip();
+    }
+
+    private static String[] getList(Properties properties, Set<String> unusedKeys, String key,
+            String defaultValue) {
+        String value = getValue(properties, unusedKeys, key, defaultValue);
+        return value.isEmpty() ? new String[0] : value.split(LIST_SEPARATOR);
+    }
+
+    private static int parseNumber(Properties properties, Set<String> unusedKeys, String key, int defaultValue,
+            int minValue) throws IllegalInputException {
+        return parseNumber(properties, unusedKeys, key, defaultValue, minValue, Integer.MAX_VALUE);
+    }
+
+    private static int parseNumber(Properties properties, Set<String> unusedKeys, String key, int defaultValue,
+            int minValue, int maxValue) throws IllegalInputException {
+        String value = getValue(properties, unusedKeys, key, Integer.toString(defaultValue));
+        String error = maxValue == Integer.MAX_VALUE ? ERROR_NUMBER.formatted(key, minValue)
+                : ERROR_NUMBER_RANGE.formatted(key, minValue, maxValue);
+        int number;
+        try {
+            number = Integer.parseInt(value);
+        } catch (NumberFormatException numberFormatException) {
+            throw new IllegalInputException(error);
+        }
+        if (number < minValue || number > maxValue) {
+            throw new IllegalInputException(error);
+        }
+        return number;
+    }
+
+    private static String getDefaultPrices(VegetableType vegetable) {
+        switch (vegetable) {
+            case CARROT:
+                return DEFAULT_CARROT_PRICES;
+            case SALAD:
+                return DEFAULT_SALAD_PRICES;
+            case TOMATO:
+                return DEFAULT_TOMATO_PRICES;
+            default:
+                return DEFAULT_MUSHROOM_PRICES;
+        }
+    }
+
+    private static int[] parsePrices(Properties properties, Set<String> unusedKeys, VegetableType vegetable)
+            throws IllegalInputException {
+        String key = KEY_PRICES.formatted(vegetable.getSingularName());
+        String value = getValue(properties, unusedKeys, key, getDefaultPrices(vegetable));
+        String[] numbers = value.split(VALUE_SEPARATOR);
+        if (numbers.length < MIN_NUMBER_OF_PRICES) {
+            throw new IllegalInputException(ERROR_FORMAT.formatted(key, value));
+        }
+        int[] result = new int[numbers.length];
+        try {
+            for (int i = 0; i < numbers.length; i++) {
+                result[i] = Integer.parseInt(numbers[i]);
+                if (result[i] < 0) {
+                    throw new IllegalInputException(ERROR_FORMAT.formatted(key, value));
+                }
+            }
+        } catch (NumberFormatException numberFormatException) {
+            throw new IllegalInputException(ERROR_FORMAT.formatted(key, value));
+        }
+        return result;
+    }
+
+    private void parsePairs(String[] pairs) throws IllegalInputException {
+        Set<VegetableType> paired = new HashSet<>();
+        for (int i = 0; i < pairs.length; i++) {
+            String[] names = pairs[i].strip().split(VALUE_SEPARATOR);
+            if (names.length != VALUES_PER_PAIR) {
+                throw new IllegalInputException(ERROR_FORMAT.formatted(KEY_PAIRS, pairs[i].strip()));
+            }
+            this.pairFirsts[i] = parseVegetable(names[0], KEY_PAIRS);
+            this.pairSeconds[i] = parseVegetable(names[1], KEY_PAIRS);
+            for (VegetableType vegetable : new VegetableType[] {this.pairFirsts[i], this.pairSeconds[i]}) {
+                if (!paired.add(vegetable)) {
+                    throw new IllegalInputException(ERROR_PAIRED_TWICE.formatted(vegetable.getSingularName()));
+                }
+            }
+        }
+    }
+
+    private static VegetableType parseVegetable(String name, String key) throws IllegalInputException {
+        VegetableType vegetable = VegetableType.parse(name);
+        if (vegetable == null) {
+            throw new IllegalInputException(ERROR_FORMAT.formatted(key, name));
+        }
+        return vegetable;
+    }
+
+    private void parseInitialAcreages(String[] acreages) throws IllegalInputException {
+        int[] numbers = new int[AcreageType.values().length];
+        Set<Position> positions = new HashSet<>();
+        for (int i = 0; i < acreages.length; i++) {
+            String[] values = acreages[i].strip().split(VALUE_SEPARATOR);
+            if (values.length != VALUES_PER_ACREAGE) {
+                throw new IllegalInputException(ERROR_FORMAT.formatted(KEY_INITIAL_ACREAGES, acreages[i].strip()));
+            }
+            Position position;
+            try {
+                position = new Position(Integer.parseInt(values[0]), Integer.parseInt(values[1]));
+            } catch (NumberFormatException numberFormatException) {
+                throw new IllegalInputException(ERROR_FORMAT.formatted(KEY_INITIAL_ACREAGES, acreages[i].strip()));
+            }
+            // Acreages can never lie below the barn.
+            if (position.getY() < 0 || position.equals(Farm.BARN_POSITION) || !positions.add(position)) {
+                throw new IllegalInputException(ERROR_INITIAL_POSITION.formatted(position.getX(), position.getY()));
+            }
+            AcreageType type = null;
+            for (AcreageType candidate : AcreageType.values()) {
+                if (getKeyName(candidate).equals(values[2])) {
+                    type = candidate;
+                }
+            }
+            if (type == null) {
+                throw new IllegalInputException(ERROR_FORMAT.formatted(KEY_INITIAL_ACREAGES, values[2]));
+            }
+            if (++numbers[type.ordinal()] > this.numbersPerPlayer[type.ordinal()]) {
+                throw new IllegalInputException(ERROR_INITIAL_NUMBER.formatted(getKeyName(type)));
+            }
+            this.initialPositions[i] = position;
+            this.initialTypes[i] = type;
+        }
+    }
+
+    private int[][] createDoublingTable() {
+        int[][] table = new int[AcreageType.values().length][];
+        for (AcreageType type : AcreageType.values()) {
+            int capacity = this.capacities[type.ordinal()];
+            table[type.ordinal()] = new int[capacity + 1];
+            table[type.ordinal()][0] = YieldForecast.NEVER;
+            for (int amount = 1; amount <= capacity; amount++) {
+                int doublings = 0;
+                for (long grown = amount; grown < capacity; grown *= this.growFactor) {
+                    doublings++;
+                }
+                table[type.ordinal()][amount] = doublings;
+            }
+        }
+        return table;
+    }
+
+    private int[] createGrowFactorPowers() {
+        int maxDoublings = 0;
+        for (int[] doublings : this.doublingsUntilFull) {
+            // One vegetable needs the most doublings.
+            maxDoublings = Math.max(maxDoublings, doublings[1]);
+        }
+        int[] powers = new int[maxDoublings + 1];
+        powers[0] = 1;
+        for (int i = 1; i < powers.length; i++) {
+            // Only powers below the largest capacity are needed, the last one may be capped.
+            powers[i] = (int) Math.min(MAX_CAPACITY, (long) powers[i - 1] * this.growFactor);
+        }
+        return powers;
+    }
+
+    /**
+     * This method returns the number of moves every player has per turn.
+     * 
+     * @return The number of moves every player has per turn
+     */
+    public int getMovesPerPlayer() {
+        return this.movesPerPlayer;
+    }
+
+    /**
+     * This method returns the number of rounds after which the vegetables in a
+     * barn spoil.
+     * 
+     * @return The number of rounds until the vegetables in a barn spoil
+     */
+    public int getRoundsUntilSpoil() {
+        return this.roundsUntilSpoil;
+    }
+
+    /**
+     * This method returns the factor by which the number of vegetables on an
+     * acreage grows every time they have grown.
+     * 
+     * @return The grow factor
+     */
+    public int getGrowFactor() {
+        return this.growFactor;
+    }
+
+    /**
+     * This method returns the capacity of an acreage type.
+     * 
+     * @param type The acreage type
+     * @return The capacity of the acreage type
+     */
+    public int getCapacity(AcreageType type) {
+        return this.capacities[type.ordinal()];
+    }
+
+    /**
+     * This method returns how many acreages of a type exist per player, including
+     * the acreages the players start with.
+     * 
+     * @param type The acreage type
+     * @return The number of acreages of the type per player
+     */
+    public int getNumberPerPlayer(AcreageType type) {
+        return this.numbersPerPlayer[type.ordinal()];
+    }
+
+    /**
+     * This method returns how many times the vegetables on an acreage of a type
+     * have to grow until it is full.
+     * 
+     * @param type   The acreage type
+     * @param amount The current amount of vegetables on the acreage
+     * @return The number of times the vegetables have to grow or
+     *         {@link YieldForecast#NEVER} if the amount is zero
+     */
+    int getDoublingsUntilFull(AcreageType type, int amount) {
+        return this.doublingsUntilFull[type.ordinal()][amount];
+    }
+
+    /**
+     * This method returns how many vegetables an acreage of a type holds after
+     * the vegetables on it have grown a number of times.
+     * 
+     * @param type      The acreage type
+     * @param amount    The current amount of vegetables on the acreage
+     * @param doublings The number of times the vegetables grow
+     * @return The amount of vegetables after growing, at most the capacity
+     */
+    int getAmountAfterDoublings(AcreageType type, int amount, int doublings) {
+        if (amount == 0) {
+            return 0;
+        }
+        if (doublings >= this.getDoublingsUntilFull(type, amount)) {
+            return this.getCapacity(type);
+        }
+        return amount * this.growFactorPowers[doublings];
+    }
+
+    /**
+     * This method returns the number of rounds a vegetable type needs to grow.
+     * 
+     * @param vegetable The vegetable type
+     * @return The number of rounds the vegetable type needs to grow
+     */
+    public int getTimeToGrow(VegetableType vegetable) {
+        return this.timesToGrow[vegetable.ordinal()];
+    }
+
+    /**
+     * This method returns the price tables of the vegetable market. Every table
+     * contains all possible prices of a vegetable type.
+     * 
+     * @return A copy of the price tables of the vegetable market
+     */
+    public Map<VegetableType, int[]> getMarketPrices() {
+        Map<VegetableType, int[]> result = new HashMap<>();
+        for (VegetableType vegetable : VegetableType.values()) {
+            result.put(vegetable, this.prices[vegetable.ordinal()].clone());
+        }
+        return result;
+    }
+
+    /**
+     * This method returns the pairs of vegetable types whose prices are linked.
+     * 
+     * @return A copy of the pairs of vegetable types whose prices are linked
+     */
+    public Set<Pair<VegetableType, VegetableType>> getMarketPairs() {
+        Set<Pair<VegetableType, VegetableType>> result = new HashSet<>();
+        for (int i = 0; i < this.pairFirsts.length; i++) {
+            result.add(new Pair<VegetableType, VegetableType>(this.pairFirsts[i], this.pairSeconds[i]));
+        }
+        return result;
+    }
+
+    /**
+     * This method returns the acreages every player has on their farm when the
+     * game starts.
+     * 
+     * @return An unmodifiable map of the positions and types of the initial
+     *         acreages
+     */
+    public Map<Position, AcreageType> getInitialAcreageTypes() {
+        Map<Position, AcreageType> result = new LinkedHashMap<>();
+        for (int i = 0; i < this.initialPositions.length; i++) {
+            result.put(this.initialPositions[i], this.initialTypes[i]);
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * This method returns how many acreages of a type every player has on their
+     * farm when the game starts.
+     * 
+     * @param type The acreage type
+     * @return The number of initial acreages of the type
+     */
+    public int getInitialNumberOf(AcreageType type) {
+        int number = 0;
+        for (AcreageType initialType : this.initialTypes) {
+            if (initialType == type) {
+                number++;
+            }
+        }
+        return number;
+    }
+
+}
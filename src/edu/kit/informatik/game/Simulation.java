@@ -0,0 +1,143 @@
+package edu.kit.informatik.game;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import edu.kit.informatik.exceptions.IllegalMoveException;
+
+/**
+ * This class models a simulation of the game from the point of view of a
+ * single player. It works on a copy of the player and of the common
+ * markets, so moves can be tried out without changing the real game.
+ * Other players are not simulated: whenever the simulated player runs
+ * out of moves, their farm gets updated, the market adapts and a new
+ * turn begins. Optionally every applied move can be recorded in an
+ * undo log, so a depth-first search can revert moves instead of copying
+ * the simulation.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public class Simulation {
+
+    private static final String ERROR_NOTHING_TO_UNDO = "There is no move to undo";
+    // Undo operation code
+    private static final int TURNS = 0;
+
+    private final UndoLog.Target inverse = (operation, value, payload) -> this.numberOfTurns = (int) value;
+    private final Player player;
+    private int numberOfTurns;
+    private UndoLog undoLog;
+    private final Deque<Integer> appliedMoves = new ArrayDeque<>();
+
+    /**
+     * This constructor creates a new simulation that starts at the current state
+     * of a player.
+     * 
+     * @param player The player whose game should be simulated
+     */
+    public Simulation(Player player) {
+        this.player = new Player(player);
+        this.numberOfTurns = 0;
+    }
+
+    /**
+     * This constructor creates a new simulation by copying an existing one.
+     * 
+     * @param simulationToCopy simulation to copy
+     */
+    public Simulation(Simulation simulationToCopy) {
+        this.player = new Player(simulationToCopy.player);
+        this.numberOfTurns = simulationToCopy.numberOfTurns;
+    }
+
+    /**
+     * This method applies a move to the simulated player. If the player has no
+     * moves left afterwards, the next turn begins.
+     * 
+     * @param move The move to apply
+     * @throws IllegalMoveException if a game rule was broken by the move
+     */
+    public void apply(Move move) throws IllegalMoveException {
+        int checkpoint = this.undoLog == null ? 0 : this.undoLog.getSize();
+        move.applyTo(this.player);
+        if (!this.player.hasMovesLeft()) {
+            this.player.update();
+            this.player.allowMoves(this.player.getRules().getMovesPerPlayer());
+            if (this.undoLog != null) {
+                this.undoLog.record(this.inverse, TURNS, this.numberOfTurns);
+            }
+            this.numberOfTurns++;
+        }
+        if (this.undoLog != null) {
+            this.appliedMoves.push(checkpoint);
+        }
+    }
+
+    /**
+     * This method starts recording all following moves, so they can be reverted
+     * with {@link #undo()}.
+     */
+    public void enableUndo() {
+        if (this.undoLog == null) {
+            this.undoLog = new UndoLog();
+            this.player.setUndoLog(this.undoLog);
+        }
+    }
+
+    /**
+     * This method reverts the latest move that has been applied since undo was
+     * enabled, including the start of a new turn it may have caused.
+     * 
+     * @throws IllegalMoveException if there is no move to undo
+     */
+    public void undo() throws IllegalMoveException {
+        if (this.appliedMoves.isEmpty()) {
+            throw new IllegalMoveException(ERROR_NOTHING_TO_UNDO);
+        }
+        this.undoLog.undoTo(this.appliedMoves.pop());
+    }
+
+    /**
+     * This method returns the simulated player. Moves should be made through
+     * {@link #apply(Move)} so that turns end properly.
+     * 
+     * @return The simulated player
+     */
+    public Player getPlayer() {
+        return this.player;
+    }
+
+    /**
+     * This method returns a hash of the simulated state. It covers the state of the
+     * simulated player and the number of completed turns.
+     * 
+     * @return A hash of the simulated state
+     */
+    public long getStateHash() {
+        return this.player.getStateHash() ^ Zobrist.turns(this.numberOfTurns);
+    }
+
+    /**
+     * This method returns a hash of the state of the simulated player without
+     * their gold and the number of completed turns. States that only differ in
+     * gold get the same hash, so a search can tell that one of them is at least
+     * as good as the other.
+     * 
+     * @return A hash of the simulated state without the gold
+     */
+    public long getHashWithoutGold() {
+        return this.player.getStateHash() ^ Zobrist.gold(this.player.getAmountOfGold());
+    }
+
+    /**
+     * This method returns the number of turns that have been completed in this
+     * simulation.
+     * 
+     * @return The number of completed turns
+     */
+    public int getNumberOfTurns() {
+        return this.numberOfTurns;
+    }
+
+}
@@ -9,7 +9,12 @@ package edu.kit.informatik.game;
  */
 public abstract class Tile {
 
+    private static final int COUNTDOWN = 0;
+
+    private final UndoLog.Target inverse = (operation, value, payload) -> this.revert(operation, value);
     private int countdown = -1;
+    private long modificationCount = 0;
+    private UndoLog undoLog;
 
     /**
      * This constructor makes a copy of another tile
@@ -18,6 +23,7 @@ public abstract class Tile {
      */
     public Tile(Tile tileToCopy) {
         this.countdown = tileToCopy.countdown;
+        this.modificationCount = tileToCopy.modificationCount;
     }
 
     /**
@@ -34,9 +40,9 @@ public abstract class Tile {
     public void update() {
         if (countdown == -1)
             return;
-        this.countdown -= 1;
+        this.changeCountdown(this.countdown - 1);
         if (countdown == 0) {
-            this.countdown = -1;
+            this.changeCountdown(-1);
             this.onCountdown();
         }
     }
@@ -48,14 +54,21 @@ public abstract class Tile {
      * @param time Time until the contdown is over
      */
     public void setCountdown(int time) {
-        this.countdown = time;
+        this.changeCountdown(time);
     }
 
     /**
      * This method removes the current countdown.
      */
     public void removeCountdown() {
-        this.countdown = -1;
+        this.changeCountdown(-1);
+    }
+
+    private void changeCountdown(int countdown) {
+        int oldCountdown = this.countdown;
+        this.record(COUNTDOWN, oldCountdown);
+        this.markModified();
+        this.countdown = countdown;
     }
 
     /**
@@ -76,6 +89,62 @@ public abstract class Tile {
         return this.countdown;
     }
 
+    /**
+     * This method returns the modification count of this tile. It gets increased
+     * every time the state of this tile changes, so two equal counts mean that the
+     * tile has not changed in between.
+     * 
+     * @return The modification count of this tile
+     */
+    public long getModificationCount() {
+        return this.modificationCount;
+    }
+
+    /**
+     * This method increases the modification count of this tile. Subclasses must
+     * call it whenever they change their state.
+     */
+    protected void markModified() {
+        this.modificationCount++;
+    }
+
+    /**
+     * This method attaches an undo log to this tile. All following changes of
+     * this tile get recorded in it.
+     * 
+     * @param undoLog The undo log or null to stop recording
+     */
+    void setUndoLog(UndoLog undoLog) {
+        this.undoLog = undoLog;
+    }
+
+    /**
+     * This method appends an inverse operation to the undo log of this tile if
+     * there is one. It gets reverted by {@link #revert(int, long)}.
+     * 
+     * @param operation The operation code that tells which field changed
+     * @param value     The previous value of the field
+     */
+    void record(int operation, long value) {
+        if (this.undoLog != null) {
+            this.undoLog.record(this.inverse, operation, value);
+        }
+    }
+
+    /**
+     * This method reverts a change recorded with {@link #record(int, long)}.
+     * Subclasses that record their own operations must override it and pass
+     * all other operations on.
+     * 
+     * @param operation The operation code the change was recorded with
+     * @param value     The previous value of the field
+     */
+    void revert(int operation, long value) {
+        if (operation == COUNTDOWN) {
+            this.changeCountdown((int) value);
+        }
+    }
+
     /**
      * This method gets called when the countdown ist over.
      */
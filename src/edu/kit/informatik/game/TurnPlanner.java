@@ -0,0 +1,69 @@
+package edu.kit.informatik.game;
+
+import java.util.List;
+
+import edu.kit.informatik.exceptions.IllegalMoveException;
+
+/**
+ * This interface models a player controller that plans all moves of a
+ * turn before making any of them. The plan must only depend on the state
+ * of the player that {@link Player#getStateHash()} covers, that is the
+ * farm, the common markets and the number of moves left. Then a plan can
+ * be made on a copy of the player ahead of time and reused as long as
+ * the state has not changed (see
+ * {@link GameMaster#play(TurnPlanner, java.util.concurrent.ExecutorService)}).
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public interface TurnPlanner extends PlayerController {
+
+    /**
+     * This method plans the moves of the current turn of a player. The player is
+     * a copy, so the planner may change it freely.
+     * 
+     * @param player A copy of the player whose turn it is
+     * @return The moves of the turn in order or null if the player quits
+     */
+    List<Move> planTurn(Player player);
+
+    /**
+     * This method plans the turn of a player on a copy of it and makes the
+     * planned moves.
+     * 
+     * @param player The current player
+     */
+    @Override
+    default void doTurn(Player player) {
+        this.makeTurn(player, this.planTurn(new Player(player)));
+    }
+
+    /**
+     * This method makes the planned moves of a turn. Moves that break a game rule
+     * are skipped. The turn ends after the last move even if the player has moves
+     * left.
+     * 
+     * @param player The current player
+     * @param moves  The planned moves or null if the player quits
+     */
+    default void makeTurn(Player player, List<Move> moves) {
+        if (moves == null) {
+            player.quitGame();
+            return;
+        }
+        for (Move move : moves) {
+            if (!player.hasMovesLeft()) {
+                return;
+            }
+            try {
+                move.applyTo(player);
+            } catch (IllegalMoveException illegalMoveException) {
+                // Like a command with a typo, the move has no effect.
+            }
+        }
+        if (player.hasMovesLeft()) {
+            player.endTurn();
+        }
+    }
+
+}
@@ -0,0 +1,109 @@
+package edu.kit.informatik.game;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import edu.kit.informatik.exceptions.IllegalMoveException;
+import edu.kit.informatik.exceptions.NoMovesLeftException;
+import edu.kit.informatik.exceptions.RejectedTurnException;
+
+/**
+ * This class makes all moves of a turn at once (see
+ * {@link Player#submitTurn(List)}).
+ * 
+ * The moves are first made on a copy of the player, which has its own
+ * farm and its own copies of the common markets. This checks the number
+ * of moves and every game rule without changing the game and without
+ * holding any lock. Only if all moves succeed there, they are made on
+ * the player.
+ * 
+ * Other players of a {@link RealTimeGame} could change the common
+ * markets in between, so that a move fails on the player after the moves
+ * before it have been made. Therefore the moves are made on the player
+ * while the acreage market and the prices of the vegetable market are
+ * locked. If the player has an undo log, a rejected move reverts the
+ * moves before it through the log. Otherwise the moves are checked on a
+ * new copy first, but only if the prices or the acreages for sale have
+ * changed since the first check. Sales of other players do not change
+ * the prices until they are adapted, so in all other cases the moves
+ * succeed on the player exactly as they did on the copy.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+final class TurnSubmission {
+
+    private TurnSubmission() {
+    }
+
+    /**
+     * This method makes all moves of a turn or none of them.
+     * 
+     * @param player  The player whose turn it is
+     * @param undoLog The undo log of the player or null if it has none
+     * @param moves   The moves of the turn in the order they should be made
+     * @return The results of the moves in order (see {@link Move#applyTo(Player)})
+     * @throws RejectedTurnException if a move of the turn breaks a game rule
+     */
+    static List<Object> submit(Player player, UndoLog undoLog, List<Move> moves) throws RejectedTurnException {
+        // The markets must be read before they get copied, so a change in between is noticed.
+        int[] markets = getMarketState(player);
+        apply(new Player(player), moves);
+
+        // No other code holds both locks, so the order cannot cause a deadlock.
+        synchronized (player.getAcreageMarketState()) {
+            synchronized (player.getVegetableMarketState().getPriceLock()) {
+                if (undoLog != null) {
+                    int checkpoint = undoLog.getSize();
+                    try {
+                        return apply(player, moves);
+                    } catch (RejectedTurnException rejectedTurnException) {
+                        undoLog.undoTo(checkpoint);
+                        throw rejectedTurnException;
+                    }
+                }
+                if (!Arrays.equals(markets, getMarketState(player))) {
+                    apply(new Player(player), moves);
+                }
+                return apply(player, moves);
+            }
+        }
+    }
+
+    private static int[] getMarketState(Player player) {
+        VegetableType[] vegetables = VegetableType.values();
+        int[] state = new int[vegetables.length + 1];
+        for (VegetableType vegetable : vegetables) {
+            state[vegetable.ordinal()] = player.getVegetableMarketState().getPrice(vegetable);
+        }
+        state[vegetables.length] = player.getAcreageMarketState().getNumberOfAcreagesLeft();
+        return state;
+    }
+
+    /**
+     * This method makes the moves of a turn one after another. It is not atomic:
+     * if a move breaks a game rule, the moves before it stay made.
+     * 
+     * @param player The player whose turn it is
+     * @param moves  The moves of the turn in the order they should be made
+     * @return The results of the moves in order (see {@link Move#applyTo(Player)})
+     * @throws RejectedTurnException if a move of the turn breaks a game rule. The
+     *                               moves before it have been made then.
+     */
+    static List<Object> apply(Player player, List<Move> moves) throws RejectedTurnException {
+        List<Object> results = new ArrayList<>(moves.size());
+        for (int i = 0; i < moves.size(); i++) {
+            try {
+                results.add(moves.get(i).applyTo(player));
+            } catch (IllegalMoveException illegalMoveException) {
+                throw new RejectedTurnException(i, illegalMoveException);
+            } catch (NoMovesLeftException noMovesLeftException) {
+                // The turn has more moves than the player has left.
+                throw new RejectedTurnException(i, new IllegalMoveException(noMovesLeftException.getMessage()));
+            }
+        }
+        return results;
+    }
+
+}
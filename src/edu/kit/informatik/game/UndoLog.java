@@ -0,0 +1,218 @@
+package edu.kit.informatik.game;
+
+import java.util.Arrays;
+
+/**
+ * This class represents a log of inverse operations. Every state
+ * changing operation of an object the log is attached to appends a
+ * record that restores the previous value of the changed field. Undoing
+ * replays these records in reverse order, so the prior state gets
+ * restored in time proportional to the number of changes without
+ * copying any objects. Checkpoints separate the records of single
+ * operations of a player (see {@link Player#undo()}).
+ * 
+ * A record is not a closure but a typed entry: the object that reverts
+ * it, an operation code that tells the object which field to restore and
+ * the previous value. The entries are kept in parallel arrays, so
+ * recording a primitive field allocates nothing. Changes that cannot be
+ * described by a number carry an additional payload.
+ * 
+ * Modification counts are not restored but increased by undoing, so
+ * caches keyed by them never mistake an undone state for a later one.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public class UndoLog {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long LOW_BITS = 0xFFFFFFFFL;
+
+    private Target[] targets = new Target[INITIAL_CAPACITY];
+    private int[] operations = new int[INITIAL_CAPACITY];
+    private long[] values = new long[INITIAL_CAPACITY];
+    private Object[] payloads = new Object[INITIAL_CAPACITY];
+    private int size = 0;
+    private int[] checkpoints = new int[INITIAL_CAPACITY];
+    private int numberOfCheckpoints = 0;
+    private boolean undoing = false;
+
+    /**
+     * This interface is implemented by the objects that revert the records of
+     * an undo log. Every object that records changes creates its targets once,
+     * so recording does not create new ones.
+     * 
+     * @author ulqch
+     * @version 1.0
+     */
+    interface Target {
+
+        /**
+         * This method reverts a single recorded change.
+         * 
+         * @param operation The operation code the change was recorded with
+         * @param value     The value the change was recorded with
+         * @param payload   The payload the change was recorded with or null
+         */
+        void revert(int operation, long value, Object payload);
+    }
+
+    /**
+     * This method appends an inverse operation without payload to this log.
+     * While this log is undoing, nothing gets recorded, so inverse operations can
+     * use the same setters as the operations they revert.
+     * 
+     * @param target    The object that reverts the change
+     * @param operation The operation code that tells the target what to revert
+     * @param value     The previous value of the changed field
+     */
+    void record(Target target, int operation, long value) {
+        this.record(target, operation, value, null);
+    }
+
+    /**
+     * This method appends an inverse operation to this log. While this log is
+     * undoing, nothing gets recorded, so inverse operations can use the same
+     * setters as the operations they revert.
+     * 
+     * @param target    The object that reverts the change
+     * @param operation The operation code that tells the target what to revert
+     * @param value     The previous value of the changed field
+     * @param payload   Additional state needed to revert the change or null
+     */
+    void record(Target target, int operation, long value, Object payload) {
+        if (this.undoing) {
+            return;
+        }
+        if (this.size == this.targets.length) {
+            int capacity = 2 * this.targets.length;
+            this.targets = Arrays.copyOf(this.targets, capacity);
+            this.operations = Arrays.copyOf(this.operations, capacity);
+            this.values = Arrays.copyOf(this.values, capacity);
+            this.payloads = Arrays.copyOf(this.payloads, capacity);
+        }
+        this.targets[this.size] = target;
+        this.operations[this.size] = operation;
+        this.values[this.size] = value;
+        this.payloads[this.size] = payload;
+        this.size++;
+    }
+
+    /**
+     * This method starts a new checkpoint. All records appended afterwards
+     * belong to the new checkpoint until the next one is started.
+     */
+    void mark() {
+        if (this.numberOfCheckpoints == this.checkpoints.length) {
+            this.checkpoints = Arrays.copyOf(this.checkpoints, 2 * this.checkpoints.length);
+        }
+        this.checkpoints[this.numberOfCheckpoints++] = this.size;
+    }
+
+    /**
+     * This method removes all checkpoints, so the changes recorded so far can no
+     * longer be undone with {@link #undo()}. They are still reverted by
+     * {@link #undoTo(int)}. It is used after moves that reveal hidden
+     * information, such as the next acreage of the acreage market.
+     */
+    void seal() {
+        this.numberOfCheckpoints = 0;
+    }
+
+    /**
+     * This method reverts all changes since the latest checkpoint that contains
+     * any changes. Checkpoints without changes (for example of moves that were
+     * rejected) are skipped.
+     * 
+     * @return true if something was undone
+     */
+    public boolean undo() {
+        while (this.numberOfCheckpoints > 0 && this.checkpoints[this.numberOfCheckpoints - 1] == this.size) {
+            this.numberOfCheckpoints--;
+        }
+        if (this.numberOfCheckpoints == 0) {
+            return false;
+        }
+        this.undoTo(this.checkpoints[this.numberOfCheckpoints - 1]);
+        return true;
+    }
+
+    /**
+     * This method reverts changes until the log contains the given number of
+     * records again. Checkpoints started after that point get removed.
+     * 
+     * @param size Number of records to keep
+     */
+    public void undoTo(int size) {
+        this.undoing = true;
+        try {
+            while (this.size > size) {
+                this.size--;
+                Object payload = this.payloads[this.size];
+                this.payloads[this.size] = null;
+                this.targets[this.size].revert(this.operations[this.size], this.values[this.size], payload);
+                this.targets[this.size] = null;
+            }
+        } finally {
+            this.undoing = false;
+        }
+        while (this.numberOfCheckpoints > 0 && this.checkpoints[this.numberOfCheckpoints - 1] >= size) {
+            this.numberOfCheckpoints--;
+        }
+    }
+
+    /**
+     * This method returns the number of records in this log. It can be passed to
+     * {@link #undoTo(int)} later to revert everything that happens in between.
+     * 
+     * @return The number of records in this log
+     */
+    public int getSize() {
+        return this.size;
+    }
+
+    /**
+     * This method removes all records and checkpoints, so the current state can
+     * no longer be undone.
+     */
+    public void clear() {
+        Arrays.fill(this.targets, 0, this.size, null);
+        Arrays.fill(this.payloads, 0, this.size, null);
+        this.size = 0;
+        this.numberOfCheckpoints = 0;
+    }
+
+    /**
+     * This method packs two numbers into the value of a single record.
+     * 
+     * @param high The number in the upper half of the value
+     * @param low  The number in the lower half of the value
+     * @return The packed value
+     */
+    static long pack(int high, int low) {
+        return ((long) high << Integer.SIZE) | (low & LOW_BITS);
+    }
+
+    /**
+     * This method returns the upper number of a value packed with
+     * {@link #pack(int, int)}.
+     * 
+     * @param value The packed value
+     * @return The number in the upper half of the value
+     */
+    static int high(long value) {
+        return (int) (value >> Integer.SIZE);
+    }
+
+    /**
+     * This method returns the lower number of a value packed with
+     * {@link #pack(int, int)}.
+     * 
+     * @param value The packed value
+     * @return The number in the lower half of the value
+     */
+    static int low(long value) {
+        return (int) value;
+    }
+
+}
@@ -1,7 +1,5 @@
 package edu.kit.informatik.game;
 
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -13,18 +11,46 @@ import java.util.Arrays;
  * This class represents a vegetable market. It calculates the price of
  * vegetables based on how many vegetables were sold by players.
  * 
+ * All state is kept in arrays indexed by the ordinal of the vegetable
+ * type. The price tables of all vegetables are flattened into a single
+ * array and the linked pairs are precomputed as index arrays, so getting
+ * a price, selling and adapting the prices never look anything up in a
+ * map. The tables never change after construction and are shared by
+ * copies of a market. Copies also share the price history, but only the
+ * original market records rounds in it, so copying a market for a
+ * simulation does not copy the history.
+ * 
  * @author ulqch
  * @version 1.0
  */
 public class VegetableMarket {
 
+    private static final VegetableType[] VEGETABLES = VegetableType.values();
     private static final int INITIAL_INDICATOR = 2;
     private static final int DIFFERENCE_PER_SHIFT = 2;
+    private static final int NO_PRICES = -1;
+    private static final int HISTORY_CAPACITY = 32;
+    // Undo operation codes
+    private static final int SALE = 0;
+    private static final int ADAPTION = 1;
 
-    private final Map<VegetableType, Integer> indicators;
-    private final Map<VegetableType, int[]> prices;
-    private final Set<Pair<VegetableType, VegetableType>> pairs;
-    private Map<VegetableType, Integer> soldVegetables = new HashMap<>();
+    // Offset of the prices of a vegetable (index) in the flattened price table
+    // or NO_PRICES if the vegetable has no prices.
+    private final UndoLog.Target inverse = this::revert;
+    private final int[] priceOffsets;
+    private final int[] priceTable;
+    // The linked vegetables of the pair at an index and the largest indicator
+    // both of them have a price for.
+    private final int[] pairFirsts;
+    private final int[] pairSeconds;
+    private final int[] pairMaxIndicators;
+    private final int[] indicators;
+    private final int[] soldVegetables;
+    private final MarketHistory history;
+    private final boolean recordsHistory;
+    private long modificationCount = 0;
+    private long hash = 0;
+    private UndoLog undoLog;
 
     /**
      * This constructor creates a new vegetable market. It takes a price table which
@@ -35,16 +61,41 @@ public class VegetableMarket {
      * @param pairs  A set of vegetable pairs that determines which prices are linked
      */
     public VegetableMarket(Map<VegetableType, int[]> prices, Set<Pair<VegetableType, VegetableType>> pairs) {
-        this.prices = new HashMap<>(prices);
-        this.pairs = new HashSet<>(pairs);
-        this.indicators = new HashMap<>();
-        for (VegetableType vegetableType : this.prices.keySet()) {
-            this.indicators.put(vegetableType, INITIAL_INDICATOR);
+        this.priceOffsets = new int[VEGETABLES.length];
+        this.indicators = new int[VEGETABLES.length];
+        this.soldVegetables = new int[VEGETABLES.length];
+        this.history = new MarketHistory(HISTORY_CAPACITY);
+        this.recordsHistory = true;
+        int tableLength = 0;
+        for (int[] pricesOfVegetable : prices.values()) {
+            tableLength += pricesOfVegetable.length;
+        }
+        this.priceTable = new int[tableLength];
+        int offset = 0;
+        for (VegetableType vegetable : VEGETABLES) {
+            int[] pricesOfVegetable = prices.get(vegetable);
+            if (pricesOfVegetable == null) {
+                this.priceOffsets[vegetable.ordinal()] = NO_PRICES;
+            } else {
+                System.arraycopy(pricesOfVegetable, 0, this.priceTable, offset, pricesOfVegetable.length);
+                this.priceOffsets[vegetable.ordinal()] = offset;
+                this.indicators[vegetable.ordinal()] = INITIAL_INDICATOR;
+                offset += pricesOfVegetable.length;
+            }
         }
 
-        for (VegetableType vegetable : VegetableType.values()) {
-            this.soldVegetables.put(vegetable, 0);
+        this.pairFirsts = new int[pairs.size()];
+        this.pairSeconds = new int[pairs.size()];
+        this.pairMaxIndicators = new int[pairs.size()];
+        int index = 0;
+        for (Pair<VegetableType, VegetableType> pair : pairs) {
+            this.pairFirsts[index] = pair.getKey().ordinal();
+            this.pairSeconds[index] = pair.getValue().ordinal();
+            this.pairMaxIndicators[index] = Math.min(prices.get(pair.getKey()).length,
+                    prices.get(pair.getValue()).length) - 1;
+            index++;
         }
+        this.hash = this.computeHash();
     }
 
     /**
@@ -54,10 +105,41 @@ public class VegetableMarket {
      * @param marketToCopy vegetable market to copy
      */
     public VegetableMarket(VegetableMarket marketToCopy) {
-        this.prices = new HashMap<>(marketToCopy.prices);
-        this.pairs = new HashSet<>(marketToCopy.pairs);
-        this.soldVegetables = new HashMap<>(marketToCopy.soldVegetables);
-        this.indicators = new HashMap<>(marketToCopy.indicators);
+        VegetableMarket source = marketToCopy.getSnapshot();
+        this.priceOffsets = source.priceOffsets;
+        this.priceTable = source.priceTable;
+        this.pairFirsts = source.pairFirsts;
+        this.pairSeconds = source.pairSeconds;
+        this.pairMaxIndicators = source.pairMaxIndicators;
+        this.indicators = source.indicators.clone();
+        this.soldVegetables = source.soldVegetables.clone();
+        this.history = marketToCopy.history;
+        this.recordsHistory = false;
+        this.modificationCount = marketToCopy.getModificationCount();
+        this.hash = source.hash;
+    }
+
+    /**
+     * This method returns a market whose state can be copied by
+     * {@link #VegetableMarket(VegetableMarket)}. Markets that do not keep their
+     * state in the fields of this class return a new market with their current
+     * state.
+     * 
+     * @return This market
+     */
+    VegetableMarket getSnapshot() {
+        return this;
+    }
+
+    /**
+     * This method returns the lock that keeps the prices of this market from
+     * changing while it is held. Only markets that several threads use at the
+     * same time need it, the others return themselves.
+     * 
+     * @return The lock of the prices of this market
+     */
+    Object getPriceLock() {
+        return this;
     }
 
     /**
@@ -67,8 +149,19 @@ public class VegetableMarket {
      * @return The price of the specified vegetable type
      */
     public int getPrice(VegetableType vegetable) {
-        int indicator = this.indicators.get(vegetable);
-        return this.prices.get(vegetable)[indicator];
+        int index = vegetable.ordinal();
+        return this.priceTable[this.priceOffsets[index] + this.indicators[index]];
+    }
+
+    /**
+     * This method returns the price indicator of a specified vegetable type, which
+     * is the index of its current price in its price table.
+     * 
+     * @param vegetable Vegetable type of which the price indicator should be returned
+     * @return The price indicator of the specified vegetable type
+     */
+    public int getIndicator(VegetableType vegetable) {
+        return this.indicators[vegetable.ordinal()];
     }
 
     /**
@@ -79,7 +172,15 @@ public class VegetableMarket {
      * @param amount    Amount of vegetables that got sold
      */
     public void sell(VegetableType vegetable, int amount) {
-        this.soldVegetables.put(vegetable, this.soldVegetables.get(vegetable) + amount);
+        this.modificationCount++;
+        int index = vegetable.ordinal();
+        int soldBefore = this.soldVegetables[index];
+        if (this.undoLog != null) {
+            this.undoLog.record(this.inverse, SALE, UndoLog.pack(index, amount));
+        }
+        this.recordSales(vegetable, amount);
+        this.soldVegetables[index] = soldBefore + amount;
+        this.hash ^= Zobrist.sold(vegetable, soldBefore) ^ Zobrist.sold(vegetable, soldBefore + amount);
     }
 
     /**
@@ -88,30 +189,150 @@ public class VegetableMarket {
      * method).
      */
     public void adapt() {
-        for (Pair<VegetableType, VegetableType> pair : this.pairs) {
-            VegetableType first = pair.getKey();
-            VegetableType second = pair.getValue();
-            int delta = soldVegetables.get(first) - soldVegetables.get(second);
+        this.modificationCount++;
+        if (this.undoLog != null) {
+            // The indicators followed by the sold vegetables
+            int[] oldValues = Arrays.copyOf(this.indicators, 2 * VEGETABLES.length);
+            System.arraycopy(this.soldVegetables, 0, oldValues, VEGETABLES.length, VEGETABLES.length);
+            this.undoLog.record(this.inverse, ADAPTION, this.hash, oldValues);
+        }
+        for (int i = 0; i < this.pairFirsts.length; i++) {
+            int first = this.pairFirsts[i];
+            int second = this.pairSeconds[i];
+            int delta = this.soldVegetables[first] - this.soldVegetables[second];
             int deltaHalf = delta / DIFFERENCE_PER_SHIFT;
             // Does't matter if first indicator or second indicator since they are equal.
-            int newIndicator = this.indicators.get(first) + deltaHalf;
-            if (newIndicator >= this.prices.get(first).length || newIndicator >= this.prices.get(second).length) {
-                newIndicator = Math.min(this.prices.get(first).length, this.prices.get(second).length) - 1;
+            int newIndicator = this.indicators[first] + deltaHalf;
+            if (newIndicator > this.pairMaxIndicators[i]) {
+                newIndicator = this.pairMaxIndicators[i];
             }
             if (newIndicator < 0) {
                 newIndicator = 0;
             }
 
-            this.indicators.put(first, newIndicator);
-            this.indicators.put(second, newIndicator);
+            this.setIndicator(first, newIndicator);
+            this.setIndicator(second, newIndicator);
         }
 
         // Reset sold vegetables
-        for (VegetableType vegetable : VegetableType.values()) {
-            this.soldVegetables.put(vegetable, 0);
+        for (VegetableType vegetable : VEGETABLES) {
+            int index = vegetable.ordinal();
+            if (this.soldVegetables[index] != 0) {
+                this.hash ^= Zobrist.sold(vegetable, this.soldVegetables[index]) ^ Zobrist.sold(vegetable, 0);
+                this.soldVegetables[index] = 0;
+            }
+        }
+    }
+
+    private void setIndicator(int index, int indicator) {
+        if (this.indicators[index] != indicator) {
+            this.hash ^= Zobrist.indicator(VEGETABLES[index], this.indicators[index])
+                    ^ Zobrist.indicator(VEGETABLES[index], indicator);
+            this.indicators[index] = indicator;
         }
     }
 
+    /**
+     * This method records the current prices and the vegetables sold since the
+     * last call as a new round in the price history (see {@link #getHistory()}).
+     * The game calls it at the end of every round. Copies of a market do not
+     * record anything. Recorded rounds cannot be undone.
+     */
+    public void recordRound() {
+        if (!this.recordsHistory) {
+            return;
+        }
+        VegetableMarket source = this.getSnapshot();
+        this.history.append();
+        for (VegetableType vegetable : VEGETABLES) {
+            int index = vegetable.ordinal();
+            int price = source.priceOffsets[index] == NO_PRICES ? 0 : source.getPrice(vegetable);
+            this.history.set(vegetable, source.indicators[index], price);
+        }
+    }
+
+    /**
+     * This method counts sold vegetables for the price history of this market
+     * if this market records it.
+     * 
+     * @param vegetable The vegetable type
+     * @param amount    The number of sold vegetables, negative to revert a sale
+     */
+    void recordSales(VegetableType vegetable, int amount) {
+        if (this.recordsHistory) {
+            this.history.addSales(vegetable, amount);
+        }
+    }
+
+    private void revert(int operation, long value, Object payload) {
+        this.modificationCount++;
+        if (operation == SALE) {
+            int index = UndoLog.high(value);
+            int amount = UndoLog.low(value);
+            int sold = this.soldVegetables[index];
+            this.hash ^= Zobrist.sold(VEGETABLES[index], sold) ^ Zobrist.sold(VEGETABLES[index], sold - amount);
+            this.soldVegetables[index] = sold - amount;
+            this.recordSales(VEGETABLES[index], -amount);
+        } else {
+            int[] oldValues = (int[]) payload;
+            System.arraycopy(oldValues, 0, this.indicators, 0, VEGETABLES.length);
+            System.arraycopy(oldValues, VEGETABLES.length, this.soldVegetables, 0, VEGETABLES.length);
+            this.hash = value;
+        }
+    }
+
+    /**
+     * This method attaches an undo log to this market. All following changes get
+     * recorded in it.
+     * 
+     * @param undoLog The undo log or null to stop recording
+     */
+    void setUndoLog(UndoLog undoLog) {
+        this.undoLog = undoLog;
+    }
+
+    private long computeHash() {
+        long result = 0;
+        for (VegetableType vegetable : VEGETABLES) {
+            if (this.priceOffsets[vegetable.ordinal()] != NO_PRICES) {
+                result ^= Zobrist.indicator(vegetable, this.indicators[vegetable.ordinal()]);
+            }
+            result ^= Zobrist.sold(vegetable, this.soldVegetables[vegetable.ordinal()]);
+        }
+        return result;
+    }
+
+    /**
+     * This method returns the price history of this market. It contains the
+     * latest rounds of the game.
+     * 
+     * @return The price history of this market
+     */
+    public MarketHistory getHistory() {
+        return this.history;
+    }
+
+    /**
+     * This method returns the hash of this market. It covers the price indicators
+     * and the numbers of vegetables sold since the last adaption of the prices.
+     * 
+     * @return The hash of this market
+     */
+    public long getHash() {
+        return this.hash;
+    }
+
+    /**
+     * This method returns the modification count of this market. It gets increased
+     * every time vegetables are sold or the prices are adapted, so two equal counts
+     * mean that the market has not changed in between.
+     * 
+     * @return The modification count of this market
+     */
+    public long getModificationCount() {
+        return this.modificationCount;
+    }
+
     /**
      * This method returns a list of value pairs. Each value pair contains the
      * vegetable type and the current price of the vegetable.
@@ -41,7 +41,8 @@ public enum VegetableType {
     }
 
     /**
-     * This method returns the time for the vegetable to grow.
+     * This method returns the time for the vegetable to grow in the standard rules.
+     * Games read it from their rules (see {@link RuleSet#getTimeToGrow}).
      * 
      * @return The time for the vegetable to grow
      */
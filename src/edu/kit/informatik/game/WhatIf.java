@@ -0,0 +1,82 @@
+package edu.kit.informatik.game;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.kit.informatik.exceptions.RejectedTurnException;
+
+/**
+ * This class answers what-if questions about a player: what happens if
+ * they make some moves and then a number of rounds pass? The moves and
+ * the rounds never change the real game.
+ * 
+ * They are made on a copy of the player with its own copies of the
+ * common markets (see {@link Player#Player(Player)}), so the player, the
+ * other players and the markets never see them, even while other
+ * threads use the markets. Every round the farm of the copy gets updated
+ * and the prices of its market get adapted, as the game does at the end
+ * of a turn. Other players are not simulated.
+ * 
+ * The player gets copied when a question is asked, so an instance must
+ * only be used by the thread that makes the moves of the player.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public class WhatIf {
+
+    private static final String ERROR_NEGATIVE_ROUNDS = "The number of rounds must not be negative";
+
+    private final Player player;
+
+    /**
+     * This constructor creates a new what-if simulator for a player.
+     * 
+     * @param player The player to ask questions about
+     */
+    public WhatIf(Player player) {
+        this.player = player;
+    }
+
+    /**
+     * This method makes moves and lets rounds pass and returns the resulting
+     * state. The moves are made with the moves the player has left. If the player
+     * has no moves left, because it is not their turn, the moves are made in a new
+     * turn.
+     * 
+     * @param moves  The moves to make in the order they should be made
+     * @param rounds The number of rounds that pass after the moves
+     * @return The state after the moves and rounds
+     * @throws RejectedTurnException    if a move breaks a game rule
+     * @throws IllegalArgumentException if the number of rounds is negative
+     */
+    public WhatIfResult run(List<Move> moves, int rounds) throws RejectedTurnException {
+        if (rounds < 0) {
+            throw new IllegalArgumentException(ERROR_NEGATIVE_ROUNDS);
+        }
+        Player simulated = new Player(this.player);
+        if (!simulated.hasMovesLeft()) {
+            simulated.allowMoves(simulated.getRules().getMovesPerPlayer());
+        }
+        TurnSubmission.apply(simulated, moves);
+        List<Changes> changes = new ArrayList<>();
+        for (int round = 0; round < rounds; round++) {
+            simulated.update();
+            simulated.allowMoves(simulated.getRules().getMovesPerPlayer());
+            changes.add(simulated.getFarmChanges());
+        }
+        return createResult(simulated, changes);
+    }
+
+    private static WhatIfResult createResult(Player simulated, List<Changes> changes) {
+        VegetableMarket market = simulated.getVegetableMarketState();
+        Map<VegetableType, Integer> prices = new EnumMap<>(VegetableType.class);
+        for (VegetableType vegetable : VegetableType.values()) {
+            prices.put(vegetable, market.getPrice(vegetable));
+        }
+        return new WhatIfResult(simulated.getAmountOfGold(), simulated.getBarn().getStock(), prices, changes);
+    }
+
+}
@@ -0,0 +1,88 @@
+package edu.kit.informatik.game;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class models the answer to a what-if question (see
+ * {@link WhatIf}): the gold, the vegetable stock and the prices after
+ * the moves and rounds, and the changes of the farm in every round. It
+ * is immutable.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public final class WhatIfResult {
+
+    private final int gold;
+    private final Map<VegetableType, Integer> stock;
+    private final Map<VegetableType, Integer> prices;
+    private final List<Changes> changes;
+
+    /**
+     * This constructor creates a new result.
+     * 
+     * @param gold    The amount of gold of the player
+     * @param stock   The vegetables in the barn of the player
+     * @param prices  The prices of the vegetables
+     * @param changes The changes of the farm in every round that passed
+     */
+    WhatIfResult(int gold, Map<VegetableType, Integer> stock, Map<VegetableType, Integer> prices,
+            List<Changes> changes) {
+        this.gold = gold;
+        this.stock = stock.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(new EnumMap<>(stock));
+        this.prices = Collections.unmodifiableMap(new EnumMap<>(prices));
+        this.changes = List.copyOf(changes);
+    }
+
+    /**
+     * This method returns the amount of gold of the player.
+     * 
+     * @return The amount of gold
+     */
+    public int getAmountOfGold() {
+        return this.gold;
+    }
+
+    /**
+     * This method returns the vegetables in the barn of the player. Vegetables
+     * that are not in stock are left out.
+     * 
+     * @return The number of vegetables by their type
+     */
+    public Map<VegetableType, Integer> getStock() {
+        return this.stock;
+    }
+
+    /**
+     * This method returns the price of a vegetable.
+     * 
+     * @param vegetable The vegetable
+     * @return The price of the vegetable
+     */
+    public int getPrice(VegetableType vegetable) {
+        return this.prices.get(vegetable);
+    }
+
+    /**
+     * This method returns the prices of all vegetables.
+     * 
+     * @return The prices by vegetable type
+     */
+    public Map<VegetableType, Integer> getPrices() {
+        return this.prices;
+    }
+
+    /**
+     * This method returns the changes of the farm in every round that passed,
+     * in order. The list is empty if no round passed.
+     * 
+     * @return The changes of the farm by round
+     */
+    public List<Changes> getChanges() {
+        return this.changes;
+    }
+
+}
@@ -0,0 +1,70 @@
+package edu.kit.informatik.game;
+
+/**
+ * This class models an estimate of the chances of every player to win a
+ * game (see {@link OddsEstimator}). It is immutable.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public final class WinningOdds {
+
+    private final String[] names;
+    private final double[] wins;
+    private final int numberOfPlayouts;
+
+    /**
+     * This constructor creates a new estimate. The arrays are taken over and must
+     * not be changed afterwards.
+     * 
+     * @param names            The names of the players in seat order
+     * @param wins             The number of playouts every player has won. Shared
+     *                         wins count in parts.
+     * @param numberOfPlayouts The number of playouts the estimate is based on
+     */
+    WinningOdds(String[] names, double[] wins, int numberOfPlayouts) {
+        this.names = names;
+        this.wins = wins;
+        this.numberOfPlayouts = numberOfPlayouts;
+    }
+
+    /**
+     * This method returns the number of players.
+     * 
+     * @return The number of players
+     */
+    public int getNumberOfPlayers() {
+        return this.names.length;
+    }
+
+    /**
+     * This method returns the name of the player at a seat.
+     * 
+     * @param seat The seat of the player
+     * @return The name of the player
+     */
+    public String getName(int seat) {
+        return this.names[seat];
+    }
+
+    /**
+     * This method returns the estimated chance of the player at a seat to win,
+     * between 0 and 1. Without any playouts the chance is 0.
+     * 
+     * @param seat The seat of the player
+     * @return The estimated chance to win
+     */
+    public double getWinningChance(int seat) {
+        return this.numberOfPlayouts == 0 ? 0 : this.wins[seat] / this.numberOfPlayouts;
+    }
+
+    /**
+     * This method returns the number of playouts this estimate is based on.
+     * 
+     * @return The number of playouts
+     */
+    public int getNumberOfPlayouts() {
+        return this.numberOfPlayouts;
+    }
+
+}
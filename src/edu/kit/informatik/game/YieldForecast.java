@@ -0,0 +1,83 @@
+package edu.kit.informatik.game;
+
+/**
+ * This class forecasts how many vegetables acreages will hold in the
+ * future. Vegetables on an acreage multiply by the grow factor every
+ * time the countdown is over until the capacity is reached, so the
+ * amount after a number of rounds only depends on the rules, the acreage
+ * type, the growth time of the vegetable, the current amount and the
+ * countdown. The number of doublings until an acreage is full and the
+ * powers of the grow factor are precomputed by the rules (see
+ * {@link RuleSet}), so forecasts of single acreages take constant time.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public final class YieldForecast {
+
+    /**
+     * This value gets returned if an acreage will never be full.
+     */
+    public static final int NEVER = -1;
+
+    private YieldForecast() {
+    }
+
+    /**
+     * This method returns how many vegetables an acreage will hold after a number
+     * of rounds.
+     * 
+     * @param acreage The acreage
+     * @param rounds  The number of rounds
+     * @return The amount of vegetables after the given number of rounds
+     */
+    public static int getAmountAfter(AcreageView acreage, int rounds) {
+        int amount = acreage.getAmountOfVegetables();
+        if (amount == 0 || !acreage.hasCountdown() || rounds < acreage.getCountdown()) {
+            return amount;
+        }
+        RuleSet rules = acreage.getRules();
+        int doublings = 1 + (rounds - acreage.getCountdown()) / rules.getTimeToGrow(acreage.getVegetableType());
+        return rules.getAmountAfterDoublings(acreage.getType(), amount, doublings);
+    }
+
+    /**
+     * This method returns the number of rounds until an acreage is full.
+     * 
+     * @param acreage The acreage
+     * @return The number of rounds until the acreage is full, 0 if it is full
+     *         already or {@link #NEVER} if nothing is growing on it
+     */
+    public static int getRoundsUntilFull(AcreageView acreage) {
+        int amount = acreage.getAmountOfVegetables();
+        RuleSet rules = acreage.getRules();
+        int doublings = rules.getDoublingsUntilFull(acreage.getType(), amount);
+        if (doublings <= 0) {
+            return doublings;
+        }
+        if (!acreage.hasCountdown()) {
+            return NEVER;
+        }
+        return acreage.getCountdown() + (doublings - 1) * rules.getTimeToGrow(acreage.getVegetableType());
+    }
+
+    /**
+     * This method forecasts how many vegetables of each type will be growing on a
+     * farm after a number of rounds. Harvests are not taken into account.
+     * 
+     * @param farm   The farm
+     * @param rounds The number of rounds
+     * @return The amounts of vegetables indexed by the ordinal of their type
+     */
+    public static int[] getFarmProjection(FarmView farm, int rounds) {
+        int[] amounts = new int[VegetableType.values().length];
+        for (Position position : farm.getAcreagePositions()) {
+            AcreageView acreage = farm.getAcreageView(position);
+            if (acreage.getVegetableType() != null) {
+                amounts[acreage.getVegetableType().ordinal()] += getAmountAfter(acreage, rounds);
+            }
+        }
+        return amounts;
+    }
+
+}
@@ -0,0 +1,147 @@
+package edu.kit.informatik.game;
+
+/**
+ * This is a utility class that computes the 64-bit keys used to hash
+ * game states. Every part of a game state (an acreage at a position, the
+ * stock of a vegetable, an indicator of the market, ...) gets its own key
+ * and the hash of a state is the XOR of the keys of all of its parts. So
+ * when a part changes, the hash can be updated by XORing out the old key
+ * and XORing in the new one, and the order in which moves were made does
+ * not matter. Since positions and amounts are unbounded, the keys are not
+ * taken from random tables but computed with a strong mixing function.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+final class Zobrist {
+
+    private static final long ACREAGE = 0x6a09e667f3bcc908L;
+    private static final long STOCK = 0xbb67ae8584caa73bL;
+    private static final long GOLD = 0x3c6ef372fe94f82bL;
+    private static final long BARN_COUNTDOWN = 0xa54ff53a5f1d36f1L;
+    private static final long INDICATOR = 0x510e527fade682d1L;
+    private static final long SOLD = 0x9b05688c2b3e6c1fL;
+    private static final long DECK_INDEX = 0x1f83d9abfb41bd6bL;
+    private static final long MOVES = 0x5be0cd19137e2179L;
+    private static final long TURNS = 0xcbbb9d5dc1059ed8L;
+
+    private static final long MIX_MULTIPLIER_1 = 0xbf58476d1ce4e5b9L;
+    private static final long MIX_MULTIPLIER_2 = 0x94d049bb133111ebL;
+    private static final int MIX_SHIFT_1 = 30;
+    private static final int MIX_SHIFT_2 = 27;
+    private static final int MIX_SHIFT_3 = 31;
+
+    private Zobrist() {
+    }
+
+    /**
+     * This method returns the key of an acreage at a specified position.
+     * 
+     * @param position Position of the acreage
+     * @param acreage  The acreage
+     * @return The key of the acreage
+     */
+    static long acreage(Position position, AcreageView acreage) {
+        VegetableType vegetable = acreage.getVegetableType();
+        long hash = combine(ACREAGE, position.getX());
+        hash = combine(hash, position.getY());
+        hash = combine(hash, acreage.getType().ordinal());
+        hash = combine(hash, vegetable == null ? -1 : vegetable.ordinal());
+        hash = combine(hash, acreage.getAmountOfVegetables());
+        return combine(hash, acreage.getCountdown());
+    }
+
+    /**
+     * This method returns the key of the stored amount of a vegetable.
+     * 
+     * @param vegetable Vegetable type
+     * @param amount    Stored amount
+     * @return The key of the stored amount of the vegetable
+     */
+    static long stock(VegetableType vegetable, int amount) {
+        return combine(combine(STOCK, vegetable.ordinal()), amount);
+    }
+
+    /**
+     * This method returns the key of an amount of gold.
+     * 
+     * @param gold Amount of gold
+     * @return The key of the amount of gold
+     */
+    static long gold(int gold) {
+        return combine(GOLD, gold);
+    }
+
+    /**
+     * This method returns the key of the countdown until a barn spoils.
+     * 
+     * @param countdown The countdown
+     * @return The key of the countdown
+     */
+    static long barnCountdown(int countdown) {
+        return combine(BARN_COUNTDOWN, countdown);
+    }
+
+    /**
+     * This method returns the key of the price indicator of a vegetable.
+     * 
+     * @param vegetable Vegetable type
+     * @param indicator Price indicator
+     * @return The key of the price indicator
+     */
+    static long indicator(VegetableType vegetable, int indicator) {
+        return combine(combine(INDICATOR, vegetable.ordinal()), indicator);
+    }
+
+    /**
+     * This method returns the key of the number of sold vegetables of a type.
+     * 
+     * @param vegetable Vegetable type
+     * @param amount    Number of sold vegetables
+     * @return The key of the number of sold vegetables
+     */
+    static long sold(VegetableType vegetable, int amount) {
+        return combine(combine(SOLD, vegetable.ordinal()), amount);
+    }
+
+    /**
+     * This method returns the key of the index of the next acreage for sale.
+     * 
+     * @param index Index of the next acreage for sale
+     * @return The key of the index
+     */
+    static long deckIndex(int index) {
+        return combine(DECK_INDEX, index);
+    }
+
+    /**
+     * This method returns the key of the number of moves a player has left.
+     * 
+     * @param moves Number of moves left
+     * @return The key of the number of moves
+     */
+    static long moves(int moves) {
+        return combine(MOVES, moves);
+    }
+
+    /**
+     * This method returns the key of the number of simulated turns.
+     * 
+     * @param turns Number of simulated turns
+     * @return The key of the number of turns
+     */
+    static long turns(int turns) {
+        return combine(TURNS, turns);
+    }
+
+    private static long combine(long hash, int value) {
+        return mix(hash ^ value);
+    }
+
+    private static long mix(long value) {
+        long result = (value ^ (value >>> MIX_SHIFT_1)) * MIX_MULTIPLIER_1;
+        result = (result ^ (result >>> MIX_SHIFT_2)) * MIX_MULTIPLIER_2;
+        return result ^ (result >>> MIX_SHIFT_3);
+    }
+
+}
@@ -0,0 +1,94 @@
+package edu.kit.informatik.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This class represents an output that encodes appended characters
+ * directly into a byte buffer (e.g. a pooled buffer of a socket
+ * channel). Commands can render their results into it (see
+ * {@link edu.kit.informatik.io.commands.Command#execute(java.util.regex.Matcher,
+ * edu.kit.informatik.game.Player, Appendable)}) without building a
+ * string first.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public class ByteBufferWriter implements Appendable {
+
+    private static final String ERROR_BUFFER_FULL = "The output buffer is full";
+    private static final String NULL = "null";
+
+    private final ByteBuffer buffer;
+    private final CharsetEncoder encoder;
+    private final CharBuffer singleCharacter = CharBuffer.allocate(1);
+
+    /**
+     * This constructor creates a new ByteBufferWriter that encodes characters with
+     * UTF-8.
+     * 
+     * @param buffer Byte buffer the characters get written to
+     */
+    public ByteBufferWriter(ByteBuffer buffer) {
+        this(buffer, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * This constructor creates a new ByteBufferWriter that encodes characters with
+     * a specified charset.
+     * 
+     * @param buffer  Byte buffer the characters get written to
+     * @param charset Charset used to encode the characters
+     */
+    public ByteBufferWriter(ByteBuffer buffer, Charset charset) {
+        this.buffer = buffer;
+        this.encoder = charset.newEncoder();
+    }
+
+    @Override
+    public ByteBufferWriter append(CharSequence sequence) throws IOException {
+        CharSequence characters = sequence == null ? NULL : sequence;
+        return this.append(characters, 0, characters.length());
+    }
+
+    @Override
+    public ByteBufferWriter append(CharSequence sequence, int start, int end) throws IOException {
+        CharSequence characters = sequence == null ? NULL : sequence;
+        this.encode(CharBuffer.wrap(characters, start, end));
+        return this;
+    }
+
+    @Override
+    public ByteBufferWriter append(char character) throws IOException {
+        this.singleCharacter.clear();
+        this.singleCharacter.put(character);
+        this.singleCharacter.flip();
+        this.encode(this.singleCharacter);
+        return this;
+    }
+
+    private void encode(CharBuffer characters) throws IOException {
+        CoderResult result = this.encoder.encode(characters, this.buffer, false);
+        if (result.isOverflow()) {
+            throw new IOException(ERROR_BUFFER_FULL);
+        }
+        if (result.isError()) {
+            result.throwException();
+        }
+    }
+
+    /**
+     * This method returns the byte buffer the characters get written to.
+     * 
+     * @return The byte buffer the characters get written to
+     */
+    public ByteBuffer getBuffer() {
+        return this.buffer;
+    }
+
+}
@@ -2,6 +2,7 @@ package edu.kit.informatik.io;
 
 import edu.kit.informatik.exceptions.IllegalInputException;
 import edu.kit.informatik.game.Changes;
+import edu.kit.informatik.game.OddsEstimator;
 import edu.kit.informatik.game.Player;
 import edu.kit.informatik.game.PlayerController;
 import edu.kit.informatik.io.commands.BuyAcreage;
@@ -14,7 +15,13 @@ import edu.kit.informatik.io.commands.Quit;
 import edu.kit.informatik.io.commands.Sell;
 import edu.kit.informatik.io.commands.ShowBarn;
 import edu.kit.informatik.io.commands.ShowBoard;
+import edu.kit.informatik.io.commands.ShowForecast;
+import edu.kit.informatik.io.commands.ShowLand;
 import edu.kit.informatik.io.commands.ShowMarket;
+import edu.kit.informatik.io.commands.ShowMarketHistory;
+import edu.kit.informatik.io.commands.ShowOdds;
+import edu.kit.informatik.io.commands.SubmitTurn;
+import edu.kit.informatik.io.commands.Undo;
 
 import java.util.Scanner;
 import java.util.regex.Matcher;
@@ -36,28 +43,49 @@ public class Controller implements PlayerController {
 
     private static final String ERROR_COMMAND_NOT_FOUND = "Command not found.";
 
-    private final Command[] commands = new Command[] {
-        new ShowBarn(),
-        new ShowMarket(),
-        new ShowBoard(),
-        new BuyVegetable(),
-        new Plant(),
-        new Sell(),
-        new BuyAcreage(),
-        new Harvest(),
-        new EndTurn(),
-        new Quit()
-    };
-
+    private final Command[] commands;
     private final Scanner scanner;
+    private final OddsEstimator odds;
 
     /**
      * Creates a Controller from a scanner that can be used to read user input.
+     * The odds of the players are not estimated.
      *
      * @param scanner Command line scanner
      */
     public Controller(Scanner scanner) {
+        this(scanner, null);
+    }
+
+    /**
+     * Creates a Controller from a scanner that can be used to read user input and
+     * an estimator of the odds of the players. Once the odds have been shown, the
+     * estimator gets updated before every command.
+     *
+     * @param scanner Command line scanner
+     * @param odds    Estimator of the odds of the players or null
+     */
+    public Controller(Scanner scanner, OddsEstimator odds) {
         this.scanner = scanner;
+        this.odds = odds;
+        this.commands = new Command[] {
+            new ShowBarn(),
+            new ShowMarket(),
+            new ShowMarketHistory(),
+            new ShowBoard(),
+            new ShowLand(),
+            new ShowForecast(),
+            new ShowOdds(odds),
+            new BuyVegetable(),
+            new Plant(),
+            new Sell(),
+            new BuyAcreage(),
+            new Harvest(),
+            new SubmitTurn(),
+            new Undo(),
+            new EndTurn(),
+            new Quit()
+        };
     }
 
     private String getBeginMessage(Player player) {
@@ -90,6 +118,9 @@ public class Controller implements PlayerController {
         System.out.println(beginMessage);
 
         while (player.hasMovesLeft()) {
+            if (this.odds != null) {
+                this.odds.update();
+            }
             String input = this.scanner.nextLine();
             boolean commandFound = false;
             for (final Command command : commands) {
@@ -7,20 +7,53 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
- * This class represents a table with two columns (key - value). It provides
- * functionality to print table data in a formatted way.
+ * This class represents a table with a key column and one or more value
+ * columns. It provides functionality to print table data in a formatted
+ * way. Keys are left-aligned and followed by a colon, values are
+ * right-aligned. The width of every column is updated whenever a row
+ * is added, so rendering the table takes linear time.
  * 
  * @author ulqch
  * @version 1.0
  */
 public class DataTable {
 
+    private static final int DEFAULT_NUMBER_OF_COLUMNS = 2;
     private static final int SPACE_BETWEEN_COLUMNS = 1;
-    private static final String HORIZONTAL_DIVIDER_CHAR = "-";
-    private static final String FILLING_SPACE = " ";
+    private static final char HORIZONTAL_DIVIDER_CHAR = '-';
+    private static final char FILLING_SPACE = ' ';
     private static final String COLON = ":";
 
-    private final List<Pair<String, String>> entries;
+    private static final String ERROR_NUMBER_OF_COLUMNS = "A table needs at least two columns";
+    private static final String ERROR_ROW_LENGTH = "Expected a row with %d cells but got %d";
+
+    private final List<String[]> rows;
+    private final int[] columnWidths;
+
+    /**
+     * This constructor creates a new empty DataTable with two columns (key -
+     * value). Entries can be added with {@link #addEntry(String, String)}.
+     */
+    public DataTable() {
+        this(DEFAULT_NUMBER_OF_COLUMNS);
+    }
+
+    /**
+     * This constructor creates a new empty DataTable with a key column and a
+     * specified total number of columns. Rows can be added with
+     * {@link #addRow(String...)}.
+     *
+     * @param numberOfColumns Total number of columns (key column included)
+     * @throws IllegalArgumentException if the number of columns is smaller than
+     *                                  two
+     */
+    public DataTable(int numberOfColumns) {
+        if (numberOfColumns < DEFAULT_NUMBER_OF_COLUMNS) {
+            throw new IllegalArgumentException(ERROR_NUMBER_OF_COLUMNS);
+        }
+        this.rows = new ArrayList<>();
+        this.columnWidths = new int[numberOfColumns];
+    }
 
     /**
      * This constructor creates a new DataTable from a list of value pairs. The
@@ -32,13 +65,12 @@ public class DataTable {
      *                should be filled
      */
     public DataTable(List<Pair<VegetableType, Integer>> entries) {
-        List<Pair<String, String>> stringEntries = new ArrayList<>();
+        this();
         for (Pair<VegetableType, Integer> entry : entries) {
             String vegetable = entry.getKey().getPluralName();
             String amount = Integer.toString(entry.getValue());
-            stringEntries.add(new Pair<String, String>(vegetable, amount));
+            this.addEntry(vegetable, amount);
         }
-        this.entries = stringEntries;
     }
 
     /**
@@ -49,21 +81,33 @@ public class DataTable {
      * @param value Value
      */
     public void addEntry(String key, String value) {
-        this.entries.add(new Pair<String, String>(key, value));
+        this.addRow(key, value);
+    }
+
+    /**
+     * This method adds a row to this table. The first cell is the key, the other
+     * cells are the values of the row.
+     *
+     * @param cells Cells of the row
+     * @throws IllegalArgumentException if the number of cells does not match the
+     *                                  number of columns
+     */
+    public void addRow(String... cells) {
+        if (cells.length != this.columnWidths.length) {
+            throw new IllegalArgumentException(ERROR_ROW_LENGTH.formatted(this.columnWidths.length, cells.length));
+        }
+        for (int column = 0; column < cells.length; column++) {
+            this.columnWidths[column] = Math.max(this.columnWidths[column], cells[column].length());
+        }
+        this.rows.add(cells);
     }
 
     private int getWidth() {
-        int keyMaxLength = 0;
-        int valueMaxLength = 0;
-        for (Pair<String, String> entry : this.entries) {
-            if (entry.getKey().length() > keyMaxLength) {
-                keyMaxLength = entry.getKey().length();
-            }
-            if (entry.getValue().length() > valueMaxLength) {
-                valueMaxLength = entry.getValue().length();
-            }
+        int width = this.columnWidths[0] + COLON.length();
+        for (int column = 1; column < this.columnWidths.length; column++) {
+            width += SPACE_BETWEEN_COLUMNS + this.columnWidths[column];
         }
-        return keyMaxLength + COLON.length() + SPACE_BETWEEN_COLUMNS + valueMaxLength;
+        return width;
     }
 
     /**
@@ -72,7 +116,7 @@ public class DataTable {
      * @return Number of entries (rows) in this table
      */
     public int getNumberOfEntries() {
-        return this.entries.size();
+        return this.rows.size();
     }
 
     /**
@@ -83,12 +127,45 @@ public class DataTable {
      * @return Formatted row of this table
      */
     public String getRow(int index) {
-        String key = this.entries.get(index).getKey();
-        String value = this.entries.get(index).getValue();
+        StringBuilder stringBuilder = new StringBuilder();
+        this.appendRow(index, stringBuilder);
+        return stringBuilder.toString();
+    }
 
-        return key + COLON
-                + FILLING_SPACE.repeat(this.getWidth() - value.length() - key.length() - COLON.length())
-                + value;
+    /**
+     * This method appends a formatted row of this table to a string builder. Which
+     * row that should be must be specified by an index.
+     *
+     * @param index         Index of a row
+     * @param stringBuilder String builder the row gets appended to
+     */
+    public void appendRow(int index, StringBuilder stringBuilder) {
+        String[] cells = this.rows.get(index);
+
+        stringBuilder.append(cells[0]).append(COLON);
+        appendFilling(stringBuilder, FILLING_SPACE, this.columnWidths[0] - cells[0].length());
+        for (int column = 1; column < cells.length; column++) {
+            int filling = SPACE_BETWEEN_COLUMNS + this.columnWidths[column] - cells[column].length();
+            appendFilling(stringBuilder, FILLING_SPACE, filling);
+            stringBuilder.append(cells[column]);
+        }
+    }
+
+    /**
+     * This method appends a range of formatted rows of this table to a string
+     * builder. The rows are separated by line breaks.
+     *
+     * @param fromIndex     Index of the first row (inclusive)
+     * @param toIndex       Index of the last row (exclusive)
+     * @param stringBuilder String builder the rows get appended to
+     */
+    public void appendRows(int fromIndex, int toIndex, StringBuilder stringBuilder) {
+        for (int row = fromIndex; row < toIndex; row++) {
+            if (row > fromIndex) {
+                stringBuilder.append(System.lineSeparator());
+            }
+            this.appendRow(row, stringBuilder);
+        }
     }
 
     /**
@@ -98,7 +175,25 @@ public class DataTable {
      * @return A horizontal divider
      */
     public String getHorizontalDivider() {
-        return HORIZONTAL_DIVIDER_CHAR.repeat(this.getWidth());
+        StringBuilder stringBuilder = new StringBuilder();
+        this.appendHorizontalDivider(stringBuilder);
+        return stringBuilder.toString();
+    }
+
+    /**
+     * This method appends a horizontal divider to a string builder. It has the
+     * same length as a normal row.
+     *
+     * @param stringBuilder String builder the divider gets appended to
+     */
+    public void appendHorizontalDivider(StringBuilder stringBuilder) {
+        appendFilling(stringBuilder, HORIZONTAL_DIVIDER_CHAR, this.getWidth());
+    }
+
+    private static void appendFilling(StringBuilder stringBuilder, char filling, int length) {
+        for (int i = 0; i < length; i++) {
+            stringBuilder.append(filling);
+        }
     }
 
 }
@@ -3,8 +3,10 @@ package edu.kit.informatik.io;
 import java.util.Scanner;
 
 import edu.kit.informatik.exceptions.IllegalInputException;
+import edu.kit.informatik.bot.RolloutPolicy;
 import edu.kit.informatik.game.GameMaster;
 import edu.kit.informatik.game.GameResult;
+import edu.kit.informatik.game.OddsEstimator;
 
 /**
  * This is a command line game called Queens Farming.
@@ -36,7 +38,6 @@ public final class Main {
 
         Scanner scanner = new Scanner(System.in);
 
-        Controller commandLineController = new Controller(scanner);
         GameMaster gameMaster = CommandLineUtil.buildGame(scanner);
 
         if (gameMaster == null) {
@@ -44,7 +45,11 @@ public final class Main {
             return;
         }
 
-        GameResult result = gameMaster.play(commandLineController);
+        GameResult result;
+        try (OddsEstimator odds = new OddsEstimator(gameMaster, RolloutPolicy.HARVEST_FIRST)) {
+            Controller commandLineController = new Controller(scanner, odds);
+            result = gameMaster.play(commandLineController);
+        }
 
         String endMessage = CommandLineUtil.createEndMessage(result);
         System.out.println(endMessage);
@@ -0,0 +1,74 @@
+package edu.kit.informatik.io;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import edu.kit.informatik.game.Pair;
+import edu.kit.informatik.game.Player;
+
+/**
+ * This class represents a cache for rendered command output. For every
+ * player it stores the last rendered output together with the
+ * modification count of the game object it was rendered from. As long
+ * as that count does not change, the output can be reused without
+ * rendering it again.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public class RenderCache {
+
+    private final Map<Player, Pair<Long, CharSequence>> entries = new HashMap<>();
+    private int hits = 0;
+    private int misses = 0;
+
+    /**
+     * This method returns the cached output for a player if it was rendered from a
+     * state with the given modification count. Otherwise null gets returned.
+     * 
+     * @param player            Player the output belongs to
+     * @param modificationCount Current modification count of the rendered object
+     * @return The cached output or null if there is no up-to-date output
+     */
+    public CharSequence get(Player player, long modificationCount) {
+        Pair<Long, CharSequence> entry = this.entries.get(player);
+        if (entry != null && entry.getKey() == modificationCount) {
+            this.hits++;
+            return entry.getValue();
+        }
+        this.misses++;
+        return null;
+    }
+
+    /**
+     * This method stores the rendered output for a player.
+     * 
+     * @param player            Player the output belongs to
+     * @param modificationCount Modification count of the object the output was
+     *                          rendered from
+     * @param output            Rendered output
+     */
+    public void put(Player player, long modificationCount, CharSequence output) {
+        this.entries.put(player, new Pair<Long, CharSequence>(modificationCount, output));
+    }
+
+    /**
+     * This method returns how many times up-to-date output was found in this
+     * cache.
+     * 
+     * @return Number of cache hits
+     */
+    public int getHits() {
+        return this.hits;
+    }
+
+    /**
+     * This method returns how many times output had to be rendered again.
+     * 
+     * @return Number of cache misses
+     */
+    public int getMisses() {
+        return this.misses;
+    }
+
+}
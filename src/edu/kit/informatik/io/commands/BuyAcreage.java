@@ -1,10 +1,12 @@
 package edu.kit.informatik.io.commands;
 
+import java.io.IOException;
 import java.util.regex.Matcher;
 
 import edu.kit.informatik.exceptions.IllegalInputException;
 import edu.kit.informatik.exceptions.IllegalMoveException;
 import edu.kit.informatik.game.AcreageType;
+import edu.kit.informatik.game.Move;
 import edu.kit.informatik.game.Pair;
 import edu.kit.informatik.game.Player;
 import edu.kit.informatik.game.Position;
@@ -33,6 +35,11 @@ public class BuyAcreage extends Command {
 
     @Override
     public String execute(Matcher input, Player player) {
+        return this.executeToString(input, player);
+    }
+
+    @Override
+    public boolean execute(Matcher input, Player player, Appendable output) throws IOException {
         Pair<AcreageType, Integer> receipt;
         try {
             int x = Integer.parseInt(input.group(X_COORDINATE_GROUP));
@@ -41,11 +48,40 @@ public class BuyAcreage extends Command {
         } catch (NumberFormatException numberFormatException) {
             Exception exception = new IllegalInputException(
                     ERROR_INPUT_NUMBER_RANGE.formatted(Integer.MIN_VALUE, Integer.MAX_VALUE));
-            return exception.getMessage();
+            output.append(exception.getMessage());
+            return true;
         } catch (IllegalMoveException illegalMoveException) {
-            return illegalMoveException.getMessage();
+            output.append(illegalMoveException.getMessage());
+            return true;
         }
-        return MESSAGE.formatted(receipt.getKey().getName(), receipt.getValue());
+        appendMessage(output, receipt.getKey(), receipt.getValue());
+        return true;
+    }
+
+    /**
+     * This method appends the message that tells the player which acreage they
+     * have bought.
+     * 
+     * @param output  The output to append the message to
+     * @param acreage The type of the bought acreage
+     * @param price   The price of the acreage
+     * @throws IOException if the output cannot be appended to
+     */
+    static void appendMessage(Appendable output, AcreageType acreage, int price) throws IOException {
+        appendFormatted(output, MESSAGE, acreage.getName(), price);
     }
 
+    /**
+     * This method creates the move of buying land from structured user input that
+     * matches the regEx of this command.
+     * 
+     * @param input Structured user input (regEx Matcher)
+     * @return The move of buying the land
+     * @throws NumberFormatException if a coordinate is out of the range of int
+     */
+    static Move parseMove(Matcher input) {
+        int x = Integer.parseInt(input.group(X_COORDINATE_GROUP));
+        int y = Integer.parseInt(input.group(Y_COORDINATE_GROUP));
+        return Move.buyLand(new Position(x, y));
+    }
 }
@@ -1,8 +1,10 @@
 package edu.kit.informatik.io.commands;
 
+import java.io.IOException;
 import java.util.regex.Matcher;
 
 import edu.kit.informatik.exceptions.IllegalMoveException;
+import edu.kit.informatik.game.Move;
 import edu.kit.informatik.game.Pair;
 import edu.kit.informatik.game.Player;
 import edu.kit.informatik.game.VegetableType;
@@ -43,15 +45,45 @@ public class BuyVegetable extends Command {
 
     @Override
     public String execute(Matcher input, Player player) {
+        return this.executeToString(input, player);
+    }
+
+    @Override
+    public boolean execute(Matcher input, Player player, Appendable output) throws IOException {
         VegetableType vegetable = VegetableType.parse(input.group(VEGETABLE_GROUP));
 
         Pair<VegetableType, Integer> receipt;
         try {
             receipt = player.buy(vegetable);
         } catch (IllegalMoveException e) {
-            return e.getMessage();
+            output.append(e.getMessage());
+            return true;
         }
-        return MESSAGE.formatted(receipt.getKey().getSingularName(), receipt.getValue());
+        appendMessage(output, receipt.getKey(), receipt.getValue());
+        return true;
+    }
+
+    /**
+     * This method appends the message that tells the player what they have
+     * bought.
+     * 
+     * @param output    The output to append the message to
+     * @param vegetable The bought vegetable
+     * @param price     The price of the vegetable
+     * @throws IOException if the output cannot be appended to
+     */
+    static void appendMessage(Appendable output, VegetableType vegetable, int price) throws IOException {
+        appendFormatted(output, MESSAGE, vegetable.getSingularName(), price);
     }
 
+    /**
+     * This method creates the move of buying a vegetable from structured user
+     * input that matches the regEx of this command.
+     * 
+     * @param input Structured user input (regEx Matcher)
+     * @return The move of buying the vegetable
+     */
+    static Move parseMove(Matcher input) {
+        return Move.buyVegetable(VegetableType.parse(input.group(VEGETABLE_GROUP)));
+    }
 }
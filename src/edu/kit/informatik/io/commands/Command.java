@@ -1,5 +1,8 @@
 package edu.kit.informatik.io.commands;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Formatter;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -46,4 +49,68 @@ public abstract class Command {
      */
     public abstract String execute(Matcher input, Player player);
 
+    /**
+     * This method does the same as {@link #execute(Matcher, Player)}, but instead of
+     * returning the result it appends it to a given output (e.g. a
+     * {@link edu.kit.informatik.io.ByteBufferWriter}). Commands that can write
+     * their result without building a string first override this method and
+     * implement {@link #execute(Matcher, Player)} with
+     * {@link #executeToString(Matcher, Player)}.
+     * 
+     * @param input  Structured user input (regEx Matcher)
+     * @param player Player whose turn it is
+     * @param output Output the result of the command gets appended to
+     * @return true if the command had a result that got appended to the output
+     * @throws IOException if the result could not be appended to the output
+     */
+    public boolean execute(Matcher input, Player player, Appendable output) throws IOException {
+        String result = this.execute(input, player);
+        if (result == null) {
+            return false;
+        }
+        output.append(result);
+        return true;
+    }
+
+    /**
+     * This method executes this command by calling
+     * {@link #execute(Matcher, Player, Appendable)} and returns the result as a
+     * string. If the command had no result null gets returned.
+     * 
+     * @param input  Structured user input (regEx Matcher)
+     * @param player Player whose turn it is
+     * @return A String result of the command or null
+     */
+    protected String executeToString(Matcher input, Player player) {
+        StringBuilder stringBuilder = new StringBuilder();
+        try {
+            if (!this.execute(input, player, stringBuilder)) {
+                return null;
+            }
+        } catch (IOException ioException) {
+            // A StringBuilder never throws an IOException.
+            throw new UncheckedIOException(ioException);
+        }
+        return stringBuilder.toString();
+    }
+
+    /**
+     * This method appends a formatted message to an output without building the
+     * message as a string first.
+     * 
+     * @param output    Output the message gets appended to
+     * @param format    Format string of the message
+     * @param arguments Arguments referenced by the format string
+     * @throws IOException if the message could not be appended to the output
+     */
+    protected static void appendFormatted(Appendable output, String format, Object... arguments)
+            throws IOException {
+        // The formatter must not be closed, otherwise the output would be closed as well.
+        Formatter formatter = new Formatter(output);
+        formatter.format(format, arguments);
+        if (formatter.ioException() != null) {
+            throw formatter.ioException();
+        }
+    }
+
 }
@@ -1,9 +1,11 @@
 package edu.kit.informatik.io.commands;
 
+import java.io.IOException;
 import java.util.regex.Matcher;
 
 import edu.kit.informatik.exceptions.IllegalInputException;
 import edu.kit.informatik.exceptions.IllegalMoveException;
+import edu.kit.informatik.game.Move;
 import edu.kit.informatik.game.Pair;
 import edu.kit.informatik.game.Player;
 import edu.kit.informatik.game.Position;
@@ -34,6 +36,11 @@ public class Harvest extends Command {
 
     @Override
     public String execute(Matcher input, Player player) {
+        return this.executeToString(input, player);
+    }
+
+    @Override
+    public boolean execute(Matcher input, Player player, Appendable output) throws IOException {
         Pair<VegetableType, Integer> container;
         try {
             int x = Integer.parseInt(input.group(X_COORDINATE_GROUP));
@@ -41,17 +48,45 @@ public class Harvest extends Command {
             int amount = Integer.parseInt(input.group(AMOUNT_GROUP));
             container = player.harvest(new Position(x, y), amount);
         } catch (IllegalMoveException illegalMoveException) {
-            return illegalMoveException.getMessage();
+            output.append(illegalMoveException.getMessage());
+            return true;
         } catch (NumberFormatException numberFormatException) {
             Exception exception = new IllegalInputException(
                     ERROR_INPUT_NUMBER_RANGE.formatted(Integer.MIN_VALUE, Integer.MAX_VALUE));
-            return exception.getMessage();
+            output.append(exception.getMessage());
+            return true;
         }
 
-        VegetableType vegetable = container.getKey();
-        String vegetableText = container.getValue() == 1 ? vegetable.getSingularName() : vegetable.getPluralName();
+        appendMessage(output, container.getKey(), container.getValue());
+        return true;
+    }
+
+    /**
+     * This method appends the message that tells the player what they have
+     * harvested.
+     * 
+     * @param output    The output to append the message to
+     * @param vegetable The type of the harvested vegetables
+     * @param amount    The number of harvested vegetables
+     * @throws IOException if the output cannot be appended to
+     */
+    static void appendMessage(Appendable output, VegetableType vegetable, int amount) throws IOException {
+        String vegetableText = amount == 1 ? vegetable.getSingularName() : vegetable.getPluralName();
 
-        return MESSAGE.formatted(container.getValue(), vegetableText);
+        appendFormatted(output, MESSAGE, amount, vegetableText);
     }
 
+    /**
+     * This method creates the move of harvesting vegetables from structured user
+     * input that matches the regEx of this command.
+     * 
+     * @param input Structured user input (regEx Matcher)
+     * @return The move of harvesting the vegetables
+     * @throws NumberFormatException if a number is out of the range of int
+     */
+    static Move parseMove(Matcher input) {
+        int x = Integer.parseInt(input.group(X_COORDINATE_GROUP));
+        int y = Integer.parseInt(input.group(Y_COORDINATE_GROUP));
+        return Move.harvest(new Position(x, y), Integer.parseInt(input.group(AMOUNT_GROUP)));
+    }
 }
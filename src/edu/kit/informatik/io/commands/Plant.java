@@ -4,6 +4,7 @@ import java.util.regex.Matcher;
 
 import edu.kit.informatik.exceptions.IllegalInputException;
 import edu.kit.informatik.exceptions.IllegalMoveException;
+import edu.kit.informatik.game.Move;
 import edu.kit.informatik.game.Player;
 import edu.kit.informatik.game.Position;
 import edu.kit.informatik.game.VegetableType;
@@ -32,6 +33,20 @@ public class Plant extends Command {
         super(REGEX);
     }
 
+    /**
+     * This method creates the move of planting a vegetable from structured user
+     * input that matches the regEx of this command.
+     * 
+     * @param input Structured user input (regEx Matcher)
+     * @return The move of planting the vegetable
+     * @throws NumberFormatException if a coordinate is out of the range of int
+     */
+    static Move parseMove(Matcher input) {
+        int x = Integer.parseInt(input.group(X_COORDINATE_GROUP));
+        int y = Integer.parseInt(input.group(Y_COORDINATE_GROUP));
+        return Move.plant(new Position(x, y), VegetableType.parse(input.group(VEGETABLE_GROUP)));
+    }
+
     private static String buildRegEx() {
         StringBuilder stringBuilder = new StringBuilder();
         VegetableType[] vegetables = VegetableType.values();
@@ -1,11 +1,13 @@
 package edu.kit.informatik.io.commands;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
 
 import edu.kit.informatik.exceptions.IllegalMoveException;
+import edu.kit.informatik.game.Move;
 import edu.kit.informatik.game.Pair;
 import edu.kit.informatik.game.Player;
 import edu.kit.informatik.game.VegetableType;
@@ -51,6 +53,11 @@ public class Sell extends Command {
 
     @Override
     public String execute(Matcher input, Player player) {
+        return this.executeToString(input, player);
+    }
+
+    @Override
+    public boolean execute(Matcher input, Player player, Appendable output) throws IOException {
         List<Pair<VegetableType, Integer>> listOfSales;
 
         String argument = input.group(ARGUMENT_GROUP);
@@ -59,7 +66,8 @@ public class Sell extends Command {
             try {
                 listOfSales = player.sellAll();
             } catch (IllegalMoveException e) {
-                return e.getMessage();
+                output.append(e.getMessage());
+                return true;
             }
         } else {
             Map<VegetableType, Integer> vegetablesToSell = new HashMap<>();
@@ -76,15 +84,48 @@ public class Sell extends Command {
             try {
                 listOfSales = player.sell(vegetablesToSell);
             } catch (IllegalMoveException e) {
-                return e.getMessage();
+                output.append(e.getMessage());
+                return true;
             }
         }
 
         int totalProfit = listOfSales.stream().mapToInt(Pair::getValue).sum();
-        int amountOfSoldVegetables = listOfSales.size();
+        appendMessage(output, listOfSales.size(), totalProfit);
+        return true;
+    }
 
+    /**
+     * This method appends the message that tells the player what they have sold.
+     * 
+     * @param output                 The output to append the message to
+     * @param amountOfSoldVegetables The number of sold vegetables
+     * @param totalProfit            The gold the player got for them
+     * @throws IOException if the output cannot be appended to
+     */
+    static void appendMessage(Appendable output, int amountOfSoldVegetables, int totalProfit) throws IOException {
         String vegetableText = amountOfSoldVegetables == 1 ? VEGETABLE_SINGULAR : VEGETABLE_PLURAL;
-        return MESSAGE.formatted(amountOfSoldVegetables, vegetableText, totalProfit);
+        appendFormatted(output, MESSAGE, amountOfSoldVegetables, vegetableText, totalProfit);
     }
 
+    /**
+     * This method creates the move of selling vegetables from structured user
+     * input that matches the regEx of this command.
+     * 
+     * @param input Structured user input (regEx Matcher)
+     * @return The move of selling the vegetables
+     */
+    static Move parseMove(Matcher input) {
+        String argument = input.group(ARGUMENT_GROUP);
+        if (argument.equals(SELL_ALL_ARGUMENT)) {
+            return Move.sellAll();
+        }
+        Map<VegetableType, Integer> vegetablesToSell = new HashMap<>();
+        for (String string : argument.split(ARGUMENT_SEPERATOR)) {
+            VegetableType vegetable = VegetableType.parse(string);
+            if (vegetable != null) {
+                vegetablesToSell.merge(vegetable, 1, Integer::sum);
+            }
+        }
+        return Move.sell(vegetablesToSell);
+    }
 }
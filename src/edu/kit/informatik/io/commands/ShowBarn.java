@@ -1,10 +1,15 @@
 package edu.kit.informatik.io.commands;
 
+import java.io.IOException;
+import java.util.List;
 import java.util.regex.Matcher;
 
 import edu.kit.informatik.game.Barn;
+import edu.kit.informatik.game.Pair;
 import edu.kit.informatik.game.Player;
+import edu.kit.informatik.game.VegetableType;
 import edu.kit.informatik.io.DataTable;
+import edu.kit.informatik.io.RenderCache;
 
 /**
  * This class models a command that shows the current contents of the
@@ -17,12 +22,16 @@ public class ShowBarn extends Command {
 
     private static final String REGEX = "show barn";
     private static final String BARN_TITLE = "Barn";
-    private static final String BARN_MESSAGE = " (spoils in %d %s)";
+    private static final String BARN_MESSAGE_OPENING = " (spoils in ";
+    private static final String BARN_MESSAGE_CLOSING = ")";
+    private static final String FILLING = " ";
     private static final String TURN_SINGULAR = "turn";
     private static final String TURN_PLURAL = "turns";
     private static final String SUM_VEGETABLES_KEY = "Sum";
     private static final String AMOUNT_GOLD_KEY = "Gold";
 
+    private final RenderCache cache = new RenderCache();
+
     /**
      * This constructor creates a new ShowBarn Command
      */
@@ -32,38 +41,64 @@ public class ShowBarn extends Command {
 
     @Override
     public String execute(Matcher input, Player player) {
-        Barn barn = player.getBarn();
+        return this.getOutput(player).toString();
+    }
+
+    @Override
+    public boolean execute(Matcher input, Player player, Appendable output) throws IOException {
+        output.append(this.getOutput(player));
+        return true;
+    }
+
+    /**
+     * This method returns the render cache of this command.
+     * 
+     * @return The render cache of this command
+     */
+    public RenderCache getCache() {
+        return this.cache;
+    }
 
-        DataTable table = new DataTable(barn.getEntries());
+    private CharSequence getOutput(Player player) {
+        // Every change of the barn also changes the modification count of the farm.
+        long modificationCount = player.getFarmView().getModificationCount();
+        CharSequence output = this.cache.get(player, modificationCount);
+        if (output == null) {
+            StringBuilder stringBuilder = new StringBuilder();
+            render(player.getBarn(), stringBuilder);
+            output = stringBuilder;
+            this.cache.put(player, modificationCount, output);
+        }
+        return output;
+    }
+
+    private static void render(Barn barn, StringBuilder stringBuilder) {
+
+        List<Pair<VegetableType, Integer>> entries = barn.getEntries();
+        DataTable table = new DataTable(entries);
         table.addEntry(SUM_VEGETABLES_KEY, Integer.toString(barn.getTotalSumOfVegetables()));
         table.addEntry(AMOUNT_GOLD_KEY, Integer.toString(barn.getAmountOfGold()));
 
-        StringBuilder stringBuilder = new StringBuilder();
-
         stringBuilder.append(BARN_TITLE);
         if (barn.hasCountdown()) {
-            String barnMessage = BARN_MESSAGE.formatted(barn.getCountdown(),
-                    barn.getCountdown() == 1 ? TURN_SINGULAR : TURN_PLURAL);
-            stringBuilder.append(barnMessage);
+            stringBuilder.append(BARN_MESSAGE_OPENING).append(barn.getCountdown()).append(FILLING)
+                    .append(barn.getCountdown() == 1 ? TURN_SINGULAR : TURN_PLURAL).append(BARN_MESSAGE_CLOSING);
         }
 
-        int row;
-        for (row = 0; row < barn.getEntries().size(); row++) {
-            stringBuilder.append(System.lineSeparator());
-            stringBuilder.append(table.getRow(row));
-        }
+        int row = entries.size();
         if (row != 0) {
             stringBuilder.append(System.lineSeparator());
-            stringBuilder.append(table.getHorizontalDivider());
+            table.appendRows(0, row, stringBuilder);
+            stringBuilder.append(System.lineSeparator());
+            table.appendHorizontalDivider(stringBuilder);
             stringBuilder.append(System.lineSeparator());
-            stringBuilder.append(table.getRow(row));
+            table.appendRow(row, stringBuilder);
             stringBuilder.append(System.lineSeparator());
         }
 
         row++;
         stringBuilder.append(System.lineSeparator());
-        stringBuilder.append(table.getRow(row));
-        return stringBuilder.toString();
+        table.appendRow(row, stringBuilder);
     }
 
 }
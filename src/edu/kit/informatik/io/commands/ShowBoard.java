@@ -1,13 +1,16 @@
 package edu.kit.informatik.io.commands;
 
+import java.io.IOException;
 import java.util.regex.Matcher;
 
-import edu.kit.informatik.game.Acreage;
+import edu.kit.informatik.exceptions.IllegalInputException;
+import edu.kit.informatik.game.AcreageView;
 import edu.kit.informatik.game.Barn;
-import edu.kit.informatik.game.Farm;
+import edu.kit.informatik.game.FarmView;
 import edu.kit.informatik.game.Player;
 import edu.kit.informatik.game.Position;
 import edu.kit.informatik.game.VegetableType;
+import edu.kit.informatik.io.RenderCache;
 
 /**
  * This class models a command that shows the current state of the
@@ -18,12 +21,24 @@ import edu.kit.informatik.game.VegetableType;
  */
 public class ShowBoard extends Command {
 
-    private static final String REGEX = "show board";
+    private static final String REGEX = "show board( (-?\\d+) (-?\\d+) (\\d+) (\\d+)| page (\\d+))?";
     private static final String FILLING = " ";
     private static final int TILE_WIDTH = 5;
     private static final String SEPERATOR = "|";
     private static final String NO_COUNTDOWN_SYMBOL = "*";
     private static final String OCCUPIED_TO_CAPACITY_SYMBOL = "/";
+    private static final String PAGE_FOOTER = "Page %d of %d";
+    private static final int X_COORDINATE_GROUP = 2;
+    private static final int Y_COORDINATE_GROUP = 3;
+    private static final int WIDTH_GROUP = 4;
+    private static final int HEIGHT_GROUP = 5;
+    private static final int PAGE_GROUP = 6;
+    private static final int ROWS_PER_PAGE = 5;
+    private static final String ERROR_INPUT_NUMBER_RANGE = "Your input was not a number in the range of %d to %d.";
+    private static final String ERROR_EMPTY_VIEWPORT = "There are no tiles in this part of the board";
+    private static final String ERROR_PAGE_NOT_FOUND = "There is no page %d";
+
+    private final RenderCache cache = new RenderCache();
 
     /**
      * This constructor creates a new ShowBoard command
@@ -34,31 +49,122 @@ public class ShowBoard extends Command {
 
     @Override
     public String execute(Matcher input, Player player) {
+        return this.executeToString(input, player);
+    }
+
+    @Override
+    public boolean execute(Matcher input, Player player, Appendable output) throws IOException {
+        if (input.group(PAGE_GROUP) == null && input.group(X_COORDINATE_GROUP) == null) {
+            output.append(this.getOutput(player));
+            return true;
+        }
+
         StringBuilder stringBuilder = new StringBuilder();
+        try {
+            if (input.group(PAGE_GROUP) != null) {
+                renderPage(player.getFarmView(), Integer.parseInt(input.group(PAGE_GROUP)), stringBuilder);
+            } else {
+                renderViewport(player.getFarmView(),
+                        Integer.parseInt(input.group(X_COORDINATE_GROUP)),
+                        Integer.parseInt(input.group(Y_COORDINATE_GROUP)),
+                        Integer.parseInt(input.group(WIDTH_GROUP)),
+                        Integer.parseInt(input.group(HEIGHT_GROUP)), stringBuilder);
+            }
+        } catch (NumberFormatException numberFormatException) {
+            Exception exception = new IllegalInputException(
+                    ERROR_INPUT_NUMBER_RANGE.formatted(Integer.MIN_VALUE, Integer.MAX_VALUE));
+            output.append(exception.getMessage());
+            return true;
+        } catch (IllegalInputException illegalInputException) {
+            output.append(illegalInputException.getMessage());
+            return true;
+        }
+        output.append(stringBuilder);
+        return true;
+    }
 
-        Farm farm = player.getFarm();
-        int heighestY = farm.getNorthEastCorner().getY();
+    /**
+     * This method returns the render cache of this command. Only the whole board
+     * gets cached, viewports and pages are rendered on demand.
+     * 
+     * @return The render cache of this command
+     */
+    public RenderCache getCache() {
+        return this.cache;
+    }
+
+    private CharSequence getOutput(Player player) {
+        long modificationCount = player.getFarmView().getModificationCount();
+        CharSequence output = this.cache.get(player, modificationCount);
+        if (output == null) {
+            FarmView farm = player.getFarmView();
+            Position southWestCorner = farm.getSouthWestCorner();
+            Position northEastCorner = farm.getNorthEastCorner();
+            StringBuilder stringBuilder = new StringBuilder();
+            render(farm, northEastCorner.getX(), southWestCorner.getX(), southWestCorner.getY(),
+                    northEastCorner.getY(), stringBuilder);
+            output = stringBuilder;
+            this.cache.put(player, modificationCount, output);
+        }
+        return output;
+    }
+
+    /**
+     * This method renders the part of the board that lies within a viewport. The
+     * viewport is clipped to the farm, so the rendering costs are proportional to
+     * the visible part of the board.
+     */
+    private static void renderViewport(FarmView farm, int x, int y, int width, int height,
+            StringBuilder stringBuilder) throws IllegalInputException {
+        Position southWestCorner = farm.getSouthWestCorner();
+        Position northEastCorner = farm.getNorthEastCorner();
+
+        int lowestX = Math.max(x, northEastCorner.getX());
+        int heighestX = (int) Math.min((long) x + width - 1, southWestCorner.getX());
+        int lowestY = Math.max(y, southWestCorner.getY());
+        int heighestY = (int) Math.min((long) y + height - 1, northEastCorner.getY());
+        if (lowestX > heighestX || lowestY > heighestY) {
+            throw new IllegalInputException(ERROR_EMPTY_VIEWPORT);
+        }
+        render(farm, lowestX, heighestX, lowestY, heighestY, stringBuilder);
+    }
+
+    /**
+     * This method renders a page of the board. Every page shows a fixed number of
+     * rows of the farm, starting at the northern border of the farm.
+     */
+    private static void renderPage(FarmView farm, int page, StringBuilder stringBuilder)
+            throws IllegalInputException {
+        Position southWestCorner = farm.getSouthWestCorner();
+        Position northEastCorner = farm.getNorthEastCorner();
 
-        for (int yCoordinate = heighestY; yCoordinate >= 0; yCoordinate--) {
+        int numberOfRows = northEastCorner.getY() - southWestCorner.getY() + 1;
+        int numberOfPages = (numberOfRows + ROWS_PER_PAGE - 1) / ROWS_PER_PAGE;
+        if (page < 1 || page > numberOfPages) {
+            throw new IllegalInputException(ERROR_PAGE_NOT_FOUND.formatted(page));
+        }
+
+        int heighestY = northEastCorner.getY() - (page - 1) * ROWS_PER_PAGE;
+        int lowestY = Math.max(southWestCorner.getY(), heighestY - ROWS_PER_PAGE + 1);
+        render(farm, northEastCorner.getX(), southWestCorner.getX(), lowestY, heighestY, stringBuilder);
+        stringBuilder.append(System.lineSeparator()).append(PAGE_FOOTER.formatted(page, numberOfPages));
+    }
+
+    private static void render(FarmView farm, int lowestX, int heighestX, int lowestY, int heighestY,
+            StringBuilder stringBuilder) {
+        for (int yCoordinate = heighestY; yCoordinate >= lowestY; yCoordinate--) {
             for (int i = 0; i < 3; i++) {
-                String line = buildLine(farm, yCoordinate, i);
-                stringBuilder.append(line);
+                appendLine(stringBuilder, farm, lowestX, heighestX, yCoordinate, i);
                 // Break the line.
-                if (i < 2 || yCoordinate > 0) {
+                if (i < 2 || yCoordinate > lowestY) {
                     stringBuilder.append(System.lineSeparator());
                 }
             }
         }
-        return stringBuilder.toString();
     }
 
-    private static String buildLine(Farm farm, int yCoordinate, int i) {
-
-        StringBuilder stringBuilder = new StringBuilder();
-
-        // Calculate the dimension of the farm.
-        int heighestX = farm.getSouthWestCorner().getX();
-        int lowestX = farm.getNorthEastCorner().getX();
+    private static void appendLine(StringBuilder stringBuilder, FarmView farm, int lowestX, int heighestX,
+            int yCoordinate, int i) {
 
         for (int xCoordinate = lowestX; xCoordinate <= heighestX; xCoordinate++) {
             Position position = new Position(xCoordinate, yCoordinate);
@@ -75,13 +181,12 @@ public class ShowBoard extends Command {
             // string representation of the tile to the result string.
             if (farm.isThereATile(position)) {
                 if (position.equals(farm.getBarnPosition())) {
-                    stringBuilder.append(get3Lines(farm.getBarn())[i]);
+                    appendLine(stringBuilder, farm.getBarn(), i);
                 } else {
-                    Acreage acreage = farm.getAcreage(position);
-                    stringBuilder.append(get3Lines(acreage)[i]);
+                    appendLine(stringBuilder, farm.getAcreageView(position), i);
                 }
             } else {
-                stringBuilder.append(FILLING.repeat(TILE_WIDTH));
+                appendFilling(stringBuilder);
             }
         }
 
@@ -92,49 +197,71 @@ public class ShowBoard extends Command {
         } else {
             stringBuilder.append(FILLING);
         }
-
-        return stringBuilder.toString();
-
     }
 
-    private static String[] get3Lines(Barn barn) {
-        String[] result = new String[3];
-        result[0] = FILLING.repeat(TILE_WIDTH);
-        String text = Barn.ABBREVIATION + FILLING + (barn.hasCountdown() ? barn.getCountdown() : NO_COUNTDOWN_SYMBOL);
-        result[1] = pad(text);
-        result[2] = FILLING.repeat(TILE_WIDTH);
-        return result;
+    private static void appendLine(StringBuilder stringBuilder, Barn barn, int i) {
+        if (i != 1) {
+            appendFilling(stringBuilder);
+            return;
+        }
+        int start = stringBuilder.length();
+        stringBuilder.append(Barn.ABBREVIATION).append(FILLING);
+        appendCountdown(stringBuilder, barn.hasCountdown(), barn.getCountdown());
+        pad(stringBuilder, start);
     }
 
-    private static String[] get3Lines(Acreage acreage) {
-        String[] result = new String[3];
-
-        String text = acreage.getType().getAbbreviation() + FILLING
-                + (acreage.hasCountdown() ? acreage.getCountdown() : NO_COUNTDOWN_SYMBOL);
-        result[0] = pad(text);
-
-        VegetableType vegetableType = acreage.getVegetableType();
-        if (vegetableType != null) {
-            result[1] = pad(vegetableType.getAbbreviation());
+    private static void appendLine(StringBuilder stringBuilder, AcreageView acreage, int i) {
+        int start = stringBuilder.length();
+        if (i == 0) {
+            stringBuilder.append(acreage.getType().getAbbreviation()).append(FILLING);
+            appendCountdown(stringBuilder, acreage.hasCountdown(), acreage.getCountdown());
+        } else if (i == 1) {
+            VegetableType vegetableType = acreage.getVegetableType();
+            if (vegetableType != null) {
+                stringBuilder.append(vegetableType.getAbbreviation());
+            }
         } else {
-            result[1] = FILLING.repeat(TILE_WIDTH);
+            stringBuilder.append(acreage.getAmountOfVegetables())
+                    .append(OCCUPIED_TO_CAPACITY_SYMBOL)
+                    .append(acreage.getCapacity());
         }
+        pad(stringBuilder, start);
+    }
 
-        text = acreage.getAmountOfVegetables() + OCCUPIED_TO_CAPACITY_SYMBOL + acreage.getCapacity();
+    private static void appendCountdown(StringBuilder stringBuilder, boolean hasCountdown, int countdown) {
+        if (hasCountdown) {
+            stringBuilder.append(countdown);
+        } else {
+            stringBuilder.append(NO_COUNTDOWN_SYMBOL);
+        }
+    }
 
-        result[2] = pad(text);
-        return result;
+    private static void appendFilling(StringBuilder stringBuilder) {
+        for (int i = 0; i < TILE_WIDTH; i++) {
+            stringBuilder.append(FILLING);
+        }
     }
 
-    private static String pad(String text) {
-        int startIndex = (int) Math.ceil(ShowBoard.TILE_WIDTH / 2.0f - text.length() / 2.0f);
-        StringBuilder stringBuilder = new StringBuilder();
-        stringBuilder.append(ShowBoard.FILLING.repeat(startIndex));
-        stringBuilder.append(text);
-        while (stringBuilder.length() < ShowBoard.TILE_WIDTH) {
+    /**
+     * This method centers the text that got appended to the string builder since
+     * the given start index within the width of a tile.
+     * 
+     * @param stringBuilder String builder the text got appended to
+     * @param start         Index at which the text starts
+     */
+    private static void pad(StringBuilder stringBuilder, int start) {
+        int textLength = stringBuilder.length() - start;
+        if (textLength == 0) {
+            appendFilling(stringBuilder);
+            return;
+        }
+        int startIndex = (int) Math.ceil(ShowBoard.TILE_WIDTH / 2.0f - textLength / 2.0f);
+        for (int i = 0; i < startIndex; i++) {
+            stringBuilder.insert(start, ShowBoard.FILLING);
+        }
+        while (stringBuilder.length() - start < ShowBoard.TILE_WIDTH) {
             stringBuilder.append(ShowBoard.FILLING);
         }
-        return stringBuilder.toString();
     }
 
 }
@@ -0,0 +1,85 @@
+package edu.kit.informatik.io.commands;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+
+import edu.kit.informatik.exceptions.IllegalInputException;
+import edu.kit.informatik.game.Pair;
+import edu.kit.informatik.game.Player;
+import edu.kit.informatik.game.VegetableType;
+import edu.kit.informatik.game.YieldForecast;
+import edu.kit.informatik.io.DataTable;
+
+/**
+ * This class models a command that shows how many vegetables will be
+ * growing on the farm of the current player after a number of turns if
+ * nothing gets harvested (see {@link YieldForecast}).
+ *
+ * @author ulqch
+ * @version 1.0
+ */
+public class ShowForecast extends Command {
+
+    private static final String REGEX = "show forecast( (\\d+))?";
+    private static final int ROUNDS_GROUP = 2;
+    private static final int DEFAULT_ROUNDS = 1;
+    private static final String FORECAST_TITLE = "Forecast in %d %s";
+    private static final String TURN_SINGULAR = "turn";
+    private static final String TURN_PLURAL = "turns";
+    private static final String SUM_VEGETABLES_KEY = "Sum";
+    private static final String NOTHING_GROWING = "Nothing is growing on your farm.";
+    private static final String ERROR_INPUT_NUMBER_RANGE = "Your input was not a number in the range of %d to %d.";
+
+    /**
+     * This constructor creates a new ShowForecast command.
+     */
+    public ShowForecast() {
+        super(REGEX);
+    }
+
+    @Override
+    public String execute(Matcher input, Player player) {
+        int rounds = DEFAULT_ROUNDS;
+        if (input.group(ROUNDS_GROUP) != null) {
+            try {
+                rounds = Integer.parseInt(input.group(ROUNDS_GROUP));
+            } catch (NumberFormatException numberFormatException) {
+                Exception exception = new IllegalInputException(
+                        ERROR_INPUT_NUMBER_RANGE.formatted(0, Integer.MAX_VALUE));
+                return exception.getMessage();
+            }
+        }
+
+        int[] amounts = YieldForecast.getFarmProjection(player.getFarmView(), rounds);
+        List<Pair<VegetableType, Integer>> entries = new ArrayList<>();
+        int sum = 0;
+        for (VegetableType vegetable : VegetableType.values()) {
+            if (amounts[vegetable.ordinal()] > 0) {
+                entries.add(new Pair<VegetableType, Integer>(vegetable, amounts[vegetable.ordinal()]));
+                sum += amounts[vegetable.ordinal()];
+            }
+        }
+        if (entries.isEmpty()) {
+            return NOTHING_GROWING;
+        }
+        // Same order as in the barn: ascending amounts, then by name
+        entries.sort(Comparator.comparing((Pair<VegetableType, Integer> entry) -> entry.getValue())
+                .thenComparing(entry -> entry.getKey().getPluralName()));
+
+        DataTable table = new DataTable(entries);
+        table.addEntry(SUM_VEGETABLES_KEY, Integer.toString(sum));
+
+        StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder.append(FORECAST_TITLE.formatted(rounds, rounds == 1 ? TURN_SINGULAR : TURN_PLURAL));
+        stringBuilder.append(System.lineSeparator());
+        table.appendRows(0, entries.size(), stringBuilder);
+        stringBuilder.append(System.lineSeparator());
+        table.appendHorizontalDivider(stringBuilder);
+        stringBuilder.append(System.lineSeparator());
+        table.appendRow(entries.size(), stringBuilder);
+        return stringBuilder.toString();
+    }
+
+}
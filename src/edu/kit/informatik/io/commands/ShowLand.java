@@ -0,0 +1,65 @@
+package edu.kit.informatik.io.commands;
+
+import java.util.List;
+import java.util.regex.Matcher;
+
+import edu.kit.informatik.exceptions.IllegalInputException;
+import edu.kit.informatik.game.Pair;
+import edu.kit.informatik.game.Player;
+import edu.kit.informatik.game.Position;
+import edu.kit.informatik.io.DataTable;
+
+/**
+ * This class models a command that shows the cheapest positions at
+ * which the current player could buy land, together with their prices.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public class ShowLand extends Command {
+
+    private static final String REGEX = "show land( (\\d+))?";
+    private static final String POSITION_KEY = "(%d, %d)";
+    private static final String NO_LAND_FOR_SALE = "There is no land for sale.";
+    private static final int LIMIT_GROUP = 2;
+    private static final int DEFAULT_LIMIT = 5;
+    private static final String ERROR_INPUT_NUMBER_RANGE = "Your input was not a number in the range of %d to %d.";
+
+    /**
+     * This constructor creates a new ShowLand command.
+     */
+    public ShowLand() {
+        super(REGEX);
+    }
+
+    @Override
+    public String execute(Matcher input, Player player) {
+        int limit = DEFAULT_LIMIT;
+        if (input.group(LIMIT_GROUP) != null) {
+            try {
+                limit = Integer.parseInt(input.group(LIMIT_GROUP));
+            } catch (NumberFormatException numberFormatException) {
+                Exception exception = new IllegalInputException(
+                        ERROR_INPUT_NUMBER_RANGE.formatted(0, Integer.MAX_VALUE));
+                return exception.getMessage();
+            }
+        }
+
+        List<Pair<Position, Integer>> positions = player.getPurchasablePositions(limit);
+        if (positions.isEmpty()) {
+            return NO_LAND_FOR_SALE;
+        }
+
+        DataTable table = new DataTable();
+        for (Pair<Position, Integer> entry : positions) {
+            Position position = entry.getKey();
+            String key = POSITION_KEY.formatted(position.getX(), position.getY());
+            table.addEntry(key, Integer.toString(entry.getValue()));
+        }
+
+        StringBuilder stringBuilder = new StringBuilder();
+        table.appendRows(0, table.getNumberOfEntries(), stringBuilder);
+        return stringBuilder.toString();
+    }
+
+}
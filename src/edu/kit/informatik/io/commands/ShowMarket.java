@@ -1,10 +1,12 @@
 package edu.kit.informatik.io.commands;
 
+import java.io.IOException;
 import java.util.regex.Matcher;
 
 import edu.kit.informatik.game.Player;
 import edu.kit.informatik.game.VegetableMarket;
 import edu.kit.informatik.io.DataTable;
+import edu.kit.informatik.io.RenderCache;
 
 /**
  * This class models a command that shows the current state of the
@@ -17,6 +19,8 @@ public class ShowMarket extends Command {
 
     private static final String REGEX = "show market";
 
+    private final RenderCache cache = new RenderCache();
+
     /**
      * This constructor creates a new Show Market Command
      */
@@ -26,18 +30,40 @@ public class ShowMarket extends Command {
 
     @Override
     public String execute(Matcher input, Player player) {
-        VegetableMarket market = player.getCommonVegetableMarket();
-        StringBuilder stringBuilder = new StringBuilder();
-        DataTable table = new DataTable(market.getEntries());
+        return this.getOutput(player).toString();
+    }
 
-        for (int row = 0; row < table.getNumberOfEntries(); row++) {
-            stringBuilder.append(table.getRow(row));
-            if (row < table.getNumberOfEntries() - 1) {
-                stringBuilder.append(System.lineSeparator());
-            }
+    @Override
+    public boolean execute(Matcher input, Player player, Appendable output) throws IOException {
+        output.append(this.getOutput(player));
+        return true;
+    }
+
+    /**
+     * This method returns the render cache of this command.
+     * 
+     * @return The render cache of this command
+     */
+    public RenderCache getCache() {
+        return this.cache;
+    }
+
+    private CharSequence getOutput(Player player) {
+        long modificationCount = player.getMarketModificationCount();
+        CharSequence output = this.cache.get(player, modificationCount);
+        if (output == null) {
+            StringBuilder stringBuilder = new StringBuilder();
+            render(player.getCommonVegetableMarket(), stringBuilder);
+            output = stringBuilder;
+            this.cache.put(player, modificationCount, output);
         }
+        return output;
+    }
+
+    private static void render(VegetableMarket market, StringBuilder stringBuilder) {
+        DataTable table = new DataTable(market.getEntries());
 
-        return stringBuilder.toString();
+        table.appendRows(0, table.getNumberOfEntries(), stringBuilder);
     }
 
 }
@@ -0,0 +1,93 @@
+package edu.kit.informatik.io.commands;
+
+import java.util.List;
+import java.util.regex.Matcher;
+
+import edu.kit.informatik.exceptions.IllegalInputException;
+import edu.kit.informatik.game.MarketHistory;
+import edu.kit.informatik.game.Pair;
+import edu.kit.informatik.game.Player;
+import edu.kit.informatik.game.VegetableMarket;
+import edu.kit.informatik.game.VegetableType;
+import edu.kit.informatik.io.DataTable;
+
+/**
+ * This class models a command that shows the prices of the vegetable
+ * market and the numbers of vegetables sold in the latest rounds (see
+ * {@link MarketHistory}). Every vegetable gets a row and every round a
+ * column, so the trend of a price can be read from left to right.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public class ShowMarketHistory extends Command {
+
+    private static final String REGEX = "show market history( (\\d+))?";
+    private static final int ROUNDS_GROUP = 2;
+    private static final int DEFAULT_ROUNDS = 5;
+    private static final String ROUND_KEY = "round";
+    private static final String PRICE_CELL = "%d (%d)";
+    private static final String NO_HISTORY = "The prices have not changed yet.";
+    private static final String ERROR_INPUT_NUMBER_RANGE = "Your input was not a number in the range of %d to %d.";
+
+    /**
+     * This constructor creates a new ShowMarketHistory command.
+     */
+    public ShowMarketHistory() {
+        super(REGEX);
+    }
+
+    @Override
+    public String execute(Matcher input, Player player) {
+        int rounds = DEFAULT_ROUNDS;
+        if (input.group(ROUNDS_GROUP) != null) {
+            try {
+                rounds = Integer.parseInt(input.group(ROUNDS_GROUP));
+            } catch (NumberFormatException numberFormatException) {
+                rounds = 0;
+            }
+            if (rounds < 1) {
+                Exception exception = new IllegalInputException(
+                        ERROR_INPUT_NUMBER_RANGE.formatted(1, Integer.MAX_VALUE));
+                return exception.getMessage();
+            }
+        }
+
+        VegetableMarket market = player.getCommonVegetableMarket();
+        MarketHistory history = market.getHistory();
+        int firstIndex = Math.max(0, history.getSize() - rounds);
+        int numberOfRounds = history.getSize() - firstIndex;
+        if (numberOfRounds == 0) {
+            return NO_HISTORY;
+        }
+
+        DataTable table = new DataTable(numberOfRounds + 1);
+        String[] header = new String[numberOfRounds + 1];
+        header[0] = ROUND_KEY;
+        for (int i = 0; i < numberOfRounds; i++) {
+            header[i + 1] = Integer.toString(history.getRoundNumber(firstIndex + i));
+        }
+        table.addRow(header);
+        // Same order as the market itself
+        List<Pair<VegetableType, Integer>> entries = market.getEntries();
+        for (Pair<VegetableType, Integer> entry : entries) {
+            VegetableType vegetable = entry.getKey();
+            String[] row = new String[numberOfRounds + 1];
+            row[0] = vegetable.getPluralName();
+            for (int i = 0; i < numberOfRounds; i++) {
+                row[i + 1] = PRICE_CELL.formatted(history.getPrice(firstIndex + i, vegetable),
+                        history.getSoldAmount(firstIndex + i, vegetable));
+            }
+            table.addRow(row);
+        }
+
+        StringBuilder stringBuilder = new StringBuilder();
+        table.appendRow(0, stringBuilder);
+        stringBuilder.append(System.lineSeparator());
+        table.appendHorizontalDivider(stringBuilder);
+        stringBuilder.append(System.lineSeparator());
+        table.appendRows(1, table.getNumberOfEntries(), stringBuilder);
+        return stringBuilder.toString();
+    }
+
+}
@@ -0,0 +1,67 @@
+package edu.kit.informatik.io.commands;
+
+import java.util.regex.Matcher;
+
+import edu.kit.informatik.exceptions.IllegalInputException;
+import edu.kit.informatik.game.OddsEstimator;
+import edu.kit.informatik.game.Player;
+import edu.kit.informatik.game.WinningOdds;
+import edu.kit.informatik.io.DataTable;
+
+/**
+ * This class models a command that shows the latest estimate of the
+ * chances of every player to win (see {@link OddsEstimator}). It never
+ * waits for the estimate to be refined. The estimation starts the first
+ * time the odds are shown.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public class ShowOdds extends Command {
+
+    private static final String REGEX = "show odds";
+    private static final String ODDS_TITLE = "Odds after %d %s";
+    private static final String PLAYOUT_SINGULAR = "playout";
+    private static final String PLAYOUT_PLURAL = "playouts";
+    private static final String CHANCE = "%d%%";
+    private static final double PERCENT = 100;
+    private static final String NO_ESTIMATE = "The odds have not been estimated yet.";
+    private static final String ERROR_NO_ESTIMATOR = "The odds are not estimated in this game.";
+
+    private final OddsEstimator estimator;
+
+    /**
+     * This constructor creates a new ShowOdds command.
+     * 
+     * @param estimator The estimator of the odds of the game or null if the odds
+     *                  are not estimated
+     */
+    public ShowOdds(OddsEstimator estimator) {
+        super(REGEX);
+        this.estimator = estimator;
+    }
+
+    @Override
+    public String execute(Matcher input, Player player) {
+        if (this.estimator == null) {
+            return new IllegalInputException(ERROR_NO_ESTIMATOR).getMessage();
+        }
+        this.estimator.start();
+        WinningOdds odds = this.estimator.getOdds();
+        int playouts = odds.getNumberOfPlayouts();
+        if (playouts == 0) {
+            return NO_ESTIMATE;
+        }
+
+        DataTable table = new DataTable();
+        for (int seat = 0; seat < odds.getNumberOfPlayers(); seat++) {
+            table.addEntry(odds.getName(seat), CHANCE.formatted(Math.round(PERCENT * odds.getWinningChance(seat))));
+        }
+        StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder.append(ODDS_TITLE.formatted(playouts, playouts == 1 ? PLAYOUT_SINGULAR : PLAYOUT_PLURAL));
+        stringBuilder.append(System.lineSeparator());
+        table.appendRows(0, table.getNumberOfEntries(), stringBuilder);
+        return stringBuilder.toString();
+    }
+
+}
@@ -0,0 +1,141 @@
+package edu.kit.informatik.io.commands;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import edu.kit.informatik.exceptions.IllegalInputException;
+import edu.kit.informatik.exceptions.RejectedTurnException;
+import edu.kit.informatik.game.AcreageType;
+import edu.kit.informatik.game.Move;
+import edu.kit.informatik.game.MoveType;
+import edu.kit.informatik.game.Pair;
+import edu.kit.informatik.game.Player;
+import edu.kit.informatik.game.VegetableType;
+
+/**
+ * This class models a command that makes several moves at once (see
+ * {@link Player#submitTurn(List)}). The moves are written like the
+ * commands that make them on their own and separated by "; ", for
+ * example "plant 0 0 carrot; sell all; end turn". Either all moves are
+ * made or none of them. The output contains the message of every move
+ * that has one, as if the moves had been entered one after another.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public class SubmitTurn extends Command {
+
+    private static final String REGEX = "[^;]+(; [^;]+)+";
+    private static final String MOVE_SEPERATOR = "; ";
+    // The moves are recognized by the commands that make them on their own.
+    private static final Pattern PLANT = new Plant().getRegExPattern();
+    private static final Pattern HARVEST = new Harvest().getRegExPattern();
+    private static final Pattern SELL = new Sell().getRegExPattern();
+    private static final Pattern BUY_VEGETABLE = new BuyVegetable().getRegExPattern();
+    private static final Pattern BUY_LAND = new BuyAcreage().getRegExPattern();
+    private static final Pattern END_TURN = new EndTurn().getRegExPattern();
+    private static final String ERROR_NOT_A_MOVE = "Move %d of the turn is not a move.";
+    private static final String ERROR_INPUT_NUMBER_RANGE = "Your input was not a number in the range of %d to %d.";
+
+    /**
+     * This constructor creates a new SubmitTurn command.
+     */
+    public SubmitTurn() {
+        super(REGEX);
+    }
+
+    @Override
+    public String execute(Matcher input, Player player) {
+        return this.executeToString(input, player);
+    }
+
+    @Override
+    public boolean execute(Matcher input, Player player, Appendable output) throws IOException {
+        String[] texts = input.group().split(MOVE_SEPERATOR);
+        List<Move> moves = new ArrayList<>();
+        try {
+            for (int i = 0; i < texts.length; i++) {
+                Move move = parse(texts[i]);
+                if (move == null) {
+                    output.append(new IllegalInputException(ERROR_NOT_A_MOVE.formatted(i + 1)).getMessage());
+                    return true;
+                }
+                moves.add(move);
+            }
+        } catch (NumberFormatException numberFormatException) {
+            Exception exception = new IllegalInputException(
+                    ERROR_INPUT_NUMBER_RANGE.formatted(Integer.MIN_VALUE, Integer.MAX_VALUE));
+            output.append(exception.getMessage());
+            return true;
+        }
+
+        List<Object> results;
+        try {
+            results = player.submitTurn(moves);
+        } catch (RejectedTurnException rejectedTurnException) {
+            output.append(rejectedTurnException.getMessage()).append(System.lineSeparator())
+                    .append(rejectedTurnException.getCause().getMessage());
+            return true;
+        }
+        boolean hasOutput = false;
+        for (int i = 0; i < moves.size(); i++) {
+            // Planting and ending the turn print nothing on their own either.
+            if (results.get(i) == null) {
+                continue;
+            }
+            if (hasOutput) {
+                output.append(System.lineSeparator());
+            }
+            appendMessage(output, moves.get(i).getType(), results.get(i));
+            hasOutput = true;
+        }
+        return hasOutput;
+    }
+
+    private static void appendMessage(Appendable output, MoveType type, Object result) throws IOException {
+        if (type == MoveType.SELL || type == MoveType.SELL_ALL) {
+            List<?> sales = (List<?>) result;
+            int totalProfit = 0;
+            for (Object sale : sales) {
+                totalProfit += (Integer) ((Pair<?, ?>) sale).getValue();
+            }
+            Sell.appendMessage(output, sales.size(), totalProfit);
+            return;
+        }
+        Pair<?, ?> receipt = (Pair<?, ?>) result;
+        int value = (Integer) receipt.getValue();
+        switch (type) {
+            case HARVEST -> Harvest.appendMessage(output, (VegetableType) receipt.getKey(), value);
+            case BUY_VEGETABLE -> BuyVegetable.appendMessage(output, (VegetableType) receipt.getKey(), value);
+            default -> BuyAcreage.appendMessage(output, (AcreageType) receipt.getKey(), value);
+        }
+    }
+
+    private static Move parse(String text) {
+        if (END_TURN.matcher(text).matches()) {
+            return Move.endTurn();
+        }
+        Matcher plant = PLANT.matcher(text);
+        if (plant.matches()) {
+            return Plant.parseMove(plant);
+        }
+        Matcher harvest = HARVEST.matcher(text);
+        if (harvest.matches()) {
+            return Harvest.parseMove(harvest);
+        }
+        Matcher buyVegetable = BUY_VEGETABLE.matcher(text);
+        if (buyVegetable.matches()) {
+            return BuyVegetable.parseMove(buyVegetable);
+        }
+        Matcher buyLand = BUY_LAND.matcher(text);
+        if (buyLand.matches()) {
+            return BuyAcreage.parseMove(buyLand);
+        }
+        Matcher sell = SELL.matcher(text);
+        return sell.matches() ? Sell.parseMove(sell) : null;
+    }
+
+}
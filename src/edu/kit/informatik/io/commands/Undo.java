@@ -0,0 +1,36 @@
+package edu.kit.informatik.io.commands;
+
+import java.util.regex.Matcher;
+
+import edu.kit.informatik.exceptions.IllegalMoveException;
+import edu.kit.informatik.game.Player;
+
+/**
+ * This class models a command that reverts the latest move the player
+ * has made in their current turn.
+ * 
+ * @author ulqch
+ * @version 1.0
+ */
+public class Undo extends Command {
+
+    private static final String REGEX = "undo";
+
+    /**
+     * This constructor creates a new Undo command.
+     */
+    public Undo() {
+        super(REGEX);
+    }
+
+    @Override
+    public String execute(Matcher input, Player player) {
+        try {
+            player.undo();
+        } catch (IllegalMoveException illegalMoveException) {
+            return illegalMoveException.getMessage();
+        }
+        return null;
+    }
+
+}